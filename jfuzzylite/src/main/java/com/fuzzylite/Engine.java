@@ -32,14 +32,32 @@ import com.fuzzylite.rule.Consequent;
 import com.fuzzylite.rule.Proposition;
 import com.fuzzylite.rule.Rule;
 import com.fuzzylite.rule.RuleBlock;
+import com.fuzzylite.rule.RuleTable;
+import com.fuzzylite.term.Bell;
+import com.fuzzylite.term.Concave;
+import com.fuzzylite.term.Cosine;
+import com.fuzzylite.term.Discrete;
+import com.fuzzylite.term.Function;
+import com.fuzzylite.term.Gaussian;
+import com.fuzzylite.term.GaussianProduct;
+import com.fuzzylite.term.PiShape;
+import com.fuzzylite.term.SShape;
+import com.fuzzylite.term.Sigmoid;
+import com.fuzzylite.term.SigmoidDifference;
+import com.fuzzylite.term.SigmoidProduct;
+import com.fuzzylite.term.Spike;
+import com.fuzzylite.term.Tabulated;
 import com.fuzzylite.term.Term;
+import com.fuzzylite.term.ZShape;
 import com.fuzzylite.variable.InputVariable;
 import com.fuzzylite.variable.OutputVariable;
 import com.fuzzylite.variable.Variable;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 
 /**
@@ -59,6 +77,9 @@ public class Engine implements Op.Cloneable {
     private List<InputVariable> inputVariables;
     private List<OutputVariable> outputVariables;
     private List<RuleBlock> ruleBlocks;
+    private long processCycle;
+    private long processCycles;
+    private boolean sharingTerms;
 
     public enum Type {
         /**
@@ -245,6 +266,30 @@ public class Engine implements Op.Cloneable {
             if (ruleBlock == null) {
                 message.append(String.format(
                         "- Engine has a null rule block at index <%d>\n", i));
+            } else if (ruleBlock instanceof RuleTable) {
+                RuleTable ruleTable = (RuleTable) ruleBlock;
+                if (!ruleTable.isLoaded()) {
+                    message.append(String.format(
+                            "- Rule table <%s> is not loaded\n", ruleTable.getName()));
+                } else {
+                    if (ruleTable.getOutputs().isEmpty()) {
+                        message.append(String.format(
+                                "- Rule table <%s> has no output variables\n", ruleTable.getName()));
+                    }
+                    if (ruleTable.getInputs().size() > 1 && ruleTable.getConjunction() == null) {
+                        message.append(String.format(
+                                "- Rule table <%s> has no conjunction operator\n", ruleTable.getName()));
+                    }
+                    boolean requiresImplication = false;
+                    for (int o = 0; o < ruleTable.getOutputs().size(); ++o) {
+                        requiresImplication |= ruleTable.getOutputVariable(o).getDefuzzifier()
+                                instanceof IntegralDefuzzifier;
+                    }
+                    if (requiresImplication && ruleTable.getImplication() == null) {
+                        message.append(String.format(
+                                "- Rule table <%s> has no implication operator\n", ruleTable.getName()));
+                    }
+                }
             } else {
                 if (ruleBlock.getRules().isEmpty()) {
                     message.append(String.format(
@@ -332,6 +377,187 @@ public class Engine implements Op.Cloneable {
      @see OutputVariable::defuzzify()
      */
     public void process() {
+        this.processCycle = ++this.processCycles;
+        try {
+            processCycle();
+        } finally {
+            this.processCycle = 0;
+        }
+    }
+
+    /**
+     Processes the engine on each row of input values, and stores the values
+     of the output variables obtained for each row. The values of the rows are
+     stored contiguously in row-major order, that is, the value of the `j`-th
+     input variable of the `i`-th row is `inputs[i * |inputs| + j]`.
+
+     @param inputs is the array of `rows \times |inputVariables|` values
+     @param outputs is the array of `rows \times |outputVariables|` values
+     where the values of the output variables are stored
+     @return the number of rows processed
+     */
+    public int process(double[] inputs, double[] outputs) {
+        final int rows = rowsOf(inputs.length, outputs.length);
+        final int numberOfInputs = inputVariables.size();
+        final int numberOfOutputs = outputVariables.size();
+        for (int row = 0; row < rows; ++row) {
+            for (int i = 0; i < numberOfInputs; ++i) {
+                inputVariables.get(i).setValue(inputs[row * numberOfInputs + i]);
+            }
+            process();
+            for (int i = 0; i < numberOfOutputs; ++i) {
+                outputs[row * numberOfOutputs + i] = outputVariables.get(i).getValue();
+            }
+        }
+        return rows;
+    }
+
+    /**
+     Processes the engine on each row of input values, and stores the values
+     of the output variables obtained for each row, where the values are
+     stored in single precision to halve the memory of large batches. The
+     engine is processed in double precision, hence the output values differ
+     from those obtained by Engine::process(double[], double[]) by the
+     rounding of the input values and by a relative error of at most
+     `2^{-24}` when rounding the output values.
+
+     @param inputs is the array of `rows \times |inputVariables|` values
+     @param outputs is the array of `rows \times |outputVariables|` values
+     where the values of the output variables are stored
+     @return the number of rows processed
+     */
+    public int process(float[] inputs, float[] outputs) {
+        final int rows = rowsOf(inputs.length, outputs.length);
+        final int numberOfInputs = inputVariables.size();
+        final int numberOfOutputs = outputVariables.size();
+        for (int row = 0; row < rows; ++row) {
+            for (int i = 0; i < numberOfInputs; ++i) {
+                inputVariables.get(i).setValue(inputs[row * numberOfInputs + i]);
+            }
+            process();
+            for (int i = 0; i < numberOfOutputs; ++i) {
+                outputs[row * numberOfOutputs + i] = (float) outputVariables.get(i).getValue();
+            }
+        }
+        return rows;
+    }
+
+    private int rowsOf(int numberOfInputValues, int numberOfOutputValues) {
+        final int numberOfInputs = inputVariables.size();
+        final int numberOfOutputs = outputVariables.size();
+        final int rows = numberOfInputs == 0 ? 0 : numberOfInputValues / numberOfInputs;
+        if (rows * numberOfInputs != numberOfInputValues
+                || rows * numberOfOutputs != numberOfOutputValues) {
+            throw new RuntimeException(String.format("[engine error] expected "
+                    + "<%d> input values and <%d> output values per row, "
+                    + "but found <%d> input values and <%d> output values",
+                    numberOfInputs, numberOfOutputs,
+                    numberOfInputValues, numberOfOutputValues));
+        }
+        return rows;
+    }
+
+    /**
+     Gets the identifier of the current call to Engine::process(), which is
+     unique amongst the calls to this engine (but not across engines) and
+     allows the terms of the engine to cache the values computed from the
+     input variables during the call
+
+     @return the identifier of the current call to Engine::process(), or zero
+     if the engine is not being processed
+     */
+    public long getProcessCycle() {
+        return this.processCycle;
+    }
+
+    /**
+     Creates a state for the engine in the same manner as after
+     Engine::restart()
+
+     @return a state for the engine
+     */
+    public EngineState newState() {
+        return new EngineState(this.inputVariables.size(), this.outputVariables.size(),
+                numberOfRules());
+    }
+
+    /**
+     Loads the given state into the variables and rules of the engine
+
+     @param state is the state to load, which must have been created for an
+     engine with the same number of variables and rules
+     */
+    public void loadState(EngineState state) {
+        checkState(state);
+        for (int i = 0; i < this.inputVariables.size(); ++i) {
+            this.inputVariables.get(i).setValue(state.getInputValue(i));
+        }
+        for (int i = 0; i < this.outputVariables.size(); ++i) {
+            OutputVariable outputVariable = this.outputVariables.get(i);
+            outputVariable.setValue(state.getOutputValue(i));
+            outputVariable.setPreviousValue(state.getPreviousValue(i));
+        }
+        int index = 0;
+        for (RuleBlock ruleBlock : this.ruleBlocks) {
+            for (Rule rule : ruleBlock.getRules()) {
+                rule.setActivationDegree(state.getActivationDegree(index));
+                rule.setTriggered(state.isTriggered(index));
+                ++index;
+            }
+        }
+    }
+
+    /**
+     Stores the state of the variables and rules of the engine into the given
+     state
+
+     @param state is the state where the state of the engine is stored, which
+     must have been created for an engine with the same number of variables
+     and rules
+     */
+    public void storeState(EngineState state) {
+        checkState(state);
+        for (int i = 0; i < this.inputVariables.size(); ++i) {
+            state.setInputValue(i, this.inputVariables.get(i).getValue());
+        }
+        for (int i = 0; i < this.outputVariables.size(); ++i) {
+            OutputVariable outputVariable = this.outputVariables.get(i);
+            state.setOutputValue(i, outputVariable.getValue());
+            state.setPreviousValue(i, outputVariable.getPreviousValue());
+        }
+        int index = 0;
+        for (RuleBlock ruleBlock : this.ruleBlocks) {
+            for (Rule rule : ruleBlock.getRules()) {
+                state.setActivationDegree(index, rule.getActivationDegree());
+                state.setTriggered(index, rule.isTriggered());
+                ++index;
+            }
+        }
+    }
+
+    private int numberOfRules() {
+        int result = 0;
+        for (RuleBlock ruleBlock : this.ruleBlocks) {
+            result += ruleBlock.numberOfRules();
+        }
+        return result;
+    }
+
+    private void checkState(EngineState state) {
+        final int rules = numberOfRules();
+        if (state.numberOfInputVariables() != this.inputVariables.size()
+                || state.numberOfOutputVariables() != this.outputVariables.size()
+                || state.numberOfRules() != rules) {
+            throw new RuntimeException(String.format("[engine error] expected "
+                    + "a state of <%d> input variables, <%d> output variables and <%d> rules, "
+                    + "but found <%d> input variables, <%d> output variables and <%d> rules",
+                    this.inputVariables.size(), this.outputVariables.size(), rules,
+                    state.numberOfInputVariables(), state.numberOfOutputVariables(),
+                    state.numberOfRules()));
+        }
+    }
+
+    private void processCycle() {
         for (OutputVariable outputVariable : outputVariables) {
             outputVariable.fuzzyOutput().clear();
         }
@@ -578,24 +804,180 @@ public class Engine implements Op.Cloneable {
     }
 
     /**
-     Creates a clone of the engine
+     Replaces the smooth terms of the variables with piecewise-linear Discrete
+     terms computed by Discrete::linearize() over the ranges of the variables,
+     and reloads the rules to refer to the new terms. The smooth terms are
+     Bell, Concave, Cosine, Gaussian, GaussianProduct, PiShape, SShape,
+     ZShape, Sigmoid, SigmoidDifference, SigmoidProduct, Spike, Tabulated, and
+     the Function terms that only depend on `x`. The terms of output
+     variables with weighted defuzzifiers are not replaced because the
+     defuzzifiers require the original terms.
+
+     @param tolerance is the maximum absolute error of the linear
+     interpolation at the values where it is measured
+     @return the number of terms replaced
+     */
+    public int linearize(double tolerance) {
+        int result = 0;
+        for (Variable variable : variables()) {
+            if (variable instanceof OutputVariable
+                    && ((OutputVariable) variable).getDefuzzifier() instanceof WeightedDefuzzifier) {
+                continue;
+            }
+            if (!(variable.getMinimum() < variable.getMaximum())) {
+                continue;
+            }
+            List<Term> terms = variable.getTerms();
+            for (int i = 0; i < terms.size(); ++i) {
+                Term term = terms.get(i);
+                if (isLinearizable(term)) {
+                    terms.set(i, Discrete.linearize(term,
+                            variable.getMinimum(), variable.getMaximum(), tolerance));
+                    ++result;
+                }
+            }
+        }
+        if (result > 0) {
+            for (RuleBlock ruleBlock : this.ruleBlocks) {
+                ruleBlock.reloadRules(this);
+            }
+        }
+        return result;
+    }
+
+    /**
+     Replaces the shareable terms of the variables with equal terms (i.e.,
+     with the same Term::internKey() and confirmed by Term::internEquals())
+     that are found in the variables of the engine, and reloads the rules to
+     refer to the replacing terms.
+
+     @return the number of terms replaced
+     @see Term::isShareable()
+     */
+    public int internTerms() {
+        return internTerms(new HashMap<String, Term>());
+    }
+
+    /**
+     Replaces the shareable terms of the variables with equal terms (i.e.,
+     with the same Term::internKey() and confirmed by Term::internEquals())
+     that are found in the pool, and adds to the pool the shareable terms not
+     found, thereby allowing multiple engines to share their terms. The rules
+     are reloaded to refer to the replacing terms.
+
+     @param pool is the map of terms to share, whose keys are managed by the
+     engine
+     @return the number of terms replaced
+     @see Term::isShareable()
+     */
+    public int internTerms(Map<String, Term> pool) {
+        int result = 0;
+        for (Variable variable : variables()) {
+            List<Term> terms = variable.getTerms();
+            for (int i = 0; i < terms.size(); ++i) {
+                Term term = terms.get(i);
+                if (!term.isShareable()) {
+                    continue;
+                }
+                String key = term.internKey();
+                if (key == null) {
+                    continue;
+                }
+                Term interned = pool.get(key);
+                if (interned == null) {
+                    pool.put(key, term);
+                } else if (interned != term && interned.internEquals(term)) {
+                    terms.set(i, interned);
+                    ++result;
+                }
+            }
+        }
+        if (result > 0) {
+            for (RuleBlock ruleBlock : this.ruleBlocks) {
+                ruleBlock.reloadRules(this);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isLinearizable(Term term) {
+        if (term instanceof Function) {
+            return ((Function) term).isUnivariate();
+        }
+        return term instanceof Bell || term instanceof Concave
+                || term instanceof Cosine || term instanceof Gaussian
+                || term instanceof GaussianProduct || term instanceof PiShape
+                || term instanceof SShape || term instanceof ZShape
+                || term instanceof Sigmoid || term instanceof SigmoidDifference
+                || term instanceof SigmoidProduct || term instanceof Spike
+                || term instanceof Tabulated;
+    }
+
+    /**
+     Indicates whether the clones of the engine share the shareable terms of
+     the engine instead of copying them
+
+     @return whether the clones of the engine share the shareable terms
+     @see Term::isShareable()
+     */
+    public boolean isSharingTerms() {
+        return this.sharingTerms;
+    }
+
+    /**
+     Sets whether the clones of the engine share the shareable terms of the
+     engine instead of copying them, in which case the shared terms must not
+     be modified
+
+     @param sharingTerms indicates whether the clones of the engine share the
+     shareable terms
+     @see Term::isShareable()
+     */
+    public void setSharingTerms(boolean sharingTerms) {
+        this.sharingTerms = sharingTerms;
+    }
+
+    /**
+     Creates a clone of the engine, which shares the shareable terms of the
+     engine if Engine::isSharingTerms()
 
      @return a clone of the engine
      */
     @Override
     public Engine clone() throws CloneNotSupportedException {
+        return clone(this.sharingTerms);
+    }
+
+    /**
+     Creates a clone of the engine regardless of Engine::isSharingTerms()
+
+     @param sharingTerms indicates whether the clone shares the shareable terms
+     of the engine
+     @return a clone of the engine
+     */
+    Engine clone(boolean sharingTerms) throws CloneNotSupportedException {
         Engine result = (Engine) super.clone();
+        result.processCycle = 0;
         result.inputVariables = new ArrayList<InputVariable>(this.inputVariables.size());
         for (InputVariable inputVariable : this.inputVariables) {
-            result.inputVariables.add(inputVariable.clone());
+            result.inputVariables.add(inputVariable.cloneWithoutTerms());
         }
         result.outputVariables = new ArrayList<OutputVariable>(this.outputVariables.size());
         for (OutputVariable outputVariable : this.outputVariables) {
-            result.outputVariables.add(outputVariable.clone());
+            result.outputVariables.add(outputVariable.cloneWithoutTerms());
         }
-        for (Variable variable : this.variables()) {
-            for (Term term : variable.getTerms()) {
-                term.updateReference(result);
+        List<Variable> variables = this.variables();
+        List<Variable> clones = result.variables();
+        for (int v = 0; v < clones.size(); ++v) {
+            List<Term> terms = clones.get(v).getTerms();
+            for (Term term : variables.get(v).getTerms()) {
+                if (sharingTerms && term.isShareable()) {
+                    terms.add(term);
+                } else {
+                    Term clone = term.clone();
+                    terms.add(clone);
+                    clone.updateReference(result);
+                }
             }
         }
         result.ruleBlocks = new ArrayList<RuleBlock>(this.ruleBlocks.size());
@@ -0,0 +1,244 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite;
+
+import com.fuzzylite.variable.InputVariable;
+import com.fuzzylite.variable.OutputVariable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ The EngineDefinition class is the definition of an engine (its variables,
+ terms, rule blocks and operators) that is validated once and can be shared
+ amongst threads to process EngineState%s. The definition is created from a
+ copy of the given engine that shares no terms with it, regardless of
+ Engine::isSharingTerms(), so further changes to the engine do not affect the
+ definition. The definition offers no methods to modify its engine.
+
+ The definition does not evaluate the states by itself. Each call to
+ EngineDefinition::process() takes a full copy of the engine from a pool
+ owned by the definition (or creates one if the pool is empty), loads the
+ state into the variables and rules of the copy, processes the copy, stores
+ its variables and rules back into the state, and returns the copy to the
+ pool. Hence, besides processing the engine, each call costs O(n) to load and
+ store the state, where n is the number of variables and rules. The copies
+ share the shareable terms of the definition (see Term::isShareable()) and
+ copy the others, and the pool holds as many copies as the maximum number of
+ concurrent evaluations, which are reclaimed together with the definition.
+
+ @author Juan Rada-Vilela, Ph.D.
+ @see EngineState
+ @see Engine
+ @since 6.0
+ */
+public final class EngineDefinition {
+
+    private final Engine prototype;
+    private final int numberOfRules;
+    private final Queue<Engine> engines;
+
+    /**
+     Creates the definition of a copy of the given engine
+
+     @param engine is the engine to define, which must be ready
+     @throws RuntimeException if the engine is not ready
+     @see Engine::isReady()
+     */
+    public EngineDefinition(Engine engine) {
+        StringBuilder status = new StringBuilder();
+        if (!engine.isReady(status)) {
+            throw new RuntimeException("[engine error] engine is not ready:\n" + status);
+        }
+        try {
+            this.prototype = engine.clone(false);
+        } catch (CloneNotSupportedException ex) {
+            throw new RuntimeException(ex);
+        }
+        this.numberOfRules = this.prototype.newState().numberOfRules();
+        this.engines = new ConcurrentLinkedQueue<Engine>();
+    }
+
+    private Engine copy(boolean sharingTerms) {
+        synchronized (prototype) {
+            try {
+                return prototype.clone(sharingTerms);
+            } catch (CloneNotSupportedException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
+
+    /**
+     Gets the name of the engine
+
+     @return the name of the engine
+     */
+    public String getName() {
+        return prototype.getName();
+    }
+
+    /**
+     Gets the number of input variables
+
+     @return the number of input variables
+     */
+    public int numberOfInputVariables() {
+        return prototype.numberOfInputVariables();
+    }
+
+    /**
+     Gets the number of output variables
+
+     @return the number of output variables
+     */
+    public int numberOfOutputVariables() {
+        return prototype.numberOfOutputVariables();
+    }
+
+    /**
+     Gets the number of rules in all the rule blocks
+
+     @return the number of rules in all the rule blocks
+     */
+    public int numberOfRules() {
+        return numberOfRules;
+    }
+
+    /**
+     Gets the index of the input variable of the given name
+
+     @param name is the name of the input variable
+     @return the index of the input variable, or `-1` if not found
+     */
+    public int indexOfInputVariable(String name) {
+        for (int i = 0; i < prototype.numberOfInputVariables(); ++i) {
+            InputVariable inputVariable = prototype.getInputVariable(i);
+            if (inputVariable.getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     Gets the index of the output variable of the given name
+
+     @param name is the name of the output variable
+     @return the index of the output variable, or `-1` if not found
+     */
+    public int indexOfOutputVariable(String name) {
+        for (int i = 0; i < prototype.numberOfOutputVariables(); ++i) {
+            OutputVariable outputVariable = prototype.getOutputVariable(i);
+            if (outputVariable.getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     Creates a state for the definition in the same manner as after
+     Engine::restart()
+
+     @return a state for the definition
+     */
+    public EngineState newState() {
+        return new EngineState(this, numberOfInputVariables(), numberOfOutputVariables(),
+                numberOfRules);
+    }
+
+    /**
+     Creates a state for the definition from the given state created for
+     another definition, such that the input values, output values and
+     previous values of the variables are copied from the variables of the
+     same name, and the values of the other variables are set to fl::nan. The
+     rules are deactivated.
+
+     @param state is the state created for another definition
+     @return a state for the definition with the values of the variables of
+     the given state
+     @throws RuntimeException if the state was not created by an
+     EngineDefinition
+     */
+    public EngineState newState(EngineState state) {
+        final EngineDefinition source = state.getDefinition();
+        if (source == null) {
+            throw new RuntimeException("[engine error] expected a state created "
+                    + "by an engine definition");
+        }
+        EngineState result = newState();
+        for (int i = 0; i < source.numberOfInputVariables(); ++i) {
+            final int index = indexOfInputVariable(
+                    source.prototype.getInputVariable(i).getName());
+            if (index >= 0) {
+                result.setInputValue(index, state.getInputValue(i));
+            }
+        }
+        for (int i = 0; i < source.numberOfOutputVariables(); ++i) {
+            final int index = indexOfOutputVariable(
+                    source.prototype.getOutputVariable(i).getName());
+            if (index >= 0) {
+                result.setOutputValue(index, state.getOutputValue(i));
+                result.setPreviousValue(index, state.getPreviousValue(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     Processes the definition on the given state, that is, computes the values
+     of the output variables and the activation degrees of the rules from the
+     values of the input variables (and the previous values of the output
+     variables) in the state, and stores them in the state
+
+     @param state is the state to process, which must have been created for
+     this definition
+     @throws RuntimeException if the state was created for another definition
+     */
+    public void process(EngineState state) {
+        if (state.getDefinition() != null && state.getDefinition() != this) {
+            throw new RuntimeException(String.format(
+                    "[engine error] state was created for another definition of engine <%s>",
+                    state.getDefinition().getName()));
+        }
+        Engine engine = engines.poll();
+        if (engine == null) {
+            engine = copy(true);
+        }
+        try {
+            engine.loadState(state);
+            engine.process();
+            engine.storeState(state);
+        } finally {
+            engines.offer(engine);
+        }
+    }
+
+    /**
+     Creates a mutable engine from the definition, which does not share any
+     term with the definition
+
+     @return a mutable engine from the definition
+     */
+    public Engine toEngine() {
+        Engine result = copy(false);
+        result.setSharingTerms(false);
+        return result;
+    }
+
+}
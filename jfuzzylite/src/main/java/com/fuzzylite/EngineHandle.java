@@ -0,0 +1,191 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ The EngineHandle class is a reference to the current version of an engine
+ that allows replacing the engine while other threads are processing it,
+ without locks. Each version is an EngineDefinition that is created and
+ validated from a copy of the new engine before it is published
+ atomically, hence threads processing the handle always use a consistent
+ version of the engine: either the version before the replacement or the
+ version after it, but never a mixture of both. A version is reclaimed by the
+ garbage collector once it has been replaced and the evaluations that were
+ using it have finished.
+
+ For example, an engine can be reloaded from a file with
+ `handle.publish(new FllImporter().fromFile(file))` while other threads keep
+ calling `handle.process(state)`.
+
+ @author Juan Rada-Vilela, Ph.D.
+ @see EngineDefinition
+ @see EngineState
+ @since 6.0
+ */
+public class EngineHandle {
+
+    /**
+     The Version class is an immutable pair of the number of a version and
+     its definition of the engine
+     */
+    public static final class Version {
+
+        private final long number;
+        private final EngineDefinition definition;
+
+        public Version(long number, EngineDefinition definition) {
+            this.number = number;
+            this.definition = definition;
+        }
+
+        /**
+         Gets the number of the version, which increases by one with every
+         engine published
+
+         @return the number of the version
+         */
+        public long getNumber() {
+            return number;
+        }
+
+        /**
+         Gets the definition of the engine
+
+         @return the definition of the engine
+         */
+        public EngineDefinition getDefinition() {
+            return definition;
+        }
+
+        @Override
+        public String toString() {
+            return "version " + number + " of engine " + definition.getName();
+        }
+    }
+
+    private final AtomicReference<Version> current;
+
+    /**
+     Creates a handle whose first version is the definition of the given
+     engine
+
+     @param engine is the engine to define, which must be ready
+     @throws RuntimeException if the engine is not ready
+     */
+    public EngineHandle(Engine engine) {
+        this.current = new AtomicReference<Version>(
+                new Version(1, new EngineDefinition(engine)));
+    }
+
+    /**
+     Gets the current version of the engine, which remains consistent
+     regardless of the versions published afterwards
+
+     @return the current version of the engine
+     */
+    public Version get() {
+        return current.get();
+    }
+
+    /**
+     Gets the number of the current version of the engine
+
+     @return the number of the current version of the engine
+     */
+    public long getVersion() {
+        return current.get().getNumber();
+    }
+
+    /**
+     Publishes the definition of a copy of the given engine as the new current
+     version. The definition is created and validated before publishing it,
+     hence the current version remains unchanged if the engine is not ready.
+
+     @param engine is the engine to publish, which must be ready
+     @return the number of the published version
+     @throws RuntimeException if the engine is not ready
+     */
+    public long publish(Engine engine) {
+        final EngineDefinition definition = new EngineDefinition(engine);
+        while (true) {
+            Version version = current.get();
+            Version next = new Version(version.getNumber() + 1, definition);
+            if (current.compareAndSet(version, next)) {
+                return next.getNumber();
+            }
+        }
+    }
+
+    /**
+     Publishes the definition of a copy of the given engine as the new current
+     version only if the current version has the expected number, which
+     prevents concurrent reloads from overwriting each other
+
+     @param engine is the engine to publish, which must be ready
+     @param expectedVersion is the expected number of the current version
+     @return whether the engine was published
+     @throws RuntimeException if the engine is not ready
+     */
+    public boolean publish(Engine engine, long expectedVersion) {
+        Version version = current.get();
+        if (version.getNumber() != expectedVersion) {
+            return false;
+        }
+        final EngineDefinition definition = new EngineDefinition(engine);
+        return current.compareAndSet(version, new Version(expectedVersion + 1, definition));
+    }
+
+    /**
+     Creates a state for the current version of the engine
+
+     @return a state for the current version of the engine
+     */
+    public EngineState newState() {
+        return current.get().getDefinition().newState();
+    }
+
+    /**
+     Processes the current version of the engine on the given state. If the
+     state was created for a previous version, it is replaced by a state
+     created for the current version with the values of the variables of the
+     same name (see EngineDefinition::newState(EngineState)), hence the
+     returned state must be used thereafter.
+
+     @param state is the state to process, which must have been created by a
+     version of the engine
+     @return the state processed, which is the given state unless it had to be
+     recreated for the current version
+     @throws RuntimeException if the state was not created by a version of the
+     engine
+     */
+    public EngineState process(EngineState state) {
+        final EngineDefinition definition = current.get().getDefinition();
+        EngineState result = state;
+        if (state.getDefinition() != definition) {
+            if (state.getDefinition() == null) {
+                throw new RuntimeException("[engine error] expected a state created "
+                        + "by a version of the engine");
+            }
+            result = definition.newState(state);
+        }
+        definition.process(result);
+        return result;
+    }
+
+}
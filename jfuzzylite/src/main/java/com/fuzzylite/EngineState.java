@@ -0,0 +1,240 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite;
+
+import java.util.Arrays;
+
+/**
+ The EngineState class contains the state of an engine that changes from one
+ evaluation to the next, that is, the values of the input variables, the
+ values and previous values of the output variables, and the activation
+ degrees and triggering of the rules. The state is stored in arrays of
+ primitive values indexed by the order of the variables in the engine and by
+ the order of the rules in the rule blocks, hence it is cheap to create,
+ reset and copy. The fuzzy outputs of the output variables are not part of
+ the state because they are computed anew in each evaluation. A state created
+ by an EngineDefinition keeps a reference to it, which allows the
+ EngineHandle to recognize the states created for previous versions of the
+ engine.
+
+ @author Juan Rada-Vilela, Ph.D.
+ @see EngineDefinition
+ @see Engine
+ @since 6.0
+ */
+public class EngineState implements Op.Cloneable {
+
+    private final EngineDefinition definition;
+    private double[] inputValues;
+    private double[] outputValues;
+    private double[] previousValues;
+    private double[] activationDegrees;
+    private boolean[] triggered;
+
+    /**
+     Creates the state of an engine with the given number of input variables,
+     output variables, and rules
+
+     @param inputVariables is the number of input variables
+     @param outputVariables is the number of output variables
+     @param rules is the number of rules in all the rule blocks
+     */
+    public EngineState(int inputVariables, int outputVariables, int rules) {
+        this(null, inputVariables, outputVariables, rules);
+    }
+
+    /**
+     Creates the state of an engine for the given definition
+
+     @param definition is the definition for which the state is created
+     @param inputVariables is the number of input variables
+     @param outputVariables is the number of output variables
+     @param rules is the number of rules in all the rule blocks
+     */
+    EngineState(EngineDefinition definition, int inputVariables, int outputVariables,
+            int rules) {
+        this.definition = definition;
+        this.inputValues = new double[inputVariables];
+        this.outputValues = new double[outputVariables];
+        this.previousValues = new double[outputVariables];
+        this.activationDegrees = new double[rules];
+        this.triggered = new boolean[rules];
+        reset();
+    }
+
+    /**
+     Resets the state in the same manner as Engine::restart(), that is, sets
+     the values of the variables to fl::nan and deactivates the rules
+     */
+    public void reset() {
+        Arrays.fill(inputValues, Double.NaN);
+        Arrays.fill(outputValues, Double.NaN);
+        Arrays.fill(previousValues, Double.NaN);
+        Arrays.fill(activationDegrees, 0.0);
+        Arrays.fill(triggered, false);
+    }
+
+    /**
+     Gets the definition for which the state was created
+
+     @return the definition for which the state was created, or null if the
+     state was not created by an EngineDefinition
+     */
+    public EngineDefinition getDefinition() {
+        return definition;
+    }
+
+    /**
+     Gets the number of input variables
+
+     @return the number of input variables
+     */
+    public int numberOfInputVariables() {
+        return inputValues.length;
+    }
+
+    /**
+     Gets the number of output variables
+
+     @return the number of output variables
+     */
+    public int numberOfOutputVariables() {
+        return outputValues.length;
+    }
+
+    /**
+     Gets the number of rules in all the rule blocks
+
+     @return the number of rules in all the rule blocks
+     */
+    public int numberOfRules() {
+        return activationDegrees.length;
+    }
+
+    /**
+     Gets the value of the input variable at the given index
+
+     @param index is the index of the input variable
+     @return the value of the input variable
+     */
+    public double getInputValue(int index) {
+        return inputValues[index];
+    }
+
+    /**
+     Sets the value of the input variable at the given index
+
+     @param index is the index of the input variable
+     @param value is the value of the input variable
+     */
+    public void setInputValue(int index, double value) {
+        this.inputValues[index] = value;
+    }
+
+    /**
+     Gets the value of the output variable at the given index
+
+     @param index is the index of the output variable
+     @return the value of the output variable
+     */
+    public double getOutputValue(int index) {
+        return outputValues[index];
+    }
+
+    /**
+     Sets the value of the output variable at the given index
+
+     @param index is the index of the output variable
+     @param value is the value of the output variable
+     */
+    public void setOutputValue(int index, double value) {
+        this.outputValues[index] = value;
+    }
+
+    /**
+     Gets the previous value of the output variable at the given index
+
+     @param index is the index of the output variable
+     @return the previous value of the output variable
+     */
+    public double getPreviousValue(int index) {
+        return previousValues[index];
+    }
+
+    /**
+     Sets the previous value of the output variable at the given index
+
+     @param index is the index of the output variable
+     @param value is the previous value of the output variable
+     */
+    public void setPreviousValue(int index, double value) {
+        this.previousValues[index] = value;
+    }
+
+    /**
+     Gets the activation degree of the rule at the given index, where the
+     rules are indexed in the order of the rule blocks
+
+     @param index is the index of the rule
+     @return the activation degree of the rule
+     */
+    public double getActivationDegree(int index) {
+        return activationDegrees[index];
+    }
+
+    /**
+     Sets the activation degree of the rule at the given index
+
+     @param index is the index of the rule
+     @param activationDegree is the activation degree of the rule
+     */
+    public void setActivationDegree(int index, double activationDegree) {
+        this.activationDegrees[index] = activationDegree;
+    }
+
+    /**
+     Indicates whether the rule at the given index was triggered
+
+     @param index is the index of the rule
+     @return whether the rule was triggered
+     */
+    public boolean isTriggered(int index) {
+        return triggered[index];
+    }
+
+    /**
+     Sets whether the rule at the given index was triggered
+
+     @param index is the index of the rule
+     @param triggered indicates whether the rule was triggered
+     */
+    public void setTriggered(int index, boolean triggered) {
+        this.triggered[index] = triggered;
+    }
+
+    @Override
+    public EngineState clone() throws CloneNotSupportedException {
+        EngineState result = (EngineState) super.clone();
+        result.inputValues = this.inputValues.clone();
+        result.outputValues = this.outputValues.clone();
+        result.previousValues = this.previousValues.clone();
+        result.activationDegrees = this.activationDegrees.clone();
+        result.triggered = this.triggered.clone();
+        return result;
+    }
+
+}
@@ -37,6 +37,7 @@ public class FuzzyLite {
     private static int decimals = 3;
     protected static double macheps = 1e-6; //Machine epsilon to differentiate numbers
     private static boolean debugging = false;
+    private static volatile boolean fastMath = false;
 
     public static class ThreadSafeDecimalFormat extends ThreadLocal<DecimalFormat> {
 
@@ -196,4 +197,28 @@ public class FuzzyLite {
         return FuzzyLite.debugging;
     }
 
+    /**
+     Sets whether the library computes the exponential and power functions of
+     the terms with the approximations Op::fastExp() and Op::fastPow() instead
+     of Math::exp() and Math::pow(). The setting takes effect on the next
+     computation in every thread, hence the engines do not need to be loaded
+     again.
+
+     @param fastMath indicates whether the library uses the approximations
+     */
+    public static void setFastMath(boolean fastMath) {
+        FuzzyLite.fastMath = fastMath;
+    }
+
+    /**
+     Indicates whether the library computes the exponential and power
+     functions of the terms with the approximations Op::fastExp() and
+     Op::fastPow()
+
+     @return whether the library uses the approximations
+     */
+    public static boolean isFastMath() {
+        return FuzzyLite.fastMath;
+    }
+
 }
@@ -593,6 +593,105 @@ public class Op {
         return Math.sqrt(variance(x, mean));
     }
 
+    private static final double LOG2E = 1.4426950408889634;
+    private static final double LN2_HI = 0.6931471803691238;
+    private static final double LN2_LO = 1.9082149292705877e-10;
+    private static final double LN2 = 0.6931471805599453;
+    private static final double SQRT2 = 1.4142135623730951;
+
+    /**
+     Computes the exponential function, which is approximated by
+     Op::fastExp() if FuzzyLite::isFastMath()
+
+     @param x
+     @return `e^x`
+     */
+    public static double exp(double x) {
+        return FuzzyLite.isFastMath() ? fastExp(x) : Math.exp(x);
+    }
+
+    /**
+     Computes the power function, which is approximated by Op::fastPow() if
+     FuzzyLite::isFastMath()
+
+     @param base
+     @param exponent
+     @return `base^{exponent}`
+     */
+    public static double pow(double base, double exponent) {
+        return FuzzyLite.isFastMath() ? fastPow(base, exponent) : Math.pow(base, exponent);
+    }
+
+    /**
+     Approximates the exponential function by reducing `x` to `k\ln 2 + r`
+     with `|r| \leq \ln(2)/2`, computing `e^r` with a polynomial of degree 6,
+     and scaling the result by `2^k` in the exponent bits. The maximum
+     relative error is `2\times10^{-7}`. Values whose result overflows or is
+     subnormal, as well as `\mathrm{NaN}`, are computed by Math::exp().
+
+     @param x
+     @return `e^x` with a maximum relative error of `2\times10^{-7}`
+     */
+    public static double fastExp(double x) {
+        if (!(x > -708.0 && x < 709.0)) {
+            return Math.exp(x);
+        }
+        final int k = (int) (x * LOG2E + (x < 0.0 ? -0.5 : 0.5));
+        final double r = (x - k * LN2_HI) - k * LN2_LO;
+        final double p = 1.0 + r * (1.0 + r * (1.0 / 2.0 + r * (1.0 / 6.0
+                + r * (1.0 / 24.0 + r * (1.0 / 120.0 + r * (1.0 / 720.0))))));
+        return p * Double.longBitsToDouble((long) (k + 1023) << 52);
+    }
+
+    /**
+     Approximates the natural logarithm by splitting `x` into `m \times 2^e`
+     with `m \in [\sqrt{2}/2, \sqrt{2})`, and computing `\ln(m)` with the
+     series of `2\,\mathrm{atanh}((m-1)/(m+1))` up to the term of degree 9. The
+     maximum absolute error is `10^{-9}`. Values that are not positive normal
+     numbers are computed by Math::log().
+
+     @param x
+     @return `\ln(x)` with a maximum absolute error of `10^{-9}`
+     */
+    public static double fastLog(double x) {
+        if (!(x >= Double.MIN_NORMAL && x <= Double.MAX_VALUE)) {
+            return Math.log(x);
+        }
+        final long bits = Double.doubleToRawLongBits(x);
+        int e = (int) (bits >>> 52) - 1023;
+        double m = Double.longBitsToDouble((bits & 0x000fffffffffffffL) | 0x3ff0000000000000L);
+        if (m > SQRT2) {
+            m *= 0.5;
+            ++e;
+        }
+        final double s = (m - 1.0) / (m + 1.0);
+        final double s2 = s * s;
+        return e * LN2 + 2.0 * s * (1.0 + s2 * (1.0 / 3.0 + s2 * (1.0 / 5.0
+                + s2 * (1.0 / 7.0 + s2 * (1.0 / 9.0)))));
+    }
+
+    /**
+     Approximates the power function as `e^{y \ln(x)}` using Op::fastExp()
+     and Op::fastLog(), whereby the maximum relative error is `2\times10^{-7}
+     + 10^{-9}|y|`. Squares are computed exactly, and non-positive or
+     non-finite values are computed by Math::pow().
+
+     @param base is `x`
+     @param exponent is `y`
+     @return `x^y` with a maximum relative error of `2\times10^{-7} +
+     10^{-9}|y|`
+     */
+    public static double fastPow(double base, double exponent) {
+        if (exponent == 2.0) {
+            return base * base;
+        }
+        if (!(base > 0.0 && base <= Double.MAX_VALUE
+                && Math.abs(exponent) <= Double.MAX_VALUE)) {
+            return Math.pow(base, exponent);
+        }
+        return fastExp(exponent * fastLog(base));
+    }
+
     /**
      Splits the string around the given delimiter ignoring empty splits
 
@@ -94,7 +94,9 @@ public class First extends Activation {
     /**
      Activates the first `n` rules whose activation degrees are greater than
      or equal to the given threshold. The rules are iterated in the order the
-     rules were added to the rule block.
+     rules were added to the rule block. Once `n` rules have been activated,
+     the remaining rules are deactivated without computing their activation
+     degrees.
 
      @param ruleBlock is the rule block to activate
      */
@@ -112,10 +114,9 @@ public class First extends Activation {
         for (Rule rule : ruleBlock.getRules()) {
             rule.deactivate();
 
-            if (rule.isLoaded()) {
+            if (activated < numberOfRules && rule.isLoaded()) {
                 double activationDegree = rule.activateWith(conjunction, disjunction);
-                if (activated < numberOfRules
-                        && Op.isGt(activationDegree, 0.0)
+                if (Op.isGt(activationDegree, 0.0)
                         && Op.isGE(activationDegree, threshold)) {
                     rule.trigger(implication);
                     ++activated;
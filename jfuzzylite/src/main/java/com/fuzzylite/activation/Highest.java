@@ -26,12 +26,12 @@ import com.fuzzylite.rule.RuleBlock;
 import java.text.MessageFormat;
 import java.util.Comparator;
 import java.util.List;
-import java.util.PriorityQueue;
 import java.util.logging.Level;
 
 /**
  The Highest class is a RuleBlock Activation method that activates a given
- number of rules with highest activation degrees in descending order.
+ number of rules with highest activation degrees in descending order. The
+ activation degrees of the rules that are not activated are set to zero.
 
  @author Juan Rada-Vilela, Ph.D.
  @see Lowest
@@ -43,6 +43,7 @@ import java.util.logging.Level;
 public class Highest extends Activation {
 
     private int numberOfRules;
+    private RankedRules rankedRules;
 
     public Highest() {
         this(1);
@@ -83,6 +84,13 @@ public class Highest extends Activation {
         setNumberOfRules(Integer.parseInt(values.get(0)));
     }
 
+    /**
+     Compares the rules descendantly by their activation degrees
+
+     @deprecated the rules to activate are ranked without sorting the rules
+     of the rule block, hence this comparator is no longer used
+     */
+    @Deprecated
     protected static class Descending implements Comparator<Rule> {
 
         @Override
@@ -107,23 +115,34 @@ public class Highest extends Activation {
         SNorm disjunction = ruleBlock.getDisjunction();
         TNorm implication = ruleBlock.getImplication();
 
-        PriorityQueue<Rule> rulesToActivate = new PriorityQueue<Rule>(
-                numberOfRules, new Descending());
+        List<Rule> rules = ruleBlock.getRules();
+        RankedRules rulesToActivate = getRankedRules();
+        rulesToActivate.reset(Math.min(numberOfRules, rules.size()));
 
-        for (Rule rule : ruleBlock.getRules()) {
+        for (int i = 0; i < rules.size(); ++i) {
+            Rule rule = rules.get(i);
             rule.deactivate();
 
             if (rule.isLoaded()) {
-                double activationDegree = rule.activateWith(conjunction, disjunction);
+                //once k rules are kept, a rule needs to beat the worst of them
+                double activationDegree = rulesToActivate.isFull()
+                        ? rule.activateWith(conjunction, disjunction,
+                                rulesToActivate.worstDegree())
+                        : rule.activateWith(conjunction, disjunction);
                 if (Op.isGt(activationDegree, 0.0)) {
-                    rulesToActivate.offer(rule);
+                    //the rules not kept are deactivated so that their activation
+                    //degrees do not depend on the order of the rules
+                    final int discarded = rulesToActivate.offer(i, activationDegree);
+                    if (discarded >= 0) {
+                        rules.get(discarded).deactivate();
+                    }
                 }
             }
         }
 
-        int activated = 0;
-        while (!rulesToActivate.isEmpty() && activated++ < numberOfRules) {
-            rulesToActivate.poll().trigger(implication);
+        final int activated = rulesToActivate.sort();
+        for (int i = 0; i < activated; ++i) {
+            rules.get(rulesToActivate.indexAt(i)).trigger(implication);
         }
     }
 
@@ -145,8 +164,23 @@ public class Highest extends Activation {
         this.numberOfRules = numberOfRules;
     }
 
+    /**
+     Gets the heap utilized to select the rules to activate, which is created
+     on demand and reused across activations
+
+     @return the heap utilized to select the rules to activate
+     */
+    private RankedRules getRankedRules() {
+        if (rankedRules == null) {
+            rankedRules = new RankedRules(true);
+        }
+        return rankedRules;
+    }
+
     @Override
     public Highest clone() throws CloneNotSupportedException {
-        return (Highest) super.clone();
+        Highest result = (Highest) super.clone();
+        result.rankedRules = null;
+        return result;
     }
 }
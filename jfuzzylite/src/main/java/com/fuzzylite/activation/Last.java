@@ -96,7 +96,9 @@ public class Last extends Activation {
     /**
      Activates the last `n` rules whose activation degrees are greater than
      the given threshold. The rules are iterated in the reverse order that the
-     rules were added to the rule block.
+     rules were added to the rule block. Once `n` rules have been activated,
+     the remaining rules are deactivated without computing their activation
+     degrees.
 
      @param ruleBlock is the rule block to activate
      */
@@ -117,10 +119,9 @@ public class Last extends Activation {
             Rule rule = rit.previous();
             rule.deactivate();
 
-            if (rule.isLoaded()) {
+            if (activated < numberOfRules && rule.isLoaded()) {
                 double activationDegree = rule.activateWith(conjunction, disjunction);
-                if (activated < numberOfRules
-                        && Op.isGt(activationDegree, 0.0)
+                if (Op.isGt(activationDegree, 0.0)
                         && Op.isGE(activationDegree, threshold)) {
                     rule.trigger(implication);
                     ++activated;
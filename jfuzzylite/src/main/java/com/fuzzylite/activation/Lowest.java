@@ -26,7 +26,6 @@ import com.fuzzylite.rule.RuleBlock;
 import java.text.MessageFormat;
 import java.util.Comparator;
 import java.util.List;
-import java.util.PriorityQueue;
 import java.util.logging.Level;
 
 /**
@@ -43,6 +42,7 @@ import java.util.logging.Level;
 public class Lowest extends Activation {
 
     private int numberOfRules;
+    private RankedRules rankedRules;
 
     public Lowest() {
         this(1);
@@ -83,6 +83,13 @@ public class Lowest extends Activation {
         setNumberOfRules(Integer.parseInt(values.get(0)));
     }
 
+    /**
+     Compares the rules ascendantly by their activation degrees
+
+     @deprecated the rules to activate are ranked without sorting the rules
+     of the rule block, hence this comparator is no longer used
+     */
+    @Deprecated
     protected static class Ascending implements Comparator<Rule> {
 
         @Override
@@ -108,23 +115,25 @@ public class Lowest extends Activation {
         SNorm disjunction = ruleBlock.getDisjunction();
         TNorm implication = ruleBlock.getImplication();
 
-        PriorityQueue<Rule> rulesToActivate = new PriorityQueue<Rule>(
-                numberOfRules, new Ascending());
+        List<Rule> rules = ruleBlock.getRules();
+        RankedRules rulesToActivate = getRankedRules();
+        rulesToActivate.reset(Math.min(numberOfRules, rules.size()));
 
-        for (Rule rule : ruleBlock.getRules()) {
+        for (int i = 0; i < rules.size(); ++i) {
+            Rule rule = rules.get(i);
             rule.deactivate();
 
             if (rule.isLoaded()) {
                 double activationDegree = rule.activateWith(conjunction, disjunction);
                 if (Op.isGt(activationDegree, 0.0)) {
-                    rulesToActivate.offer(rule);
+                    rulesToActivate.offer(i, activationDegree);
                 }
             }
         }
 
-        int activated = 0;
-        while (!rulesToActivate.isEmpty() && activated++ < numberOfRules) {
-            rulesToActivate.poll().trigger(implication);
+        final int activated = rulesToActivate.sort();
+        for (int i = 0; i < activated; ++i) {
+            rules.get(rulesToActivate.indexAt(i)).trigger(implication);
         }
     }
 
@@ -146,8 +155,23 @@ public class Lowest extends Activation {
         this.numberOfRules = numberOfRules;
     }
 
+    /**
+     Gets the heap utilized to select the rules to activate, which is created
+     on demand and reused across activations
+
+     @return the heap utilized to select the rules to activate
+     */
+    private RankedRules getRankedRules() {
+        if (rankedRules == null) {
+            rankedRules = new RankedRules(false);
+        }
+        return rankedRules;
+    }
+
     @Override
-    public Highest clone() throws CloneNotSupportedException {
-        return (Highest) super.clone();
+    public Lowest clone() throws CloneNotSupportedException {
+        Lowest result = (Lowest) super.clone();
+        result.rankedRules = null;
+        return result;
     }
 }
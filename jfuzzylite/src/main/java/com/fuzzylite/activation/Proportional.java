@@ -22,7 +22,6 @@ import com.fuzzylite.norm.TNorm;
 import com.fuzzylite.rule.Rule;
 import com.fuzzylite.rule.RuleBlock;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 
@@ -39,7 +38,12 @@ import java.util.logging.Level;
  */
 public class Proportional extends Activation {
 
+    private int[] indexes;
+    private double[] activationDegrees;
+
     public Proportional() {
+        this.indexes = new int[0];
+        this.activationDegrees = new double[0];
     }
 
     /**
@@ -64,7 +68,9 @@ public class Proportional extends Activation {
 
     /**
      Activates the rules utilizing activation degrees proportional to the
-     activation degrees of the other rules in the rule block.
+     activation degrees of the other rules in the rule block. The activation
+     degrees are computed once and kept in arrays that are reused across
+     activations.
 
      @param ruleBlock is the rule block to activate.
      */
@@ -78,26 +84,37 @@ public class Proportional extends Activation {
         SNorm disjunction = ruleBlock.getDisjunction();
         TNorm implication = ruleBlock.getImplication();
 
+        List<Rule> rules = ruleBlock.getRules();
+        if (indexes.length < rules.size()) {
+            indexes = new int[rules.size()];
+            activationDegrees = new double[rules.size()];
+        }
+        int rulesToActivate = 0;
         double sumActivationDegrees = 0.0;
-        List<Rule> rulesToActivate = new ArrayList<Rule>(ruleBlock.getRules().size());
-        for (Rule rule : ruleBlock.getRules()) {
+        for (int i = 0; i < rules.size(); ++i) {
+            Rule rule = rules.get(i);
             rule.deactivate();
             if (rule.isLoaded()) {
                 double activationDegree = rule.activateWith(conjunction, disjunction);
-                rulesToActivate.add(rule);
+                indexes[rulesToActivate] = i;
+                activationDegrees[rulesToActivate] = activationDegree;
+                ++rulesToActivate;
                 sumActivationDegrees += activationDegree;
             }
         }
-        for (Rule rule : rulesToActivate) {
-            double activationDegree = rule.getActivationDegree() / sumActivationDegrees;
-            rule.setActivationDegree(activationDegree);
+        for (int i = 0; i < rulesToActivate; ++i) {
+            Rule rule = rules.get(indexes[i]);
+            rule.setActivationDegree(activationDegrees[i] / sumActivationDegrees);
             rule.trigger(implication);
         }
     }
 
     @Override
     public Proportional clone() throws CloneNotSupportedException {
-        return (Proportional) super.clone();
+        Proportional result = (Proportional) super.clone();
+        result.indexes = new int[0];
+        result.activationDegrees = new double[0];
+        return result;
     }
 
 }
@@ -0,0 +1,196 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite.activation;
+
+/**
+ The RankedRules class is a bounded binary heap of rule indexes ranked by
+ their activation degrees, which is utilized by the Highest and Lowest
+ activation methods to select the best `k` rules of a RuleBlock without
+ allocating objects on each activation.
+
+ The root of the heap is the worst rule kept so far, such that a new rule
+ replaces it only if the new rule ranks better. Rules with equal activation
+ degrees are ranked by their position in the RuleBlock, the first rule being
+ the better one. The arrays are reused across activations and only grow when
+ the number of rules to keep exceeds their capacity.
+
+ @author Juan Rada-Vilela, Ph.D.
+ @see Highest
+ @see Lowest
+ @since 6.0
+ */
+final class RankedRules {
+
+    private final boolean descending;
+    private int[] indexes;
+    private double[] degrees;
+    private int size;
+    private int limit;
+
+    /**
+     Creates an empty heap
+
+     @param descending whether higher activation degrees rank better (Highest)
+     or lower activation degrees rank better (Lowest)
+     */
+    RankedRules(boolean descending) {
+        this.descending = descending;
+        this.indexes = new int[0];
+        this.degrees = new double[0];
+    }
+
+    /**
+     Empties the heap and sets the maximum number of rules to keep, growing the
+     arrays if needed
+
+     @param limit is the maximum number of rules to keep
+     */
+    void reset(int limit) {
+        this.size = 0;
+        this.limit = Math.max(0, limit);
+        if (indexes.length < this.limit) {
+            indexes = new int[this.limit];
+            degrees = new double[this.limit];
+        }
+    }
+
+    /**
+     Gets the number of rules kept in the heap
+
+     @return the number of rules kept in the heap
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     Indicates whether the heap keeps the maximum (non-zero) number of rules,
+     in which case a rule needs to rank better than the worst rule kept to be
+     kept in the heap
+
+     @return whether the heap keeps the maximum (non-zero) number of rules
+     */
+    boolean isFull() {
+        return limit > 0 && size == limit;
+    }
+
+    /**
+     Gets the activation degree of the worst rule kept in the heap
+
+     @return the activation degree of the worst rule kept in the heap
+     */
+    double worstDegree() {
+        return degrees[0];
+    }
+
+    /**
+     Offers the rule at the given index with the given activation degree, which
+     is kept only if the heap is not full or if it ranks better than the worst
+     rule kept in the heap
+
+     @param index is the index of the rule in the RuleBlock
+     @param degree is the activation degree of the rule
+     @return the index of the rule that is not kept in the heap (either the
+     rule offered or the worst rule replaced by it), or `-1` if every rule is
+     kept
+     */
+    int offer(int index, double degree) {
+        if (size < limit) {
+            indexes[size] = index;
+            degrees[size] = degree;
+            siftUp(size++);
+            return -1;
+        }
+        if (limit > 0 && isWorse(indexes[0], degrees[0], index, degree)) {
+            final int replaced = indexes[0];
+            indexes[0] = index;
+            degrees[0] = degree;
+            siftDown(0, size);
+            return replaced;
+        }
+        return index;
+    }
+
+    /**
+     Sorts the rules in the heap from best to worst, after which the heap can
+     only be read by means of RankedRules::indexAt until the next reset
+
+     @return the number of rules sorted
+     */
+    int sort() {
+        for (int last = size - 1; last > 0; --last) {
+            swap(0, last);
+            siftDown(0, last);
+        }
+        return size;
+    }
+
+    /**
+     Gets the index (in the RuleBlock) of the rule at the given position
+
+     @param position is the position of the rule in the heap
+     @return the index of the rule in the RuleBlock
+     */
+    int indexAt(int position) {
+        return indexes[position];
+    }
+
+    private boolean isWorse(int indexA, double degreeA, int indexB, double degreeB) {
+        if (degreeA == degreeB) {
+            return indexA > indexB;
+        }
+        return descending ? degreeA < degreeB : degreeA > degreeB;
+    }
+
+    private boolean isWorse(int a, int b) {
+        return isWorse(indexes[a], degrees[a], indexes[b], degrees[b]);
+    }
+
+    private void siftUp(int child) {
+        while (child > 0) {
+            int parent = (child - 1) >>> 1;
+            if (!isWorse(child, parent)) {
+                return;
+            }
+            swap(child, parent);
+            child = parent;
+        }
+    }
+
+    private void siftDown(int parent, int end) {
+        int child;
+        while ((child = 2 * parent + 1) < end) {
+            if (child + 1 < end && isWorse(child + 1, child)) {
+                ++child;
+            }
+            if (!isWorse(child, parent)) {
+                return;
+            }
+            swap(child, parent);
+            parent = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int index = indexes[a];
+        indexes[a] = indexes[b];
+        indexes[b] = index;
+        double degree = degrees[a];
+        degrees[a] = degrees[b];
+        degrees[b] = degree;
+    }
+}
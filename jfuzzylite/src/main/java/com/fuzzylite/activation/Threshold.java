@@ -224,6 +224,24 @@ public class Threshold extends Activation {
         return false;
     }
 
+    /**
+     Returns a lower bound for the activation degrees that can satisfy the
+     comparison, such that the computation of a rule can stop as soon as its
+     activation degree is known to be smaller than the bound. The bound is
+     lowered by the machine epsilon utilized in the comparisons.
+
+     @return a lower bound for the activation degrees that can satisfy the
+     comparison, or negative infinity if there is no such bound
+     */
+    double minimumActivationDegree() {
+        if (Comparison.EqualTo == this.comparison
+                || Comparison.GreaterThanOrEqualTo == this.comparison
+                || Comparison.GreaterThan == this.comparison) {
+            return getValue() - 2.0 * FuzzyLite.getMachEps();
+        }
+        return Double.NEGATIVE_INFINITY;
+    }
+
     /**
      Activates the rules whose activation degrees satisfy the comparison
      equation with the given threshold, and deactivate the rules which do not.
@@ -240,10 +258,11 @@ public class Threshold extends Activation {
         SNorm disjunction = ruleBlock.getDisjunction();
         TNorm implication = ruleBlock.getImplication();
 
+        final double minimum = minimumActivationDegree();
         for (Rule rule : ruleBlock.getRules()) {
             rule.deactivate();
             if (rule.isLoaded()) {
-                double activationDegree = rule.activateWith(conjunction, disjunction);
+                double activationDegree = rule.activateWith(conjunction, disjunction, minimum);
                 if (activatesWith(activationDegree)) {
                     rule.trigger(implication);
                 }
@@ -22,12 +22,21 @@ import com.fuzzylite.term.Function;
 
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
  The FunctionFactory class is a CloningFactory of operators and functions
  utilized by the Function term.
 
+ The factory also keeps a bounded cache of the formulas translated to postfix
+ notation by Function::toPostfix(), such that formulas and antecedents that
+ appear repeatedly across terms, rules, and engines are tokenized only once.
+ The formulas are cached by their text with consecutive whitespace collapsed,
+ the least recently used formulas are evicted first, and the cache is cleared
+ whenever the elements registered in the factory change.
+
  @author Juan Rada-Vilela, Ph.D.
  @see Function
  @see Element
@@ -37,6 +46,9 @@ import java.util.Set;
  */
 public class FunctionFactory extends CloningFactory<Function.Element> {
 
+    private int postfixCacheCapacity = 1024;
+    private Map<String, String> postfixCache = createPostfixCache();
+
     public FunctionFactory() {
         registerOperators();
         registerFunctions();
@@ -196,9 +208,155 @@ public class FunctionFactory extends CloningFactory<Function.Element> {
         return functions;
     }
 
+    @Override
+    public void registerObject(String key, Function.Element object) {
+        super.registerObject(key, object);
+        clearPostfixCache();
+    }
+
+    @Override
+    public void deregisterObject(String key) {
+        super.deregisterObject(key);
+        clearPostfixCache();
+    }
+
+    @Override
+    public void setObjects(Map<String, Function.Element> objects) {
+        super.setObjects(objects);
+        clearPostfixCache();
+    }
+
+    private Map<String, String> createPostfixCache() {
+        return new LinkedHashMap<String, String>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > postfixCacheCapacity;
+            }
+        };
+    }
+
+    /**
+     Gets the formula in postfix notation previously cached for the given
+     formula in infix notation
+
+     @param formula is the formula in infix notation
+     @return the formula in postfix notation, or null if it is not cached
+     */
+    public String getCachedPostfix(String formula) {
+        final String key = normalize(formula);
+        synchronized (postfixCache) {
+            return postfixCache.get(key);
+        }
+    }
+
+    /**
+     Caches the given formula in postfix notation for the given formula in
+     infix notation, evicting the least recently used formula if the cache is
+     full
+
+     @param formula is the formula in infix notation
+     @param postfix is the formula in postfix notation
+     */
+    public void cachePostfix(String formula, String postfix) {
+        if (postfixCacheCapacity <= 0) {
+            return;
+        }
+        final String key = normalize(formula);
+        synchronized (postfixCache) {
+            postfixCache.put(key, postfix);
+        }
+    }
+
+    /**
+     Removes all the formulas from the cache
+     */
+    public void clearPostfixCache() {
+        synchronized (postfixCache) {
+            postfixCache.clear();
+        }
+    }
+
+    /**
+     Gets the number of formulas in the cache
+
+     @return the number of formulas in the cache
+     */
+    public int postfixCacheSize() {
+        synchronized (postfixCache) {
+            return postfixCache.size();
+        }
+    }
+
+    /**
+     Gets the maximum number of formulas in the cache (default is 1024)
+
+     @return the maximum number of formulas in the cache
+     */
+    public int getPostfixCacheCapacity() {
+        return postfixCacheCapacity;
+    }
+
+    /**
+     Sets the maximum number of formulas in the cache, evicting the least
+     recently used formulas if needed. A capacity of zero disables the cache.
+
+     @param postfixCacheCapacity is the maximum number of formulas in the
+     cache
+     */
+    public void setPostfixCacheCapacity(int postfixCacheCapacity) {
+        synchronized (postfixCache) {
+            this.postfixCacheCapacity = postfixCacheCapacity;
+            Iterator<String> it = postfixCache.keySet().iterator();
+            while (postfixCache.size() > Math.max(0, postfixCacheCapacity)) {
+                it.next();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     Collapses the consecutive whitespace of the formula into single spaces,
+     which does not change the tokens of the formula
+     */
+    private static String normalize(String formula) {
+        StringBuilder result = null;
+        boolean space = false;
+        for (int i = 0; i < formula.length(); ++i) {
+            char c = formula.charAt(i);
+            boolean whitespace = isWhitespace(c);
+            if (result == null) {
+                if (whitespace && (c != ' ' || i == 0 || i == formula.length() - 1
+                        || isWhitespace(formula.charAt(i + 1)))) {
+                    result = new StringBuilder(formula.length());
+                    result.append(formula, 0, i);
+                    space = i > 0;
+                } else {
+                    continue;
+                }
+            } else if (whitespace) {
+                space = result.length() > 0;
+            } else {
+                if (space) {
+                    result.append(' ');
+                    space = false;
+                }
+                result.append(c);
+            }
+        }
+        return result == null ? formula : result.toString();
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+    }
+
     @Override
     public FunctionFactory clone() throws CloneNotSupportedException {
-        return (FunctionFactory) super.clone();
+        FunctionFactory result = (FunctionFactory) super.clone();
+        result.postfixCache = result.createPostfixCache();
+        return result;
     }
 
 }
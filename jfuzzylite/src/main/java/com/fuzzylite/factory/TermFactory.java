@@ -25,7 +25,9 @@ import com.fuzzylite.term.Discrete;
 import com.fuzzylite.term.Function;
 import com.fuzzylite.term.Gaussian;
 import com.fuzzylite.term.GaussianProduct;
+import com.fuzzylite.term.LazyDiscrete;
 import com.fuzzylite.term.Linear;
+import com.fuzzylite.term.MappedDiscrete;
 import com.fuzzylite.term.PiShape;
 import com.fuzzylite.term.Ramp;
 import com.fuzzylite.term.Rectangle;
@@ -34,6 +36,7 @@ import com.fuzzylite.term.Sigmoid;
 import com.fuzzylite.term.SigmoidDifference;
 import com.fuzzylite.term.SigmoidProduct;
 import com.fuzzylite.term.Spike;
+import com.fuzzylite.term.Tabulated;
 import com.fuzzylite.term.Term;
 import com.fuzzylite.term.Trapezoid;
 import com.fuzzylite.term.Triangle;
@@ -61,7 +64,9 @@ public class TermFactory extends ConstructionFactory<Term> {
         register(Function.class);
         register(Gaussian.class);
         register(GaussianProduct.class);
+        register(LazyDiscrete.class);
         register(Linear.class);
+        register(MappedDiscrete.class);
         register(PiShape.class);
         register(Ramp.class);
         register(Rectangle.class);
@@ -70,6 +75,7 @@ public class TermFactory extends ConstructionFactory<Term> {
         register(SigmoidDifference.class);
         register(SigmoidProduct.class);
         register(Spike.class);
+        register(Tabulated.class);
         register(Trapezoid.class);
         register(Triangle.class);
         register(ZShape.class);
@@ -27,9 +27,13 @@ import com.fuzzylite.hedge.Hedge;
 import com.fuzzylite.norm.Norm;
 import com.fuzzylite.rule.Rule;
 import com.fuzzylite.rule.RuleBlock;
+import com.fuzzylite.rule.RuleTable;
 import com.fuzzylite.term.Discrete;
 import com.fuzzylite.term.Function;
+import com.fuzzylite.term.LazyDiscrete;
+import com.fuzzylite.term.MappedDiscrete;
 import com.fuzzylite.term.Linear;
+import com.fuzzylite.term.Tabulated;
 import com.fuzzylite.term.Term;
 import com.fuzzylite.variable.InputVariable;
 import com.fuzzylite.variable.OutputVariable;
@@ -290,7 +294,12 @@ public class CppExporter extends Exporter {
         result.append(String.format(
                 "%s->setActivation(%s);\n", name, toString(ruleBlock.getActivation())));
 
-        for (Rule rule : ruleBlock.getRules()) {
+        List<Rule> rules = ruleBlock.getRules();
+        if (ruleBlock instanceof RuleTable) {
+            //rule tables are exported as their equivalent rules
+            rules = ((RuleTable) ruleBlock).toRuleBlock(engine).getRules();
+        }
+        for (Rule rule : rules) {
             result.append(String.format("%s->addRule("
                     + fl("Rule") + "::parse(\"%s\", engine));\n",
                     name, rule.getText()));
@@ -329,6 +338,15 @@ public class CppExporter extends Exporter {
         if (term == null) {
             return "fl::null";
         }
+        if (term instanceof Tabulated) {
+            term = ((Tabulated) term).toTerm();
+        }
+        if (term instanceof LazyDiscrete) {
+            term = ((LazyDiscrete) term).toDiscrete();
+        }
+        if (term instanceof MappedDiscrete) {
+            term = ((MappedDiscrete) term).toDiscrete();
+        }
         if (term instanceof Discrete) {
             Discrete t = (Discrete) term;
             List<Double> xy = Discrete.toList(t.getXY());
@@ -45,8 +45,12 @@ import com.fuzzylite.norm.t.Minimum;
 import com.fuzzylite.norm.t.NilpotentMinimum;
 import com.fuzzylite.rule.Rule;
 import com.fuzzylite.rule.RuleBlock;
+import com.fuzzylite.rule.RuleTable;
 import com.fuzzylite.term.Constant;
 import com.fuzzylite.term.Discrete;
+import com.fuzzylite.term.LazyDiscrete;
+import com.fuzzylite.term.MappedDiscrete;
+import com.fuzzylite.term.Tabulated;
 import com.fuzzylite.term.Term;
 import com.fuzzylite.variable.InputVariable;
 import com.fuzzylite.variable.OutputVariable;
@@ -125,6 +129,10 @@ public class FclExporter extends Exporter {
         }
 
         for (RuleBlock ruleBlock : engine.getRuleBlocks()) {
+            if (ruleBlock instanceof RuleTable) {
+                //rule tables are exported as their equivalent rules
+                ruleBlock = ((RuleTable) ruleBlock).toRuleBlock(engine);
+            }
             result.append(toString(ruleBlock)).append("\n");
         }
 
@@ -199,6 +207,10 @@ public class FclExporter extends Exporter {
      Control Language specification
      */
     public String toString(RuleBlock ruleBlock) {
+        if (ruleBlock instanceof RuleTable) {
+            //rule tables are exported as their equivalent rules
+            ruleBlock = ((RuleTable) ruleBlock).toRuleBlock();
+        }
         StringBuilder result = new StringBuilder();
         result.append(String.format("RULEBLOCK %s\n", ruleBlock.getName()));
         if (ruleBlock.getConjunction() != null) {
@@ -330,6 +342,15 @@ public class FclExporter extends Exporter {
         if (term == null) {
             return "";
         }
+        if (term instanceof Tabulated) {
+            term = ((Tabulated) term).toTerm();
+        }
+        if (term instanceof LazyDiscrete) {
+            term = ((LazyDiscrete) term).toDiscrete();
+        }
+        if (term instanceof MappedDiscrete) {
+            term = ((MappedDiscrete) term).toDiscrete();
+        }
 
         if (term instanceof Discrete) {
             StringBuilder result = new StringBuilder();
@@ -338,6 +338,7 @@ public class FclImporter extends Importer {
                         firstToken, line));
             }
         }
+        ruleBlock.shareExpressions();
     }
 
     protected TNorm parseTNorm(String line) {
@@ -57,6 +57,7 @@ import com.fuzzylite.rule.Operator;
 import com.fuzzylite.rule.Proposition;
 import com.fuzzylite.rule.Rule;
 import com.fuzzylite.rule.RuleBlock;
+import com.fuzzylite.rule.RuleTable;
 import com.fuzzylite.term.Bell;
 import com.fuzzylite.term.Binary;
 import com.fuzzylite.term.Concave;
@@ -66,6 +67,8 @@ import com.fuzzylite.term.Discrete;
 import com.fuzzylite.term.Function;
 import com.fuzzylite.term.Gaussian;
 import com.fuzzylite.term.GaussianProduct;
+import com.fuzzylite.term.LazyDiscrete;
+import com.fuzzylite.term.MappedDiscrete;
 import com.fuzzylite.term.Linear;
 import com.fuzzylite.term.PiShape;
 import com.fuzzylite.term.Ramp;
@@ -75,6 +78,7 @@ import com.fuzzylite.term.Sigmoid;
 import com.fuzzylite.term.SigmoidDifference;
 import com.fuzzylite.term.SigmoidProduct;
 import com.fuzzylite.term.Spike;
+import com.fuzzylite.term.Tabulated;
 import com.fuzzylite.term.Term;
 import com.fuzzylite.term.Trapezoid;
 import com.fuzzylite.term.Triangle;
@@ -148,7 +152,11 @@ public class FisExporter extends Exporter {
         SNorm disjunction = null;
         TNorm implication = null;
         for (RuleBlock ruleBlock : engine.getRuleBlocks()) {
-            numberOfRules += ruleBlock.numberOfRules();
+            if (ruleBlock instanceof RuleTable) {
+                numberOfRules += ((RuleTable) ruleBlock).toRuleBlock(engine).numberOfRules();
+            } else {
+                numberOfRules += ruleBlock.numberOfRules();
+            }
             if (conjunction == null) {
                 conjunction = ruleBlock.getConjunction();
             }
@@ -247,7 +255,12 @@ public class FisExporter extends Exporter {
                 result.append(String.format("# RuleBlock %d",
                         1 + engine.getRuleBlocks().indexOf(ruleBlock)));
             }
-            for (Rule rule : ruleBlock.getRules()) {
+            List<Rule> rules = ruleBlock.getRules();
+            if (ruleBlock instanceof RuleTable) {
+                //rule tables are exported as their equivalent rules
+                rules = ((RuleTable) ruleBlock).toRuleBlock(engine).getRules();
+            }
+            for (Rule rule : rules) {
                 if (rule.isLoaded()) {
                     result.append(exportRule(rule, engine)).append("\n");
                 }
@@ -501,6 +514,15 @@ public class FisExporter extends Exporter {
      format
      */
     public String toString(Term term) {
+        if (term instanceof Tabulated) {
+            term = ((Tabulated) term).toTerm();
+        }
+        if (term instanceof LazyDiscrete) {
+            term = ((LazyDiscrete) term).toDiscrete();
+        }
+        if (term instanceof MappedDiscrete) {
+            term = ((MappedDiscrete) term).toDiscrete();
+        }
         if (term instanceof Bell) {
             Bell t = (Bell) term;
             return String.format("'%s':'gbellmf',[%s]", term.getName(),
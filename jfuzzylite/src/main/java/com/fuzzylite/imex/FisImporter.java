@@ -52,6 +52,7 @@ import com.fuzzylite.norm.t.Minimum;
 import com.fuzzylite.norm.t.NilpotentMinimum;
 import com.fuzzylite.rule.Rule;
 import com.fuzzylite.rule.RuleBlock;
+import com.fuzzylite.rule.RuleTable;
 import com.fuzzylite.term.Bell;
 import com.fuzzylite.term.Binary;
 import com.fuzzylite.term.Concave;
@@ -101,8 +102,31 @@ public class FisImporter extends Importer {
 
     protected static final int AND = 0, OR = 1, IMP = 2, AGG = 3, DEFUZZ = 4, ALL = 5;
 
+    private boolean tabulatingRules;
+
     public FisImporter() {
+        this.tabulatingRules = false;
+    }
+
+    /**
+     Indicates whether the rules are imported into a RuleTable when they can
+     be represented as such (default is false)
+
+     @return whether the rules are imported into a RuleTable when possible
+     */
+    public boolean isTabulatingRules() {
+        return tabulatingRules;
+    }
+
+    /**
+     Sets whether the rules are imported into a RuleTable when they can be
+     represented as such (default is false)
 
+     @param tabulatingRules indicates whether the rules are imported into a
+     RuleTable when possible
+     */
+    public void setTabulatingRules(boolean tabulatingRules) {
+        this.tabulatingRules = tabulatingRules;
     }
 
     @Override
@@ -402,6 +426,14 @@ public class FisImporter extends Importer {
                 ruleBlock.addRule(rule);
             }
         }
+        ruleBlock.shareExpressions();
+        if (tabulatingRules) {
+            RuleTable ruleTable = RuleTable.fromRuleBlock(ruleBlock, engine);
+            if (ruleTable != null) {
+                List<RuleBlock> ruleBlocks = engine.getRuleBlocks();
+                ruleBlocks.set(ruleBlocks.indexOf(ruleBlock), ruleTable);
+            }
+        }
     }
 
     protected String translateProposition(double code, Variable variable) {
@@ -25,6 +25,7 @@ import com.fuzzylite.defuzzifier.WeightedDefuzzifier;
 import com.fuzzylite.norm.Norm;
 import com.fuzzylite.rule.Rule;
 import com.fuzzylite.rule.RuleBlock;
+import com.fuzzylite.rule.RuleTable;
 import com.fuzzylite.term.Term;
 import com.fuzzylite.variable.InputVariable;
 import com.fuzzylite.variable.OutputVariable;
@@ -273,6 +274,9 @@ public class FllExporter extends Exporter {
      @return a string representation of the rule block in the FuzzyLite Language
      */
     public String toString(RuleBlock ruleBlock) {
+        if (ruleBlock instanceof RuleTable) {
+            return toString((RuleTable) ruleBlock);
+        }
         List<String> result = new LinkedList<String>();
         result.add(String.format("RuleBlock: %s", ruleBlock.getName()));
         if (!Op.isEmpty(ruleBlock.getDescription())){
@@ -295,6 +299,59 @@ public class FllExporter extends Exporter {
         return Op.join(result, separator);
     }
 
+    /**
+     Returns a string representation of the RuleTable in the FuzzyLite
+     Language, where the cells of each output variable are the names of its
+     terms (or `none`) in row-major order. The rule table must be loaded, and
+     its output variables cannot have terms named `none`, as the name would
+     be ambiguous with the cells without a conclusion.
+
+     @param ruleTable is the rule table
+     @return a string representation of the rule table in the FuzzyLite
+     Language
+     */
+    public String toString(RuleTable ruleTable) {
+        if (!ruleTable.isLoaded()) {
+            throw new RuntimeException(String.format("[export error] "
+                    + "the rule table <%s> is not loaded", ruleTable.getName()));
+        }
+        List<String> result = new LinkedList<String>();
+        result.add(String.format("RuleTable: %s", ruleTable.getName()));
+        if (!Op.isEmpty(ruleTable.getDescription())) {
+            result.add(String.format("%sdescription: %s", indent,
+                    ruleTable.getDescription()));
+        }
+        result.add(String.format("%senabled: %s", indent,
+                String.valueOf(ruleTable.isEnabled())));
+        result.add(String.format("%sconjunction: %s", indent,
+                toString(ruleTable.getConjunction())));
+        result.add(String.format("%sdisjunction: %s", indent,
+                toString(ruleTable.getDisjunction())));
+        result.add(String.format("%simplication: %s", indent,
+                toString(ruleTable.getImplication())));
+        result.add(String.format("%sactivation: %s", indent,
+                toString(ruleTable.getActivation())));
+        result.add(String.format("%sinput: %s", indent,
+                Op.join(ruleTable.getInputs(), " ")));
+        for (int o = 0; o < ruleTable.getOutputs().size(); ++o) {
+            OutputVariable outputVariable = ruleTable.getOutputVariable(o);
+            if (outputVariable.hasTerm("none")) {
+                throw new RuntimeException(String.format("[export error] "
+                        + "the output variable <%s> of the rule table <%s> cannot have "
+                        + "a term named <none>, which denotes the cells without a conclusion",
+                        outputVariable.getName(), ruleTable.getName()));
+            }
+            StringBuilder cells = new StringBuilder();
+            for (int term : ruleTable.getConsequents(o)) {
+                cells.append(" ").append(term == RuleTable.NONE
+                        ? "none" : outputVariable.getTerm(term).getName());
+            }
+            result.add(String.format("%soutput: %s%s", indent,
+                    outputVariable.getName(), cells.toString()));
+        }
+        return Op.join(result, separator);
+    }
+
     /**
      Returns a string representation of the Rule in the FuzzyLite Language
 
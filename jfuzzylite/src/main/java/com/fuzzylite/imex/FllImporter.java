@@ -31,6 +31,7 @@ import com.fuzzylite.norm.SNorm;
 import com.fuzzylite.norm.TNorm;
 import com.fuzzylite.rule.Rule;
 import com.fuzzylite.rule.RuleBlock;
+import com.fuzzylite.rule.RuleTable;
 import com.fuzzylite.term.Term;
 import com.fuzzylite.variable.InputVariable;
 import com.fuzzylite.variable.OutputVariable;
@@ -118,7 +119,8 @@ public class FllImporter extends Importer {
                 continue;
             } else if ("InputVariable".equals(key)
                     || "OutputVariable".equals(key)
-                    || "RuleBlock".equals(key)) {
+                    || "RuleBlock".equals(key)
+                    || "RuleTable".equals(key)) {
                 try {
                     process(tag, Op.join(block, "\n"), engine);
                 } catch (RuntimeException ex) {
@@ -157,6 +159,8 @@ public class FllImporter extends Importer {
             processOutputVariable(block, engine);
         } else if ("RuleBlock".equals(tag)) {
             processRuleBlock(block, engine);
+        } else if ("RuleTable".equals(tag)) {
+            processRuleTable(block, engine);
         } else {
             throw new RuntimeException("[import error] block tag <" + tag + "> "
                     + "not recognized");
@@ -285,6 +289,67 @@ public class FllImporter extends Importer {
         if (ruleBlock.getActivation() == null){
             ruleBlock.setActivation(new General());
         }
+        ruleBlock.shareExpressions();
+        reader.close();
+    }
+
+    protected void processRuleTable(String block, Engine engine) throws Exception {
+        BufferedReader reader = new BufferedReader(new StringReader(block));
+        String line;
+        RuleTable ruleTable = new RuleTable();
+        engine.addRuleBlock(ruleTable);
+        while ((line = reader.readLine()) != null) {
+            Pair<String, String> keyValue = parseKeyValue(line, ':');
+            if ("RuleTable".equals(keyValue.getFirst())) {
+                ruleTable.setName(keyValue.getSecond());
+            } else if ("description".equals(keyValue.getFirst())) {
+                ruleTable.setDescription(keyValue.getSecond());
+            } else if ("enabled".equals(keyValue.getFirst())) {
+                ruleTable.setEnabled(parseBoolean(keyValue.getSecond()));
+            } else if ("conjunction".equals(keyValue.getFirst())) {
+                ruleTable.setConjunction(parseTNorm(keyValue.getSecond()));
+            } else if ("disjunction".equals(keyValue.getFirst())) {
+                ruleTable.setDisjunction(parseSNorm(keyValue.getSecond()));
+            } else if ("implication".equals(keyValue.getFirst())) {
+                ruleTable.setImplication(parseTNorm(keyValue.getSecond()));
+            } else if ("activation".equals(keyValue.getFirst())) {
+                ruleTable.setActivation(parseActivation(keyValue.getSecond()));
+            } else if ("input".equals(keyValue.getFirst())) {
+                for (String input : Op.split(keyValue.getSecond(), " ")) {
+                    ruleTable.addInput(input);
+                }
+            } else if ("output".equals(keyValue.getFirst())) {
+                List<String> tokens = Op.split(keyValue.getSecond(), " ");
+                OutputVariable outputVariable = engine.getOutputVariable(tokens.get(0));
+                if (outputVariable.hasTerm("none")) {
+                    throw new RuntimeException("[import error] the output variable <"
+                            + outputVariable.getName() + "> of a rule table cannot have "
+                            + "a term named <none>, which denotes the cells without a conclusion");
+                }
+                int[] consequents = new int[tokens.size() - 1];
+                for (int i = 1; i < tokens.size(); ++i) {
+                    String term = tokens.get(i);
+                    if ("none".equals(term)) {
+                        consequents[i - 1] = RuleTable.NONE;
+                    } else if (outputVariable.hasTerm(term)) {
+                        consequents[i - 1] = outputVariable.getTerms().indexOf(
+                                outputVariable.getTerm(term));
+                    } else {
+                        throw new RuntimeException("[import error] term <" + term + "> "
+                                + "not found in output variable <" + outputVariable.getName() + ">");
+                    }
+                }
+                ruleTable.addOutput(outputVariable.getName(), consequents);
+            } else {
+                throw new RuntimeException("[import error] "
+                        + "key <" + keyValue.getFirst() + "> " + "not recognized in pair <"
+                        + Op.join(":", keyValue.getFirst(), keyValue.getSecond()) + ">");
+            }
+        }
+        if (ruleTable.getActivation() == null) {
+            ruleTable.setActivation(new General());
+        }
+        ruleTable.loadRules(engine);
         reader.close();
     }
 
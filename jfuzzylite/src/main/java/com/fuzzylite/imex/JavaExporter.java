@@ -26,9 +26,13 @@ import com.fuzzylite.defuzzifier.WeightedDefuzzifier;
 import com.fuzzylite.norm.Norm;
 import com.fuzzylite.rule.Rule;
 import com.fuzzylite.rule.RuleBlock;
+import com.fuzzylite.rule.RuleTable;
 import com.fuzzylite.term.Discrete;
 import com.fuzzylite.term.Function;
+import com.fuzzylite.term.LazyDiscrete;
+import com.fuzzylite.term.MappedDiscrete;
 import com.fuzzylite.term.Linear;
+import com.fuzzylite.term.Tabulated;
 import com.fuzzylite.term.Term;
 import com.fuzzylite.variable.InputVariable;
 import com.fuzzylite.variable.OutputVariable;
@@ -239,7 +243,12 @@ public class JavaExporter extends Exporter {
         result.append(String.format(
                 "%s.setActivation(%s);\n", name, toString(ruleBlock.getActivation())));
 
-        for (Rule rule : ruleBlock.getRules()) {
+        List<Rule> rules = ruleBlock.getRules();
+        if (ruleBlock instanceof RuleTable) {
+            //rule tables are exported as their equivalent rules
+            rules = ((RuleTable) ruleBlock).toRuleBlock(engine).getRules();
+        }
+        for (Rule rule : rules) {
             result.append(String.format("%s.addRule(Rule.parse(\"%s\", engine));\n",
                     name, rule.getText()));
         }
@@ -260,6 +269,12 @@ public class JavaExporter extends Exporter {
         if (term == null) {
             return "null";
         }
+        if (term instanceof Tabulated) {
+            term = ((Tabulated) term).toTerm();
+        }
+        if (term instanceof LazyDiscrete) {
+            term = ((LazyDiscrete) term).toDiscrete();
+        }
         if (term instanceof Discrete) {
             Discrete t = (Discrete) term;
             String result = String.format("%s.create(\"%s\", %s)",
@@ -267,6 +282,14 @@ public class JavaExporter extends Exporter {
                     Op.join(Discrete.toList(t.getXY()), ", "));
             return result;
         }
+        if (term instanceof MappedDiscrete) {
+            MappedDiscrete t = (MappedDiscrete) term;
+            String result = String.format("new %s(\"%s\", \"%s\", %s)",
+                    MappedDiscrete.class.getSimpleName(), term.getName(),
+                    t.getFile().replace("\\", "\\\\").replace("\"", "\\\""),
+                    Op.str(t.getHeight()));
+            return result;
+        }
         if (term instanceof Function) {
             Function t = (Function) term;
             String result = String.format("%s.create(\"%s\", \"%s\", engine)",
@@ -33,7 +33,9 @@ import com.fuzzylite.term.Function;
  */
 public final class TNormFunction extends TNorm {
 
+    private static final String[] PARAMETERS = new String[]{"a", "b"};
     private Function function;
+    private double[] arguments;
 
     public TNormFunction() {
         this("");
@@ -41,6 +43,7 @@ public final class TNormFunction extends TNorm {
 
     public TNormFunction(String formula) {
         this.function = new Function();
+        this.arguments = new double[PARAMETERS.length];
         this.function.getVariables().put("a", Double.NaN);
         this.function.getVariables().put("b", Double.NaN);
         if (!formula.isEmpty()) {
@@ -60,9 +63,9 @@ public final class TNormFunction extends TNorm {
      */
     @Override
     public double compute(double a, double b) {
-        this.function.getVariables().put("a", a);
-        this.function.getVariables().put("b", b);
-        return this.function.evaluate();
+        this.arguments[0] = a;
+        this.arguments[1] = b;
+        return this.function.evaluate(PARAMETERS, this.arguments);
     }
 
     /**
@@ -95,6 +98,7 @@ public final class TNormFunction extends TNorm {
     @Override
     public TNormFunction clone() throws CloneNotSupportedException {
         TNormFunction result = (TNormFunction) super.clone();
+        result.arguments = new double[PARAMETERS.length];
         if (this.function != null) {
             result.function = this.function.clone();
             try {
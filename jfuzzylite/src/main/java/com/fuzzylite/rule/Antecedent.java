@@ -25,6 +25,7 @@ import com.fuzzylite.hedge.Any;
 import com.fuzzylite.hedge.Hedge;
 import com.fuzzylite.norm.SNorm;
 import com.fuzzylite.norm.TNorm;
+import com.fuzzylite.norm.t.Minimum;
 import com.fuzzylite.term.Function;
 import com.fuzzylite.variable.OutputVariable;
 import com.fuzzylite.variable.Variable;
@@ -129,10 +130,66 @@ public class Antecedent {
      @return the activation degree of the antecedent
      */
     public double activationDegree(TNorm conjunction, SNorm disjunction, Expression node) {
+        return activationDegree(conjunction, disjunction, node, Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     Computes the activation degree of the antecedent on the expression tree
+     from the root node, stopping the computation as soon as the activation
+     degree is known to be smaller than the given minimum
+
+     @param conjunction is the conjunction operator from the RuleBlock
+     @param disjunction is the disjunction operator from the RuleBlock
+     @param minimum is the minimum activation degree of interest
+     @return the activation degree of the antecedent if it is greater than or
+     equal to the minimum, or otherwise a value smaller than the minimum that
+     is an upper bound of the activation degree
+     */
+    public double activationDegree(TNorm conjunction, SNorm disjunction, double minimum) {
+        return this.activationDegree(conjunction, disjunction, expression, minimum);
+    }
+
+    /**
+     Computes the activation degree of the antecedent on the expression tree
+     from the given node, stopping the computation as soon as the activation
+     degree is known to be smaller than the given minimum.
+
+     The bound is only utilized under Minimum conjunctions, whose result is
+     bounded by each of its operands: once an operand is smaller than the
+     minimum, the remaining operands are not computed. Disjunctions and other
+     conjunctions are computed in full.
+
+     @param conjunction is the conjunction operator from the RuleBlock
+     @param disjunction is the disjunction operator from the RuleBlock
+     @param node is a node in the expression tree of the antecedent
+     @param minimum is the minimum activation degree of interest
+     @return the activation degree of the antecedent if it is greater than or
+     equal to the minimum, or otherwise a value smaller than the minimum that
+     is an upper bound of the activation degree
+     */
+    public double activationDegree(TNorm conjunction, SNorm disjunction,
+            Expression node, double minimum) {
         if (!isLoaded()) {
             throw new RuntimeException(String.format(
                     "[antecedent error] antecedent <%s> is not loaded", text));
         }
+        if (node.memo != Expression.MEMO_DISABLED) {
+            if (node.memo == Expression.MEMO_SET) {
+                return node.memoDegree;
+            }
+            double result = computeActivationDegree(conjunction, disjunction, node, minimum);
+            //values below the minimum may be bounds rather than activation degrees
+            if (!(result < minimum)) {
+                node.memoDegree = result;
+                node.memo = Expression.MEMO_SET;
+            }
+            return result;
+        }
+        return computeActivationDegree(conjunction, disjunction, node, minimum);
+    }
+
+    private double computeActivationDegree(TNorm conjunction, SNorm disjunction,
+            Expression node, double minimum) {
         final Expression.Type expressionType = node.type();
         if (expressionType == Expression.Type.Proposition) {
             Proposition proposition = (Proposition) node;
@@ -179,9 +236,14 @@ public class Antecedent {
                     throw new RuntimeException(String.format("[conjunction error] "
                             + "the following rule requires a conjunction operator:\n%s", text));
                 }
-                return conjunction.compute(
-                        activationDegree(conjunction, disjunction, operator.getLeft()),
-                        activationDegree(conjunction, disjunction, operator.getRight()));
+                final double bound = conjunction instanceof Minimum
+                        ? minimum : Double.NEGATIVE_INFINITY;
+                double left = activationDegree(conjunction, disjunction, operator.getLeft(), bound);
+                if (left < bound) {
+                    return left;
+                }
+                return conjunction.compute(left,
+                        activationDegree(conjunction, disjunction, operator.getRight(), bound));
             }
             if (Rule.FL_OR.equals(operator.getName())) {
                 if (disjunction == null) {
@@ -18,6 +18,10 @@ package com.fuzzylite.rule;
 
 /**
  The Expression class is the base class to build an expression tree.
+ Expressions can be shared amongst the antecedents of the rules in a
+ RuleBlock (see RuleBlock::shareExpressions()), in which case the activation
+ degree of a shared expression is computed once per activation of the rule
+ block.
 
  @author Juan Rada-Vilela, Ph.D.
  @see Antecedent
@@ -31,6 +35,15 @@ public abstract class Expression {
         Proposition, Operator
     }
 
+    /**
+     States of the memo of an expression shared by several rules of a
+     RuleBlock, which is only enabled while the rule block is activated
+     */
+    static final byte MEMO_DISABLED = 0, MEMO_EMPTY = 1, MEMO_SET = 2;
+
+    byte memo = MEMO_DISABLED;
+    double memoDegree = Double.NaN;
+
     /**
      Returns the type of the expression
 
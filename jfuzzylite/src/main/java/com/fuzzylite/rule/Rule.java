@@ -243,6 +243,39 @@ public class Rule implements Op.Cloneable {
         return activationDegree;
     }
 
+    /**
+     Activates the rule by computing its activation degree using the given
+     conjunction and disjunction operators, stopping the computation of the
+     antecedent as soon as the activation degree is known to be smaller than
+     the given minimum. In such a case, the activation degree of the rule is
+     set to zero regardless of the order in which the antecedent is computed,
+     and the value returned is only an upper bound (smaller than the minimum)
+     of its actual value.
+
+     @param conjunction is the conjunction operator
+     @param disjunction is the disjunction operator
+     @param minimum is the minimum activation degree of interest
+     @return the activation degree of the rule if it is greater than or equal
+     to the minimum, or otherwise a value smaller than the minimum
+     */
+    public double activateWith(TNorm conjunction, SNorm disjunction, double minimum) {
+        if (!isLoaded()) {
+            throw new RuntimeException(String.format("[rule error] the following rule is not loaded: %s", text));
+        }
+        double antecedentMinimum = Double.NEGATIVE_INFINITY;
+        if (weight > 0.0) {
+            //lowers the bound by two ulps to absorb the rounding of the division
+            //and of the product with the weight
+            antecedentMinimum = minimum / weight;
+            antecedentMinimum -= 2.0 * Math.ulp(antecedentMinimum);
+        }
+        final double result = weight * antecedent.activationDegree(
+                conjunction, disjunction, antecedentMinimum);
+        //the upper bound of a pruned rule is not exposed as its activation degree
+        activationDegree = result < minimum ? 0.0 : result;
+        return result;
+    }
+
     /**
      Triggers the rule's implication (if the rule is enabled) using the given
      implication operator and the underlying activation degree
@@ -272,6 +305,15 @@ public class Rule implements Op.Cloneable {
         return triggered;
     }
 
+    /**
+     Sets whether the rule's implication was triggered
+
+     @param triggered indicates whether the rule's implication was triggered
+     */
+    public void setTriggered(boolean triggered) {
+        this.triggered = triggered;
+    }
+
     /**
      Indicates whether the rule is loaded
 
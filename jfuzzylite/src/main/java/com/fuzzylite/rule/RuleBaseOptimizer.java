@@ -0,0 +1,509 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite.rule;
+
+import com.fuzzylite.Engine;
+import com.fuzzylite.FuzzyLite;
+import com.fuzzylite.Op;
+import com.fuzzylite.activation.Activation;
+import com.fuzzylite.activation.General;
+import com.fuzzylite.activation.Threshold;
+import com.fuzzylite.defuzzifier.IntegralDefuzzifier;
+import com.fuzzylite.hedge.Any;
+import com.fuzzylite.hedge.Hedge;
+import com.fuzzylite.norm.SNorm;
+import com.fuzzylite.norm.TNorm;
+import com.fuzzylite.norm.s.Maximum;
+import com.fuzzylite.norm.t.AlgebraicProduct;
+import com.fuzzylite.norm.t.DrasticProduct;
+import com.fuzzylite.norm.t.Minimum;
+import com.fuzzylite.norm.t.NilpotentMinimum;
+import com.fuzzylite.term.Rectangle;
+import com.fuzzylite.term.Term;
+import com.fuzzylite.term.Trapezoid;
+import com.fuzzylite.term.Triangle;
+import com.fuzzylite.variable.OutputVariable;
+import com.fuzzylite.variable.Variable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ The RuleBaseOptimizer class removes the rules of an Engine that do not
+ contribute to its output values, which are:
+
+ - dead rules, whose antecedents are always zero because the supports of
+ their terms (Triangle, Trapezoid, and Rectangle) do not intersect the ranges
+ of their input variables;
+
+ - zero-weight rules;
+
+ - duplicate rules, whose antecedents, consequents and weights are equal to
+ those of a previous rule; and
+
+ - subsumed rules, whose antecedents are conjunctions of a superset of the
+ propositions of another rule with the same consequent and a weight greater
+ than or equal.
+
+ The resulting engine is equivalent to the original one for input values
+ within the ranges of the input variables. Duplicate rules are only removed
+ when triggering a rule twice does not change the results, that is, when the
+ rule block activates every rule (General or Threshold) and the output
+ variables aggregate with Maximum and defuzzify with an IntegralDefuzzifier.
+ Subsumed rules are further restricted to the Minimum conjunction, the
+ Minimum or AlgebraicProduct implications, consequents without hedges, and
+ Threshold comparisons `>` or `>=`.
+
+ @author Juan Rada-Vilela, Ph.D.
+ @see RuleBlock
+ @see Rule
+ @see Engine
+ @since 6.0
+ */
+public class RuleBaseOptimizer {
+
+    /**
+     The maximum number of propositions in an antecedent for which the
+     subsets of its propositions are searched for subsuming rules
+     */
+    public static final int MAXIMUM_PROPOSITIONS = 10;
+
+    /**
+     The Reason enumerates the reasons to remove a rule
+     */
+    public enum Reason {
+        Dead, ZeroWeight, Duplicate, Subsumed
+    }
+
+    /**
+     The Removal class reports a rule removed from a rule block, the reason of
+     its removal, and the rule that made it redundant (if any).
+     */
+    public static class Removal {
+
+        private final RuleBlock ruleBlock;
+        private final Rule rule;
+        private final Reason reason;
+        private final Rule redundantTo;
+
+        public Removal(RuleBlock ruleBlock, Rule rule, Reason reason, Rule redundantTo) {
+            this.ruleBlock = ruleBlock;
+            this.rule = rule;
+            this.reason = reason;
+            this.redundantTo = redundantTo;
+        }
+
+        /**
+         Gets the rule block from which the rule was removed
+
+         @return the rule block from which the rule was removed
+         */
+        public RuleBlock getRuleBlock() {
+            return ruleBlock;
+        }
+
+        /**
+         Gets the rule removed
+
+         @return the rule removed
+         */
+        public Rule getRule() {
+            return rule;
+        }
+
+        /**
+         Gets the reason of the removal
+
+         @return the reason of the removal
+         */
+        public Reason getReason() {
+            return reason;
+        }
+
+        /**
+         Gets the rule that makes the removed rule redundant, if any
+
+         @return the rule that makes the removed rule redundant (for duplicate
+         and subsumed rules), or null otherwise
+         */
+        public Rule getRedundantTo() {
+            return redundantTo;
+        }
+
+        @Override
+        public String toString() {
+            String result = String.format("[%s] %s: %s", reason.name(),
+                    ruleBlock.getName(), rule.getText());
+            if (redundantTo != null) {
+                result += " (redundant to: " + redundantTo.getText() + ")";
+            }
+            return result;
+        }
+    }
+
+    public RuleBaseOptimizer() {
+    }
+
+    /**
+     Removes the dead, zero-weight, duplicate, and subsumed rules from the
+     rule blocks of the engine. Rules that are not loaded or
+     not enabled are kept.
+
+     @param engine is the engine to optimize
+     @return the list of rules removed
+     */
+    public List<Removal> optimize(Engine engine) {
+        List<Removal> result = new ArrayList<Removal>();
+        for (RuleBlock ruleBlock : engine.getRuleBlocks()) {
+            result.addAll(optimize(ruleBlock));
+        }
+        return result;
+    }
+
+    /**
+     Removes the dead, zero-weight, duplicate, and subsumed rules from the
+     rule block. Rules that are not loaded or
+     not enabled are kept.
+
+     @param ruleBlock is the rule block to optimize
+     @return the list of rules removed
+     */
+    public List<Removal> optimize(RuleBlock ruleBlock) {
+        List<Removal> removals = new ArrayList<Removal>();
+        final boolean duplicates = removesDuplicates(ruleBlock);
+        final boolean subsumptions = duplicates && removesSubsumptions(ruleBlock);
+        //map from antecedent-consequent key to the first rule with highest weight
+        Map<String, Rule> keys = new HashMap<String, Rule>();
+        Map<Rule, String> consequents = new HashMap<Rule, String>();
+        Map<Rule, List<String>> propositions = new HashMap<Rule, List<String>>();
+
+        List<Rule> candidates = new ArrayList<Rule>();
+        for (Rule rule : ruleBlock.getRules()) {
+            //disabled rules are neither removed nor considered to make other
+            //rules redundant
+            if (!rule.isLoaded() || !rule.isEnabled()) {
+                continue;
+            }
+            if (rule.getWeight() == 0.0) {
+                removals.add(new Removal(ruleBlock, rule, Reason.ZeroWeight, null));
+                continue;
+            }
+            if (isZero(rule.getAntecedent().getExpression(),
+                    ruleBlock.getConjunction(), ruleBlock.getDisjunction())) {
+                removals.add(new Removal(ruleBlock, rule, Reason.Dead, null));
+                continue;
+            }
+            if (duplicates && isDuplicable(rule)) {
+                String consequent = rule.getConsequent().toString();
+                List<String> conjuncts = null;
+                if (ruleBlock.getConjunction() instanceof Minimum) {
+                    conjuncts = conjuncts(rule.getAntecedent().getExpression(),
+                            new ArrayList<String>());
+                }
+                String key;
+                if (conjuncts != null) {
+                    Collections.sort(conjuncts);
+                    key = consequent + "|and|" + Op.join(conjuncts, "|");
+                    propositions.put(rule, conjuncts);
+                } else {
+                    key = consequent + "|" + rule.getAntecedent().toPrefix();
+                }
+                consequents.put(rule, consequent);
+                Rule best = keys.get(key);
+                if (best == null || (subsumptions && rule.getWeight() > best.getWeight())) {
+                    keys.put(key, rule);
+                }
+                candidates.add(rule);
+            }
+        }
+
+        for (Rule rule : candidates) {
+            String consequent = consequents.get(rule);
+            List<String> conjuncts = propositions.get(rule);
+            String key = conjuncts != null
+                    ? consequent + "|and|" + Op.join(conjuncts, "|")
+                    : consequent + "|" + rule.getAntecedent().toPrefix();
+            Rule best = keys.get(key);
+            if (best != rule) {
+                if (best.getWeight() == rule.getWeight()) {
+                    removals.add(new Removal(ruleBlock, rule, Reason.Duplicate, best));
+                    continue;
+                } else if (subsumptions && best.getWeight() > rule.getWeight()) {
+                    removals.add(new Removal(ruleBlock, rule, Reason.Subsumed, best));
+                    continue;
+                }
+            }
+            if (subsumptions && conjuncts != null && hasNoHedges(rule.getConsequent())
+                    && conjuncts.size() <= MAXIMUM_PROPOSITIONS) {
+                Rule subsuming = findSubsuming(rule, consequent, conjuncts, keys);
+                if (subsuming != null) {
+                    removals.add(new Removal(ruleBlock, rule, Reason.Subsumed, subsuming));
+                }
+            }
+        }
+
+        if (!removals.isEmpty()) {
+            Map<Rule, Removal> removed = new IdentityHashMap<Rule, Removal>();
+            for (Removal removal : removals) {
+                removed.put(removal.getRule(), removal);
+            }
+            //reports the removals in the order of the rules
+            removals.clear();
+            for (Iterator<Rule> it = ruleBlock.getRules().iterator(); it.hasNext();) {
+                Removal removal = removed.get(it.next());
+                if (removal != null) {
+                    if (FuzzyLite.isDebugging()) {
+                        FuzzyLite.logger().log(Level.FINE, "Removing rule {0}", removal);
+                    }
+                    removals.add(removal);
+                    it.remove();
+                }
+            }
+        }
+        return removals;
+    }
+
+    /**
+     Finds a rule whose antecedent is a conjunction of a proper subset of the
+     given propositions, with the same consequent and a weight greater than or
+     equal to the weight of the given rule
+
+     @param rule is the rule to find a subsuming rule for
+     @param consequent is the consequent of the rule
+     @param conjuncts is the sorted list of propositions of the rule
+     @param keys is the map from antecedent-consequent keys to rules
+     @return the subsuming rule, or null if none
+     */
+    protected Rule findSubsuming(Rule rule, String consequent,
+            List<String> conjuncts, Map<String, Rule> keys) {
+        final int size = conjuncts.size();
+        final int all = (1 << size) - 1;
+        List<String> subset = new ArrayList<String>(size);
+        for (int mask = 1; mask < all; ++mask) {
+            subset.clear();
+            for (int i = 0; i < size; ++i) {
+                if ((mask & (1 << i)) != 0) {
+                    subset.add(conjuncts.get(i));
+                }
+            }
+            Rule candidate = keys.get(consequent + "|and|" + Op.join(subset, "|"));
+            if (candidate != null && candidate != rule
+                    && candidate.getWeight() >= rule.getWeight()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     Indicates whether triggering a rule of the block twice produces the same
+     results as triggering it once, which is the case when the rule block
+     activates every rule
+
+     @param ruleBlock is the rule block
+     @return whether duplicate rules can be removed from the rule block
+     */
+    protected boolean removesDuplicates(RuleBlock ruleBlock) {
+        Activation activation = ruleBlock.getActivation();
+        return activation == null || activation instanceof General
+                || activation instanceof Threshold;
+    }
+
+    /**
+     Indicates whether rules with smaller activation degrees than others with
+     the same consequents can be removed from the rule block, which is the case
+     when the conjunction is Minimum, the implication is monotonic, and the
+     activation method activates the rules with higher activation degrees
+
+     @param ruleBlock is the rule block
+     @return whether subsumed rules can be removed from the rule block
+     */
+    protected boolean removesSubsumptions(RuleBlock ruleBlock) {
+        if (!(ruleBlock.getConjunction() instanceof Minimum)) {
+            return false;
+        }
+        TNorm implication = ruleBlock.getImplication();
+        if (!(implication instanceof Minimum || implication instanceof AlgebraicProduct)) {
+            return false;
+        }
+        Activation activation = ruleBlock.getActivation();
+        if (activation instanceof Threshold) {
+            Threshold.Comparison comparison = ((Threshold) activation).getComparison();
+            return comparison == Threshold.Comparison.GreaterThan
+                    || comparison == Threshold.Comparison.GreaterThanOrEqualTo;
+        }
+        return true;
+    }
+
+    /**
+     Indicates whether the output variables in the consequent of the rule
+     aggregate with Maximum and defuzzify with an IntegralDefuzzifier, such
+     that a duplicate of the rule does not change the results
+
+     @param rule is the rule
+     @return whether a duplicate of the rule does not change the results
+     */
+    protected boolean isDuplicable(Rule rule) {
+        for (Proposition proposition : rule.getConsequent().getConclusions()) {
+            OutputVariable outputVariable = (OutputVariable) proposition.getVariable();
+            if (!(outputVariable.getAggregation() instanceof Maximum
+                    && outputVariable.getDefuzzifier() instanceof IntegralDefuzzifier)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasNoHedges(Consequent consequent) {
+        for (Proposition proposition : consequent.getConclusions()) {
+            if (!proposition.getHedges().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     Collects the propositions of an expression made only of conjunctions
+
+     @param node is the expression
+     @param result is the list where the propositions are collected
+     @return the list of propositions, or null if the expression contains
+     operators other than conjunctions
+     */
+    private static List<String> conjuncts(Expression node, List<String> result) {
+        if (node instanceof Proposition) {
+            result.add(node.toString());
+            return result;
+        }
+        if (node instanceof Operator) {
+            Operator operator = (Operator) node;
+            if (Rule.FL_AND.equals(operator.getName())
+                    && conjuncts(operator.getLeft(), result) != null
+                    && conjuncts(operator.getRight(), result) != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     Indicates whether the expression is always zero for input values within
+     the ranges of the input variables
+
+     @param node is the expression
+     @param conjunction is the conjunction operator
+     @param disjunction is the disjunction operator
+     @return whether the expression is always zero
+     */
+    protected boolean isZero(Expression node, TNorm conjunction, SNorm disjunction) {
+        if (node instanceof Proposition) {
+            return isZero((Proposition) node);
+        }
+        if (node instanceof Operator) {
+            Operator operator = (Operator) node;
+            if (Rule.FL_AND.equals(operator.getName())) {
+                return isAbsorbedByZero(conjunction)
+                        && (isZero(operator.getLeft(), conjunction, disjunction)
+                        || isZero(operator.getRight(), conjunction, disjunction));
+            }
+            if (Rule.FL_OR.equals(operator.getName())) {
+                return disjunction != null
+                        && isZero(operator.getLeft(), conjunction, disjunction)
+                        && isZero(operator.getRight(), conjunction, disjunction)
+                        && disjunction.compute(0.0, 0.0) == 0.0;
+            }
+        }
+        return false;
+    }
+
+    /**
+     Indicates whether the proposition is always zero for input values within
+     the range of its input variable, which is the case when the support of
+     its term does not intersect the range of the variable and its hedges
+     keep zero as zero
+
+     @param proposition is the proposition
+     @return whether the proposition is always zero
+     */
+    protected boolean isZero(Proposition proposition) {
+        Variable variable = proposition.getVariable();
+        if (variable.type() != Variable.Type.Input || proposition.getTerm() == null) {
+            return false;
+        }
+        double degree = 0.0;
+        for (int i = proposition.getHedges().size() - 1; i >= 0; --i) {
+            Hedge hedge = proposition.getHedges().get(i);
+            if (hedge instanceof Any) {
+                return false;
+            }
+            degree = hedge.hedge(degree);
+        }
+        return degree == 0.0 && isOutside(proposition.getTerm(),
+                variable.getMinimum(), variable.getMaximum());
+    }
+
+    /**
+     Indicates whether the membership function of the term is zero within the
+     given range
+
+     @param term is the term
+     @param minimum is the minimum value of the range
+     @param maximum is the maximum value of the range
+     @return whether the membership function of the term is zero within the
+     range
+     */
+    public static boolean isOutside(Term term, double minimum, double maximum) {
+        double start, end;
+        if (term instanceof Triangle) {
+            Triangle triangle = (Triangle) term;
+            start = triangle.getVertexA();
+            end = triangle.getVertexC();
+        } else if (term instanceof Trapezoid) {
+            Trapezoid trapezoid = (Trapezoid) term;
+            start = trapezoid.getVertexA();
+            end = trapezoid.getVertexD();
+        } else if (term instanceof Rectangle) {
+            Rectangle rectangle = (Rectangle) term;
+            start = rectangle.getStart();
+            end = rectangle.getEnd();
+        } else {
+            return false;
+        }
+        return term.getHeight() == 0.0 || Op.isLt(end, minimum) || Op.isGt(start, maximum);
+    }
+
+    /**
+     Indicates whether the conjunction of zero with any membership value in
+     `[0,1]` is zero
+
+     @param conjunction is the conjunction operator
+     @return whether the conjunction of zero with any membership value is zero
+     */
+    static boolean isAbsorbedByZero(TNorm conjunction) {
+        return conjunction instanceof Minimum
+                || conjunction instanceof AlgebraicProduct
+                || conjunction instanceof DrasticProduct
+                || conjunction instanceof NilpotentMinimum;
+    }
+}
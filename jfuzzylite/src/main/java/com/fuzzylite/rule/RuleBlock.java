@@ -20,11 +20,18 @@ import com.fuzzylite.Engine;
 import com.fuzzylite.Op;
 import com.fuzzylite.activation.Activation;
 import com.fuzzylite.activation.General;
+import com.fuzzylite.hedge.Hedge;
+import com.fuzzylite.hedge.HedgeFunction;
 import com.fuzzylite.imex.FllExporter;
 import com.fuzzylite.norm.SNorm;
 import com.fuzzylite.norm.TNorm;
+import com.fuzzylite.variable.Variable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  The RuleBlock class contains a set of Rule%s and fuzzy logic operators required
@@ -47,6 +54,7 @@ public class RuleBlock implements Op.Cloneable {
     private TNorm implication;
     private Activation activation;
     private List<Rule> rules;
+    private List<Expression> sharedExpressions;
 
     public RuleBlock() {
         this("");
@@ -57,6 +65,7 @@ public class RuleBlock implements Op.Cloneable {
         this.name = name;
         this.description = "";
         this.rules = new ArrayList<Rule>();
+        this.sharedExpressions = new ArrayList<Expression>();
     }
 
     /**
@@ -66,7 +75,101 @@ public class RuleBlock implements Op.Cloneable {
         if (activation == null) {
             activation = new General();
         }
-        activation.activate(this);
+        if (sharedExpressions.isEmpty()) {
+            activation.activate(this);
+            return;
+        }
+        setMemo(Expression.MEMO_EMPTY);
+        try {
+            activation.activate(this);
+        } finally {
+            setMemo(Expression.MEMO_DISABLED);
+        }
+    }
+
+    private void setMemo(byte memo) {
+        for (Expression expression : sharedExpressions) {
+            expression.memo = memo;
+        }
+    }
+
+    /**
+     Shares the equal expressions amongst the antecedents of the loaded rules,
+     such that each distinct proposition and each distinct operator (on
+     distinct operands) is represented by a single Expression. While the rule
+     block is activated, the activation degree of an expression shared by
+     several rules is computed once and reused by the other rules. Expressions
+     involving output variables are not reused, as their activation degrees
+     change while the rule block is activated.
+
+     The expressions are shared when the rules are loaded by means of
+     RuleBlock::loadRules() and when the rule blocks are imported by the
+     FllImporter, FclImporter and FisImporter, and need to be shared again
+     after rules are added or loaded individually.
+
+     @return the number of expressions that are no longer needed
+     */
+    public int shareExpressions() {
+        setMemo(Expression.MEMO_DISABLED);
+        sharedExpressions.clear();
+        Map<List<Object>, Expression> pool = new HashMap<List<Object>, Expression>();
+        Map<Expression, Integer> references = new IdentityHashMap<Expression, Integer>();
+        Map<Expression, Boolean> reusable = new IdentityHashMap<Expression, Boolean>();
+        int[] replaced = new int[]{0};
+        for (Rule rule : rules) {
+            if (rule.isLoaded()) {
+                Antecedent antecedent = rule.getAntecedent();
+                antecedent.setExpression(share(antecedent.getExpression(),
+                        pool, references, reusable, replaced));
+            }
+        }
+        for (Map.Entry<Expression, Integer> entry : references.entrySet()) {
+            if (entry.getValue() > 1 && reusable.containsKey(entry.getKey())) {
+                sharedExpressions.add(entry.getKey());
+            }
+        }
+        return replaced[0];
+    }
+
+    private Expression share(Expression node, Map<List<Object>, Expression> pool,
+            Map<Expression, Integer> references, Map<Expression, Boolean> reusable,
+            int[] replaced) {
+        List<Object> key;
+        boolean isReusable;
+        if (node instanceof Proposition) {
+            Proposition proposition = (Proposition) node;
+            key = new ArrayList<Object>(2 + proposition.getHedges().size());
+            key.add(proposition.getVariable());
+            key.add(proposition.getTerm());
+            for (Hedge hedge : proposition.getHedges()) {
+                //hedge functions are only equal to themselves
+                key.add(hedge instanceof HedgeFunction ? hedge : hedge.getClass());
+            }
+            isReusable = proposition.getVariable().type() == Variable.Type.Input;
+        } else if (node instanceof Operator) {
+            Operator operator = (Operator) node;
+            Expression left = share(operator.getLeft(), pool, references, reusable, replaced);
+            Expression right = share(operator.getRight(), pool, references, reusable, replaced);
+            operator.setLeft(left);
+            operator.setRight(right);
+            key = Arrays.<Object>asList(operator.getName(), left, right);
+            isReusable = reusable.containsKey(left) && reusable.containsKey(right);
+        } else {
+            return node;
+        }
+        Expression shared = pool.get(key);
+        if (shared == null) {
+            shared = node;
+            pool.put(key, node);
+            if (isReusable) {
+                reusable.put(node, Boolean.TRUE);
+            }
+        } else if (shared != node) {
+            ++replaced[0];
+        }
+        Integer count = references.get(shared);
+        references.put(shared, count == null ? 1 : count + 1);
+        return shared;
     }
 
     /**
@@ -79,7 +182,8 @@ public class RuleBlock implements Op.Cloneable {
     }
 
     /**
-     Loads all the rules into the rule block
+     Loads all the rules into the rule block and shares the equal expressions
+     amongst their antecedents
 
      @param engine is the engine where this rule block is registered
      */
@@ -95,6 +199,7 @@ public class RuleBlock implements Op.Cloneable {
                 exceptions.add(String.format("[%s]: %s", rule.getText(), ex.toString()));
             }
         }
+        shareExpressions();
         if (!exceptions.isEmpty()) {
             throw new RuntimeException("[ruleblock error] the following "
                     + "rules could not be loaded:\n" + Op.join(exceptions, "\n"));
@@ -264,6 +369,10 @@ public class RuleBlock implements Op.Cloneable {
         if (this.implication != null) {
             result.implication = this.implication.clone();
         }
+        if (this.activation != null) {
+            result.activation = this.activation.clone();
+        }
+        result.sharedExpressions = new ArrayList<Expression>();
         result.rules = new ArrayList<Rule>(this.rules.size());
         for (Rule rule : this.rules) {
             result.addRule(rule.clone());
@@ -285,6 +394,9 @@ public class RuleBlock implements Op.Cloneable {
      Adds the given rule to the rule block
 
      @param rule is the rule to add
+     @throws UnsupportedOperationException if the rule block does not accept
+     rules, as is the case of the RuleTable, whose rules are defined by its
+     cells (see RuleTable::toRuleBlock())
      */
     public void addRule(Rule rule) {
         this.rules.add(rule);
@@ -310,7 +422,8 @@ public class RuleBlock implements Op.Cloneable {
     }
 
     /**
-     Returns the list of rules added to the rule block
+     Returns the list of rules added to the rule block, which is unmodifiable
+     if the rule block does not accept rules (e.g., RuleTable)
 
      @return the list of rules added to the rule block
      */
@@ -322,6 +435,8 @@ public class RuleBlock implements Op.Cloneable {
      Sets the rules of the rule block
 
      @param rules is a vector of rules
+     @throws UnsupportedOperationException if the rule block does not accept
+     rules (e.g., RuleTable)
      */
     public void setRules(List<Rule> rules) {
         this.rules = rules;
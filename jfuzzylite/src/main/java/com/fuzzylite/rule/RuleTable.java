@@ -0,0 +1,710 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite.rule;
+
+import com.fuzzylite.Engine;
+import com.fuzzylite.FuzzyLite;
+import com.fuzzylite.Op;
+import com.fuzzylite.activation.General;
+import com.fuzzylite.norm.TNorm;
+import com.fuzzylite.norm.t.Minimum;
+import com.fuzzylite.term.Activated;
+import com.fuzzylite.term.Term;
+import com.fuzzylite.variable.InputVariable;
+import com.fuzzylite.variable.OutputVariable;
+import com.fuzzylite.variable.Variable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ The RuleTable class is a RuleBlock that represents a grid of rules in the
+ form `if i_1 is t_1 and ... and i_n is t_n then o_1 is u_1 and ... and o_m
+ is u_m`, where each combination of the terms of the input variables
+ `(t_1,...,t_n)` corresponds to a cell of the table, and each cell stores the
+ index of the term `u_j` of each output variable `o_j` (or `-1` if the cell
+ has no conclusion for the output variable).
+
+ The cells are stored in row-major order, that is, the terms of the last input
+ variable vary the fastest, and they refer to the terms of the variables by
+ their index in the list of terms. Hence, the terms of the variables must not
+ be reordered once the table has been created.
+
+ The rule table is activated by computing the conjunction (from left to right)
+ of the membership functions of only those combinations of terms whose
+ membership values are not zero, such that the cost of activating the table
+ depends on the number of active cells rather than on the number of cells.
+ The results are equal to those of the equivalent rule block utilizing the
+ General activation method and rules with a weight of 1.0, which is the only
+ activation method supported by the rule table.
+
+ @author Juan Rada-Vilela, Ph.D.
+ @see RuleBlock
+ @see Rule
+ @see General
+ @since 6.0
+ */
+public class RuleTable extends RuleBlock {
+
+    /**
+     Value of the cells without a conclusion for an output variable
+     */
+    public static final int NONE = -1;
+
+    private List<String> inputs;
+    private List<String> outputs;
+    private List<int[]> consequents;
+    private InputVariable[] inputVariables;
+    private OutputVariable[] outputVariables;
+    private int[] strides;
+    private int[][] activeTerms;
+    private double[][] activeDegrees;
+    private int[] activeCounts;
+
+    public RuleTable() {
+        this("");
+    }
+
+    public RuleTable(String name) {
+        super(name);
+        this.inputs = new ArrayList<String>();
+        this.outputs = new ArrayList<String>();
+        this.consequents = new ArrayList<int[]>();
+    }
+
+    /**
+     Rejects the rule because the rules of the table are defined by its cells,
+     which are set via RuleTable::addOutput() and RuleTable::setConsequent().
+     Rules can be added to the rule block obtained by
+     RuleTable::toRuleBlock() instead.
+
+     @param rule is the rule to add
+     @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addRule(Rule rule) {
+        throw new UnsupportedOperationException(String.format(
+                "[ruletable error] the rule table <%s> cannot add the rule <%s>, "
+                + "but only set the consequents of its cells", getName(),
+                rule == null ? "null" : rule.getText()));
+    }
+
+    /**
+     Returns an empty and unmodifiable list, because the rules of the table
+     are defined by its cells
+
+     @return an empty and unmodifiable list
+     */
+    @Override
+    public List<Rule> getRules() {
+        return Collections.unmodifiableList(super.getRules());
+    }
+
+    /**
+     Rejects the rules unless there are none, because the rules of the table
+     are defined by its cells
+
+     @param rules is the list of rules, which must be empty
+     @throws UnsupportedOperationException if the list of rules is not empty
+     */
+    @Override
+    public void setRules(List<Rule> rules) {
+        if (!rules.isEmpty()) {
+            throw new UnsupportedOperationException(String.format(
+                    "[ruletable error] the rule table <%s> cannot set rules, "
+                    + "but only the consequents of its cells", getName()));
+        }
+        super.setRules(rules);
+    }
+
+    /**
+     Adds the input variable of the given name as the next dimension of the
+     table
+
+     @param name is the name of the input variable
+     */
+    public void addInput(String name) {
+        this.inputs.add(name);
+    }
+
+    /**
+     Gets the names of the input variables of the table
+
+     @return the names of the input variables of the table
+     */
+    public List<String> getInputs() {
+        return this.inputs;
+    }
+
+    /**
+     Adds the output variable of the given name together with the indexes of
+     its terms for each cell of the table
+
+     @param name is the name of the output variable
+     @param consequents is the index of the term of the output variable for
+     each cell (or RuleTable::NONE for no conclusion) in row-major order
+     */
+    public void addOutput(String name, int[] consequents) {
+        this.outputs.add(name);
+        this.consequents.add(consequents);
+    }
+
+    /**
+     Gets the names of the output variables of the table
+
+     @return the names of the output variables of the table
+     */
+    public List<String> getOutputs() {
+        return this.outputs;
+    }
+
+    /**
+     Gets the indexes of the terms of the output variable at the given index
+     for each cell of the table in row-major order
+
+     @param output is the index of the output variable in the table
+     @return the indexes of the terms of the output variable for each cell
+     */
+    public int[] getConsequents(int output) {
+        return this.consequents.get(output);
+    }
+
+    /**
+     Gets the index of the term of the given output variable at the given cell
+
+     @param output is the index of the output variable in the table
+     @param cell is the index of the cell
+     @return the index of the term (or RuleTable::NONE)
+     */
+    public int getConsequent(int output, int cell) {
+        return this.consequents.get(output)[cell];
+    }
+
+    /**
+     Sets the index of the term of the given output variable at the given cell
+
+     @param output is the index of the output variable in the table
+     @param cell is the index of the cell
+     @param term is the index of the term (or RuleTable::NONE)
+     */
+    public void setConsequent(int output, int cell, int term) {
+        this.consequents.get(output)[cell] = term;
+    }
+
+    /**
+     Gets the number of cells of the table
+
+     @return the number of cells of the table
+     */
+    public int numberOfCells() {
+        return this.consequents.isEmpty() ? 0 : this.consequents.get(0).length;
+    }
+
+    /**
+     Gets the index of the cell that corresponds to the given indexes of the
+     terms of the input variables. The table must be loaded.
+
+     @param terms is the index of the term of each input variable
+     @return the index of the cell
+     */
+    public int cellOf(int... terms) {
+        if (!isLoaded()) {
+            throw new RuntimeException(String.format(
+                    "[ruletable error] the rule table <%s> is not loaded", getName()));
+        }
+        if (terms.length != strides.length) {
+            throw new RuntimeException(String.format(
+                    "[ruletable error] expected <%d> term indexes, but found <%d>",
+                    strides.length, terms.length));
+        }
+        int cell = 0;
+        for (int i = 0; i < terms.length; ++i) {
+            cell += terms[i] * strides[i];
+        }
+        return cell;
+    }
+
+    /**
+     Indicates whether the variables of the table are loaded
+
+     @return whether the variables of the table are loaded
+     */
+    public boolean isLoaded() {
+        return this.inputVariables != null;
+    }
+
+    /**
+     Gets the input variable of the table at the given index. The table must be
+     loaded.
+
+     @param index is the index of the input variable in the table
+     @return the input variable of the table at the given index
+     */
+    public InputVariable getInputVariable(int index) {
+        return this.inputVariables[index];
+    }
+
+    /**
+     Gets the output variable of the table at the given index. The table must be
+     loaded.
+
+     @param index is the index of the output variable in the table
+     @return the output variable of the table at the given index
+     */
+    public OutputVariable getOutputVariable(int index) {
+        return this.outputVariables[index];
+    }
+
+    /**
+     Unloads the variables of the table
+     */
+    @Override
+    public void unloadRules() {
+        this.inputVariables = null;
+        this.outputVariables = null;
+        this.strides = null;
+        this.activeTerms = null;
+        this.activeDegrees = null;
+        this.activeCounts = null;
+    }
+
+    /**
+     Loads the variables of the table from the given engine and verifies that
+     the number of cells corresponds to the terms of the input variables
+
+     @param engine is the engine where this rule table is registered
+     */
+    @Override
+    public void loadRules(Engine engine) {
+        unloadRules();
+        if (inputs.isEmpty()) {
+            throw new RuntimeException(String.format(
+                    "[ruletable error] the rule table <%s> has no input variables", getName()));
+        }
+        InputVariable[] loadedInputs = new InputVariable[inputs.size()];
+        int[] loadedStrides = new int[inputs.size()];
+        long cells = 1;
+        for (int i = inputs.size() - 1; i >= 0; --i) {
+            loadedInputs[i] = engine.getInputVariable(inputs.get(i));
+            loadedStrides[i] = (int) cells;
+            cells *= loadedInputs[i].numberOfTerms();
+            if (cells > Integer.MAX_VALUE) {
+                throw new RuntimeException(String.format(
+                        "[ruletable error] the rule table <%s> has too many cells", getName()));
+            }
+        }
+        OutputVariable[] loadedOutputs = new OutputVariable[outputs.size()];
+        for (int i = 0; i < outputs.size(); ++i) {
+            loadedOutputs[i] = engine.getOutputVariable(outputs.get(i));
+            int[] cellTerms = consequents.get(i);
+            if (cellTerms.length != cells) {
+                throw new RuntimeException(String.format(
+                        "[ruletable error] expected <%d> cells for output variable <%s> "
+                        + "in rule table <%s>, but found <%d>",
+                        cells, outputs.get(i), getName(), cellTerms.length));
+            }
+            for (int cell = 0; cell < cellTerms.length; ++cell) {
+                if (cellTerms[cell] < NONE || cellTerms[cell] >= loadedOutputs[i].numberOfTerms()) {
+                    throw new RuntimeException(String.format(
+                            "[ruletable error] term index <%d> at cell <%d> is not valid "
+                            + "for output variable <%s> in rule table <%s>",
+                            cellTerms[cell], cell, outputs.get(i), getName()));
+                }
+            }
+        }
+        this.inputVariables = loadedInputs;
+        this.outputVariables = loadedOutputs;
+        this.strides = loadedStrides;
+        this.activeTerms = new int[loadedInputs.length][];
+        this.activeDegrees = new double[loadedInputs.length][];
+        for (int i = 0; i < loadedInputs.length; ++i) {
+            this.activeTerms[i] = new int[loadedInputs[i].numberOfTerms()];
+            this.activeDegrees[i] = new double[loadedInputs[i].numberOfTerms()];
+        }
+        this.activeCounts = new int[loadedInputs.length];
+    }
+
+    /**
+     Activates the cells of the table whose terms have non-zero membership
+     values and triggers their conclusions
+     */
+    @Override
+    public void activate() {
+        if (!isLoaded()) {
+            throw new RuntimeException(String.format(
+                    "[ruletable error] the rule table <%s> is not loaded", getName()));
+        }
+        if (getActivation() != null && !(getActivation() instanceof General)) {
+            throw new RuntimeException(String.format(
+                    "[ruletable error] the rule table <%s> only supports the General "
+                    + "activation, but found <%s>", getName(),
+                    getActivation().getClass().getSimpleName()));
+        }
+        final TNorm conjunction = getConjunction();
+        if (inputVariables.length > 1 && conjunction == null) {
+            throw new RuntimeException(String.format("[conjunction error] "
+                    + "the rule table <%s> requires a conjunction operator", getName()));
+        }
+        if (FuzzyLite.isDebugging()) {
+            FuzzyLite.logger().log(Level.FINE, "Rule table: {0}", getName());
+        }
+        final boolean single = inputVariables.length == 1;
+        for (int i = 0; i < inputVariables.length; ++i) {
+            final InputVariable inputVariable = inputVariables[i];
+            final int[] terms = activeTerms[i];
+            final double[] degrees = activeDegrees[i];
+            int count = 0;
+            if (inputVariable.isEnabled()) {
+                final double value = inputVariable.getValue();
+                for (int t = 0; t < terms.length; ++t) {
+                    double membership = inputVariable.getTerm(t).membership(value);
+                    if (!isNegligible(membership, conjunction, single)) {
+                        terms[count] = t;
+                        degrees[count] = membership;
+                        ++count;
+                    }
+                }
+            } else if (!isNegligible(0.0, conjunction, single)) {
+                //propositions on disabled variables have a membership of zero
+                for (int t = 0; t < terms.length; ++t) {
+                    terms[count] = t;
+                    degrees[count] = 0.0;
+                    ++count;
+                }
+            }
+            if (count == 0) {
+                return;
+            }
+            activeCounts[i] = count;
+        }
+        activate(0, 0, Double.NaN, conjunction, getImplication());
+    }
+
+    /**
+     Indicates whether every cell involving the given membership value has an
+     activation degree that is not greater than zero. A NaN membership is never
+     negligible because the Minimum conjunction ignores NaN values.
+     */
+    private static boolean isNegligible(double membership, TNorm conjunction, boolean single) {
+        if (single || conjunction instanceof Minimum) {
+            return !Double.isNaN(membership) && !Op.isGt(membership, 0.0);
+        }
+        return membership == 0.0 && RuleBaseOptimizer.isAbsorbedByZero(conjunction);
+    }
+
+    private void activate(int input, int cell, double degree, TNorm conjunction, TNorm implication) {
+        final int[] terms = activeTerms[input];
+        final double[] degrees = activeDegrees[input];
+        final int stride = strides[input];
+        final boolean last = input + 1 == inputVariables.length;
+        for (int k = 0; k < activeCounts[input]; ++k) {
+            final double activationDegree = input == 0 ? degrees[k]
+                    : conjunction.compute(degree, degrees[k]);
+            final int next = cell + terms[k] * stride;
+            if (last) {
+                trigger(next, activationDegree, implication);
+            } else {
+                activate(input + 1, next, activationDegree, conjunction, implication);
+            }
+        }
+    }
+
+    private void trigger(int cell, double activationDegree, TNorm implication) {
+        if (!Op.isGt(activationDegree, 0.0)) {
+            return;
+        }
+        for (int o = 0; o < outputVariables.length; ++o) {
+            final int term = consequents.get(o)[cell];
+            final OutputVariable outputVariable = outputVariables[o];
+            if (term != NONE && outputVariable.isEnabled()) {
+                Activated activated = new Activated(outputVariable.getTerm(term),
+                        activationDegree, implication);
+                outputVariable.fuzzyOutput().getTerms().add(activated);
+                if (FuzzyLite.isDebugging()) {
+                    FuzzyLite.logger().log(Level.FINE, "[firing cell {0} with {1}] {2}",
+                            new String[]{String.valueOf(cell), Op.str(activationDegree),
+                                activated.toString()});
+                }
+            }
+        }
+    }
+
+    /**
+     Creates a rule block with the rules equivalent to the cells of the table
+     that have at least one conclusion. The rules of the resulting rule block
+     are loaded in the given engine, but the rule block is not added to it.
+
+     @param engine is the engine where this rule table is registered
+     @return a rule block with the rules equivalent to the cells of the table
+     */
+    public RuleBlock toRuleBlock(Engine engine) {
+        List<InputVariable> loadedInputs = new ArrayList<InputVariable>(inputs.size());
+        for (String input : inputs) {
+            loadedInputs.add(engine.getInputVariable(input));
+        }
+        List<OutputVariable> loadedOutputs = new ArrayList<OutputVariable>(outputs.size());
+        for (String output : outputs) {
+            loadedOutputs.add(engine.getOutputVariable(output));
+        }
+        RuleBlock result = toRuleBlock(loadedInputs, loadedOutputs);
+        result.loadRules(engine);
+        return result;
+    }
+
+    /**
+     Creates a rule block with the rules equivalent to the cells of the table
+     that have at least one conclusion, utilizing the variables loaded in the
+     table. The rules of the resulting rule block are not loaded. The table
+     must be loaded.
+
+     @return a rule block with the (unloaded) rules equivalent to the cells of
+     the table
+     */
+    public RuleBlock toRuleBlock() {
+        if (!isLoaded()) {
+            throw new RuntimeException(String.format(
+                    "[ruletable error] the rule table <%s> is not loaded", getName()));
+        }
+        return toRuleBlock(Arrays.asList(inputVariables), Arrays.asList(outputVariables));
+    }
+
+    private RuleBlock toRuleBlock(List<InputVariable> loadedInputs,
+            List<OutputVariable> loadedOutputs) {
+        RuleBlock result = new RuleBlock(getName());
+        result.setDescription(getDescription());
+        result.setEnabled(isEnabled());
+        try {
+            result.setConjunction(getConjunction() == null ? null : getConjunction().clone());
+            result.setDisjunction(getDisjunction() == null ? null : getDisjunction().clone());
+            result.setImplication(getImplication() == null ? null : getImplication().clone());
+            result.setActivation(getActivation() == null ? null : getActivation().clone());
+        } catch (CloneNotSupportedException ex) {
+            throw new RuntimeException(ex);
+        }
+        final int cells = numberOfCells();
+        int[] terms = new int[inputs.size()];
+        for (int cell = 0; cell < cells; ++cell) {
+            List<String> conclusions = new LinkedList<String>();
+            for (int o = 0; o < loadedOutputs.size(); ++o) {
+                int term = consequents.get(o)[cell];
+                if (term != NONE) {
+                    OutputVariable outputVariable = loadedOutputs.get(o);
+                    conclusions.add(String.format("%s %s %s", outputVariable.getName(),
+                            Rule.FL_IS, outputVariable.getTerm(term).getName()));
+                }
+            }
+            if (!conclusions.isEmpty()) {
+                List<String> propositions = new LinkedList<String>();
+                for (int i = 0; i < loadedInputs.size(); ++i) {
+                    InputVariable inputVariable = loadedInputs.get(i);
+                    propositions.add(String.format("%s %s %s", inputVariable.getName(),
+                            Rule.FL_IS, inputVariable.getTerm(terms[i]).getName()));
+                }
+                result.addRule(new Rule(String.format("%s %s %s %s", Rule.FL_IF,
+                        Op.join(propositions, " " + Rule.FL_AND + " "), Rule.FL_THEN,
+                        Op.join(conclusions, " " + Rule.FL_AND + " "))));
+            }
+            //advances the indexes of the terms in row-major order
+            for (int i = terms.length - 1; i >= 0; --i) {
+                if (++terms[i] < loadedInputs.get(i).numberOfTerms()) {
+                    break;
+                }
+                terms[i] = 0;
+            }
+        }
+        return result;
+    }
+
+    /**
+     Creates a rule table equivalent to the given rule block, provided that the
+     rule block utilizes the General activation and that its rules are loaded,
+     enabled, have a weight of 1.0, and are in the form `if i_1 is t_1 and ...
+     and i_n is t_n then o_1 is u_1 and ... and o_m is u_m` (without hedges)
+     with the same input variables in the same order and at most one rule per
+     combination of terms. The rule table is loaded in the given engine, but it
+     is not added to it.
+
+     @param ruleBlock is the rule block to convert
+     @param engine is the engine where the rule block is registered
+     @return a rule table equivalent to the given rule block, or `null` if the
+     rule block cannot be represented as a rule table
+     */
+    public static RuleTable fromRuleBlock(RuleBlock ruleBlock, Engine engine) {
+        if (ruleBlock.getRules().isEmpty()
+                || !(ruleBlock.getActivation() == null || ruleBlock.getActivation() instanceof General)) {
+            return null;
+        }
+        List<InputVariable> tableInputs = null;
+        List<OutputVariable> tableOutputs = new ArrayList<OutputVariable>();
+        for (OutputVariable outputVariable : engine.getOutputVariables()) {
+            boolean concluded = false;
+            for (Rule rule : ruleBlock.getRules()) {
+                if (rule.isLoaded() && concludes(rule, outputVariable)) {
+                    concluded = true;
+                    break;
+                }
+            }
+            if (concluded) {
+                tableOutputs.add(outputVariable);
+            }
+        }
+        int[][] cellTerms = null;
+        for (Rule rule : ruleBlock.getRules()) {
+            if (!rule.isLoaded() || !rule.isEnabled() || rule.getWeight() != 1.0) {
+                return null;
+            }
+            List<Proposition> propositions = conjunctionOf(rule.getAntecedent().getExpression());
+            if (propositions == null) {
+                return null;
+            }
+            if (tableInputs == null) {
+                tableInputs = new ArrayList<InputVariable>(propositions.size());
+                long cells = 1;
+                for (Proposition proposition : propositions) {
+                    InputVariable inputVariable = (InputVariable) proposition.getVariable();
+                    if (tableInputs.contains(inputVariable)) {
+                        return null;
+                    }
+                    tableInputs.add(inputVariable);
+                    cells *= inputVariable.numberOfTerms();
+                }
+                if (cells > Integer.MAX_VALUE) {
+                    return null;
+                }
+                cellTerms = new int[tableOutputs.size()][(int) cells];
+                for (int[] terms : cellTerms) {
+                    Arrays.fill(terms, NONE);
+                }
+            }
+            if (propositions.size() != tableInputs.size()) {
+                return null;
+            }
+            int cell = 0;
+            for (int i = 0; i < propositions.size(); ++i) {
+                Proposition proposition = propositions.get(i);
+                InputVariable inputVariable = tableInputs.get(i);
+                int term = indexOf(inputVariable, proposition.getTerm());
+                if (proposition.getVariable() != inputVariable || term < 0) {
+                    return null;
+                }
+                cell = cell * inputVariable.numberOfTerms() + term;
+            }
+            boolean[] concluded = new boolean[tableOutputs.size()];
+            for (Proposition conclusion : rule.getConsequent().getConclusions()) {
+                int output = tableOutputs.indexOf(conclusion.getVariable());
+                if (output < 0 || concluded[output] || !conclusion.getHedges().isEmpty()) {
+                    return null;
+                }
+                concluded[output] = true;
+                int term = indexOf(tableOutputs.get(output), conclusion.getTerm());
+                if (term < 0 || cellTerms[output][cell] != NONE) {
+                    return null;
+                }
+                cellTerms[output][cell] = term;
+            }
+        }
+        RuleTable result = new RuleTable(ruleBlock.getName());
+        result.setDescription(ruleBlock.getDescription());
+        result.setEnabled(ruleBlock.isEnabled());
+        try {
+            result.setConjunction(ruleBlock.getConjunction() == null ? null : ruleBlock.getConjunction().clone());
+            result.setDisjunction(ruleBlock.getDisjunction() == null ? null : ruleBlock.getDisjunction().clone());
+            result.setImplication(ruleBlock.getImplication() == null ? null : ruleBlock.getImplication().clone());
+            result.setActivation(ruleBlock.getActivation() == null ? new General() : ruleBlock.getActivation().clone());
+        } catch (CloneNotSupportedException ex) {
+            throw new RuntimeException(ex);
+        }
+        for (InputVariable inputVariable : tableInputs) {
+            result.addInput(inputVariable.getName());
+        }
+        for (int o = 0; o < tableOutputs.size(); ++o) {
+            result.addOutput(tableOutputs.get(o).getName(), cellTerms[o]);
+        }
+        result.loadRules(engine);
+        return result;
+    }
+
+    /**
+     Returns the propositions of the expression if it is a conjunction of
+     propositions on input variables without hedges associated from left to
+     right, or `null` otherwise.
+     */
+    private static List<Proposition> conjunctionOf(Expression expression) {
+        LinkedList<Proposition> result = new LinkedList<Proposition>();
+        while (expression instanceof Operator) {
+            Operator operator = (Operator) expression;
+            if (!Rule.FL_AND.equals(operator.getName())
+                    || !(operator.getRight() instanceof Proposition)) {
+                return null;
+            }
+            result.addFirst((Proposition) operator.getRight());
+            expression = operator.getLeft();
+        }
+        if (!(expression instanceof Proposition)) {
+            return null;
+        }
+        result.addFirst((Proposition) expression);
+        for (Proposition proposition : result) {
+            if (!proposition.getHedges().isEmpty()
+                    || !(proposition.getVariable() instanceof InputVariable)
+                    || proposition.getTerm() == null) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    private static boolean concludes(Rule rule, OutputVariable outputVariable) {
+        for (Proposition conclusion : rule.getConsequent().getConclusions()) {
+            if (conclusion.getVariable() == outputVariable) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(Variable variable, Term term) {
+        for (int i = 0; i < variable.numberOfTerms(); ++i) {
+            if (variable.getTerm(i) == term) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     Creates a clone of the rule table without its variables being loaded
+
+     @return a clone of the rule table without its variables being loaded
+     */
+    @Override
+    public RuleTable clone() throws CloneNotSupportedException {
+        RuleTable result = (RuleTable) super.clone();
+        result.inputs = new ArrayList<String>(this.inputs);
+        result.outputs = new ArrayList<String>(this.outputs);
+        result.consequents = new ArrayList<int[]>(this.consequents.size());
+        for (int[] cellTerms : this.consequents) {
+            result.consequents.add(cellTerms.clone());
+        }
+        result.unloadRules();
+        return result;
+    }
+
+}
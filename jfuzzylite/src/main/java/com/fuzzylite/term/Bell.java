@@ -108,7 +108,7 @@ public class Bell extends Term {
         if (Double.isNaN(x)) {
             return Double.NaN;
         }
-        return height * 1.0 / (1.0 + Math.pow(Math.abs((x - center) / width), 2.0 * slope));
+        return height * 1.0 / (1.0 + Op.pow(Math.abs((x - center) / width), 2.0 * slope));
     }
 
     /**
@@ -165,6 +165,16 @@ public class Bell extends Term {
         this.slope = slope;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(center, width, slope);
+    }
+
     @Override
     public Bell clone() throws CloneNotSupportedException {
         return (Bell) super.clone();
@@ -191,6 +191,16 @@ public class Binary extends Term {
         return Direction.Undefined;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(start, direction);
+    }
+
     @Override
     public Binary clone() throws CloneNotSupportedException {
         return (Binary) super.clone();
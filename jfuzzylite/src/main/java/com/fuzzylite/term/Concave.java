@@ -166,6 +166,16 @@ public class Concave extends Term {
         this.end = end;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(inflection, end);
+    }
+
     @Override
     public Concave clone() throws CloneNotSupportedException {
         return (Concave) super.clone();
@@ -97,6 +97,16 @@ public class Constant extends Term {
         this.value = value;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(value);
+    }
+
     @Override
     public Constant clone() throws CloneNotSupportedException {
         return (Constant) super.clone();
@@ -150,6 +150,16 @@ public class Cosine extends Term {
         this.width = width;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(center, width);
+    }
+
     @Override
     public Cosine clone() throws CloneNotSupportedException {
         return (Cosine) super.clone();
@@ -20,7 +20,9 @@ import com.fuzzylite.Op;
 import com.fuzzylite.defuzzifier.IntegralDefuzzifier;
 import com.fuzzylite.term.Discrete.Pair;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -28,6 +30,11 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.PriorityQueue;
+import java.util.RandomAccess;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  The Discrete class is a basic Term that represents a discrete membership
@@ -35,6 +42,13 @@ import java.util.ListIterator;
  ascendently because the membership function is computed using binary search to
  find the lower and upper bounds of `x`.
 
+ The pairs are stored in two parallel arrays of primitive values, which the
+ term presents as a list of Pair for compatibility. Hence, the pairs obtained
+ from the list are copies, and modifying them does not modify the term; the
+ pairs of the term are modified by replacing them via Discrete::set(). When
+ the values of `x` are equally spaced, the membership function computes the
+ lower and upper bounds of `x` arithmetically instead of by binary search.
+
  @image html discrete.svg
 
  @author Juan Rada-Vilela, Ph.D.
@@ -103,6 +117,24 @@ public class Discrete extends Term implements List<Pair> {
             return (Pair) super.clone();
         }
 
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Pair)) {
+                return false;
+            }
+            Pair pair = (Pair) other;
+            return Double.compare(x, pair.x) == 0 && Double.compare(y, pair.y) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            long bits = 31 * Double.doubleToLongBits(x) + Double.doubleToLongBits(y);
+            return (int) (bits ^ (bits >>> 32));
+        }
+
         @Override
         public String toString() {
             return "(" + Op.str(x) + "," + Op.str(y) + ")";
@@ -110,7 +142,15 @@ public class Discrete extends Term implements List<Pair> {
 
     }
 
-    private List<Pair> xy;
+    private static final byte GRID_UNKNOWN = 0, GRID_UNIFORM = 1, GRID_NONUNIFORM = 2;
+    private static final int MAXIMUM_LINEARIZATION_PAIRS = 4096;
+
+    private double[] xs;
+    private double[] ys;
+    private int size;
+    private transient byte grid;
+    private transient double gridStep;
+    private transient List<Pair> xy;
 
     public Discrete() {
         this("");
@@ -126,7 +166,10 @@ public class Discrete extends Term implements List<Pair> {
 
     public Discrete(String name, List<Pair> xy, double height) {
         super(name, height);
-        this.xy = xy;
+        this.xs = new double[0];
+        this.ys = new double[0];
+        this.xy = new PairList();
+        setXY(xy);
     }
 
     /**
@@ -241,6 +284,8 @@ public class Discrete extends Term implements List<Pair> {
     public static Discrete discretize(Term term, double start, double end, int resolution,
             boolean boundedMembershipFunction) {
         Discrete result = new Discrete(term.getName());
+        result.xs = new double[resolution + 1];
+        result.ys = new double[resolution + 1];
         double dx = (end - start) / resolution;
         double x, y;
         for (int i = 0; i <= resolution; ++i) {
@@ -249,11 +294,290 @@ public class Discrete extends Term implements List<Pair> {
             if (boundedMembershipFunction) {
                 y = Op.bound(y, 0.0, 1.0);
             }
-            result.add(new Discrete.Pair(x, y));
+            result.xs[i] = x;
+            result.ys[i] = y;
+        }
+        result.size = resolution + 1;
+        result.detectGrid();
+        return result;
+    }
+
+    /**
+     Discretizes the given term by computing the values in parallel on the
+     executor, where each task discretizes a block of consecutive values using
+     its own clone of the term (unless the term is shareable). The values are
+     equal to those obtained by Discrete::discretize(Term, double, double,
+     int, boolean).
+
+     @param term is the term to discretize
+     @param start is the value from which discretization starts
+     @param end is the value at which discretization ends
+     @param resolution is the number of equally-distributed samples to perform
+     between start and end
+     @param boundedMembershipFunction indicates whether to ensure that
+     `\mu(x)\in[0.0,1.0]`
+     @param executor is the executor on which the blocks are computed
+     @return a Discrete term that approximates the given term
+     */
+    public static Discrete discretize(final Term term, final double start, double end,
+            int resolution, final boolean boundedMembershipFunction, ExecutorService executor) {
+        final Discrete result = new Discrete(term.getName());
+        final int size = resolution + 1;
+        result.xs = new double[size];
+        result.ys = new double[size];
+        final double dx = (end - start) / resolution;
+        final int blockSize = Math.max(LazyDiscrete.BLOCK_SIZE, (size + 255) / 256);
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        for (int offset = 0; offset < size; offset += blockSize) {
+            final int from = offset, to = Math.min(size, offset + blockSize);
+            futures.add(executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    Term clone = term;
+                    if (!term.isShareable()) {
+                        try {
+                            clone = term.clone();
+                        } catch (CloneNotSupportedException ex) {
+                            throw new RuntimeException(ex);
+                        }
+                    }
+                    double x, y;
+                    for (int i = from; i < to; ++i) {
+                        x = start + i * dx;
+                        y = clone.membership(x);
+                        if (boundedMembershipFunction) {
+                            y = Op.bound(y, 0.0, 1.0);
+                        }
+                        result.xs[i] = x;
+                        result.ys[i] = y;
+                    }
+                }
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("[discretization error] interrupted while "
+                    + "discretizing term <" + term.getName() + ">", ex);
+        } catch (ExecutionException ex) {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            throw new RuntimeException("[discretization error] failed to discretize term <"
+                    + term.getName() + ">: " + ex.getCause(), ex.getCause());
         }
+        result.size = size;
+        result.detectGrid();
+        return result;
+    }
+
+    /**
+     Creates a Discrete term that takes ownership of the given arrays
+     */
+    static Discrete create(String name, double[] xs, double[] ys, int size) {
+        Discrete result = new Discrete(name);
+        result.xs = xs;
+        result.ys = ys;
+        result.size = size;
+        result.detectGrid();
         return result;
     }
 
+    /**
+     Linearizes the given term into a piecewise-linear function whose maximum
+     absolute error is approximately within the given tolerance. The range is
+     divided into 16 intervals, and each interval is bisected while the
+     linear interpolation between its ends differs from the term by more than
+     the tolerance at the quarters of the interval. Hence, the breakpoints
+     concentrate where the curvature of the term is high. The linearization
+     has at most 4096 pairs.
+
+     @param term is the term to linearize
+     @param start is the value from which linearization starts
+     @param end is the value at which linearization ends
+     @param tolerance is the maximum absolute error of the interpolation at
+     the values where it is measured
+     @return a Discrete term that approximates the given term
+     */
+    public static Discrete linearize(Term term, double start, double end, double tolerance) {
+        return linearize(term, start, end, tolerance, 16);
+    }
+
+    /**
+     Linearizes the given term into a piecewise-linear function with at most
+     4096 pairs (or one more than the number of intervals, if greater) whose
+     maximum absolute error is approximately within the given tolerance.
+
+     @param term is the term to linearize
+     @param start is the value from which linearization starts
+     @param end is the value at which linearization ends
+     @param tolerance is the maximum absolute error of the interpolation at
+     the values where it is measured
+     @param intervals is the number of initial intervals of the range
+     @return a Discrete term that approximates the given term
+     @see #linearize(Term, double, double, double, int, int)
+     */
+    public static Discrete linearize(Term term, double start, double end,
+            double tolerance, int intervals) {
+        return linearize(term, start, end, tolerance, intervals,
+                Math.max(MAXIMUM_LINEARIZATION_PAIRS, intervals + 1));
+    }
+
+    /**
+     Linearizes the given term into a piecewise-linear function whose maximum
+     absolute error is approximately within the given tolerance. The range is
+     divided into the given number of intervals, and the interval whose linear
+     interpolation between its ends differs the most from the term at the
+     quarters of the interval is bisected while the difference is greater than
+     the tolerance and the number of pairs is less than the given maximum.
+     Hence, the tolerance is not reached if the maximum number of pairs is
+     reached first, in which case the largest errors are reduced first.
+     Features of the term narrower than a quarter of the initial intervals may
+     be missed, and each initial interval is bisected at most 24 times (e.g.,
+     around discontinuities).
+
+     @param term is the term to linearize
+     @param start is the value from which linearization starts
+     @param end is the value at which linearization ends
+     @param tolerance is the maximum absolute error of the interpolation at
+     the values where it is measured, which must be positive
+     @param intervals is the number of initial intervals of the range
+     @param maximumPairs is the maximum number of pairs of the linearization,
+     which must be greater than the number of initial intervals
+     @return a Discrete term that approximates the given term
+     */
+    public static Discrete linearize(Term term, double start, double end,
+            double tolerance, int intervals, int maximumPairs) {
+        if (!(start < end) || intervals < 1) {
+            throw new RuntimeException(String.format("[linearization error] "
+                    + "expected a range with start < end and at least one interval, "
+                    + "but found range [%s, %s] and <%d> intervals",
+                    Op.str(start), Op.str(end), intervals));
+        }
+        if (!(tolerance > 0.0) || maximumPairs <= intervals) {
+            throw new RuntimeException(String.format("[linearization error] "
+                    + "expected a positive tolerance and more pairs than intervals, "
+                    + "but found tolerance <%s> and at most <%d> pairs for <%d> intervals",
+                    Op.str(tolerance), maximumPairs, intervals));
+        }
+        final PriorityQueue<Segment> splittable = new PriorityQueue<Segment>(intervals, BY_ERROR);
+        final List<Segment> segments = new ArrayList<Segment>();
+        final double dx = (end - start) / intervals;
+        double a = start;
+        double fa = term.membership(a);
+        for (int i = 1; i <= intervals; ++i) {
+            final double b = i == intervals ? end : start + i * dx;
+            final double fb = term.membership(b);
+            final double m = 0.5 * (a + b);
+            Segment segment = new Segment(term, a, fa, m, term.membership(m), b, fb, 24);
+            (segment.isSplittable(tolerance) ? splittable : segments).add(segment);
+            a = b;
+            fa = fb;
+        }
+        int pairs = intervals + 1;
+        while (pairs < maximumPairs && !splittable.isEmpty()) {
+            Segment segment = splittable.poll();
+            for (Segment half : segment.split(term)) {
+                (half.isSplittable(tolerance) ? splittable : segments).add(half);
+            }
+            ++pairs;
+        }
+        segments.addAll(splittable);
+        Collections.sort(segments, BY_START);
+
+        Discrete result = new Discrete(term.getName());
+        result.xs = new double[pairs];
+        result.ys = new double[pairs];
+        result.append(start, segments.get(0).fa);
+        for (Segment segment : segments) {
+            result.append(segment.b, segment.fb);
+        }
+        result.detectGrid();
+        return result;
+    }
+
+    /**
+     The Segment class is an interval of the linearization of a term, which
+     stores the membership function values at its ends, middle and quarters,
+     and the maximum absolute error of the linear interpolation between its
+     ends
+     */
+    private static final class Segment {
+
+        final double a, fa, q1, fq1, m, fm, q3, fq3, b, fb;
+        final double error;
+        final int depth;
+
+        Segment(Term term, double a, double fa, double m, double fm,
+                double b, double fb, int depth) {
+            this.a = a;
+            this.fa = fa;
+            this.m = m;
+            this.fm = fm;
+            this.b = b;
+            this.fb = fb;
+            this.depth = depth;
+            this.q1 = 0.5 * (a + m);
+            this.q3 = 0.5 * (m + b);
+            this.fq1 = term.membership(q1);
+            this.fq3 = term.membership(q3);
+            final double slope = (fb - fa) / (b - a);
+            this.error = Op.max(Math.abs(fm - (fa + slope * (m - a))), Op.max(
+                    Math.abs(fq1 - (fa + slope * (q1 - a))),
+                    Math.abs(fq3 - (fa + slope * (q3 - a)))));
+        }
+
+        boolean isSplittable(double tolerance) {
+            //NaN errors are not split further
+            return depth > 0 && error > tolerance;
+        }
+
+        Segment[] split(Term term) {
+            return new Segment[]{
+                new Segment(term, a, fa, q1, fq1, m, fm, depth - 1),
+                new Segment(term, m, fm, q3, fq3, b, fb, depth - 1)};
+        }
+    }
+
+    /**
+     Compares the segments descendantly by their errors, such that a priority
+     queue polls the segment with the largest error first
+     */
+    private static final Comparator<Segment> BY_ERROR = new Comparator<Segment>() {
+        @Override
+        public int compare(Segment o1, Segment o2) {
+            return Double.compare(o2.error, o1.error);
+        }
+    };
+
+    /**
+     Compares the segments ascendantly by their starting values
+     */
+    private static final Comparator<Segment> BY_START = new Comparator<Segment>() {
+        @Override
+        public int compare(Segment o1, Segment o2) {
+            return Double.compare(o1.a, o2.a);
+        }
+    };
+
+    private void append(double x, double y) {
+        if (size == xs.length) {
+            final int capacity = 2 * xs.length + 1;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        ++size;
+        grid = GRID_UNKNOWN;
+    }
+
     /**
      The Ascendantly class is a comparator to sort collections of discrete pairs
      ascendantly by the x-coordinate
@@ -280,7 +604,13 @@ public class Discrete extends Term implements List<Pair> {
      `x`-coordinate
      */
     public void sort() {
-        Collections.sort(this, ASCENDANTLY);
+        Pair[] pairs = toArray(new Pair[size]);
+        Arrays.sort(pairs, ASCENDANTLY);
+        for (int i = 0; i < pairs.length; ++i) {
+            xs[i] = pairs[i].x;
+            ys[i] = pairs[i].y;
+        }
+        detectGrid();
     }
 
     /**
@@ -313,7 +643,7 @@ public class Discrete extends Term implements List<Pair> {
         if (Double.isNaN(x)) {
             return Double.NaN;
         }
-        if (xy.isEmpty()) {
+        if (size == 0) {
             throw new RuntimeException("[discrete error] term is empty");
         }
 
@@ -323,33 +653,113 @@ public class Discrete extends Term implements List<Pair> {
         // ____________/                          \____________
         //            x[0]                      x[n-1]
         //
-        Pair first = xy.get(0);
-        Pair last = xy.get(xy.size() - 1);
-        if (Op.isLE(x, first.getX())) {
-            return height * first.getY();
-        }
-        if (Op.isGE(x, last.getX())) {
-            return height * last.getY();
-        }
-        Discrete.Pair value = new Discrete.Pair(x, Double.NaN);
-        //Binary search will find a number greater than or equal to x
-        int upper = Collections.binarySearch(xy, value, ASCENDANTLY);
-        //if the upper bound is equal to x
-        if (upper >= 0) {
-            return height * xy.get(upper).y;
-        }
-        //if the upper bound is not x, then binary search returns (-insertionPoint - 1)
-        upper = Math.abs(upper + 1);
+        final double[] xs = this.xs, ys = this.ys;
+        final int last = size - 1;
+        if (Op.isLE(x, xs[0])) {
+            return height * ys[0];
+        }
+        if (Op.isGE(x, xs[last])) {
+            return height * ys[last];
+        }
+        if (grid == GRID_UNKNOWN) {
+            detectGrid();
+        }
+        int upper;
+        if (grid == GRID_UNIFORM) {
+            //x is within (x[0], x[n-1]), so the bracket is adjusted to
+            //x[lower] <= x < x[lower + 1] in case of rounding errors
+            int lower = (int) ((x - xs[0]) / gridStep);
+            lower = Math.max(0, Math.min(lower, last - 1));
+            while (lower > 0 && xs[lower] > x) {
+                --lower;
+            }
+            while (lower < last - 1 && xs[lower + 1] <= x) {
+                ++lower;
+            }
+            if (xs[lower] == x) {
+                return height * ys[lower];
+            }
+            upper = lower + 1;
+        } else {
+            //Binary search will find a number greater than or equal to x
+            upper = binarySearch(xs, size, x);
+            //if the upper bound is equal to x
+            if (upper >= 0) {
+                return height * ys[upper];
+            }
+            //if the upper bound is not x, then binary search returns (-insertionPoint - 1)
+            upper = Math.abs(upper + 1);
+        }
         //and the lower bound
         int lower = upper - 1;
 
         //FuzzyLite.logger().log(Level.INFO, "x={0}\t[{1} , {2}]", new Object[]{x, lower, upper});
-        return height * Op.scale(x, xy.get(lower).getX(), xy.get(upper).getX(),
-                xy.get(lower).getY(), xy.get(upper).getY());
+        return height * Op.scale(x, xs[lower], xs[upper], ys[lower], ys[upper]);
+    }
+
+    /**
+     Searches for `x` in the first values of the given array, which must be
+     sorted ascendently, in the same manner as Collections::binarySearch()
+     with the Discrete::ASCENDANTLY comparator
+
+     @param xs is the array of values
+     @param size is the number of values to search
+     @param x is the value to search for
+     @return the index of `x` if found, or `(-insertionPoint - 1)` otherwise
+     */
+    private static int binarySearch(double[] xs, int size, double x) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            double value = xs[middle];
+            if (value < x) {
+                low = middle + 1;
+            } else if (value > x) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     Detects whether the values of `x` are strictly increasing and equally
+     spaced within a relative tolerance
+     */
+    private void detectGrid() {
+        byte result = GRID_NONUNIFORM;
+        if (size >= 2) {
+            final double step = (xs[size - 1] - xs[0]) / (size - 1);
+            result = step > 0.0 && !Double.isInfinite(step) ? GRID_UNIFORM : GRID_NONUNIFORM;
+            for (int i = 1; i < size && result == GRID_UNIFORM; ++i) {
+                if (!(xs[i] > xs[i - 1])
+                        || Math.abs(xs[i] - (xs[0] + i * step)) > 1e-6 * step) {
+                    result = GRID_NONUNIFORM;
+                }
+            }
+            this.gridStep = step;
+        }
+        this.grid = result;
+    }
+
+    /**
+     Indicates whether the values of `x` are equally spaced, in which case
+     the lower and upper bounds of `x` are computed arithmetically
+
+     @return whether the values of `x` are equally spaced
+     */
+    public boolean isUniform() {
+        if (grid == GRID_UNKNOWN) {
+            detectGrid();
+        }
+        return grid == GRID_UNIFORM;
     }
 
     /**
-     Gets the list of pairs defining the discrete membership function
+     Gets the list of pairs defining the discrete membership function, which
+     is a view of the pairs stored in the term
 
      @return the list of pairs defining the discrete membership function
      */
@@ -358,12 +768,24 @@ public class Discrete extends Term implements List<Pair> {
     }
 
     /**
-     Sets the list of pairs defining the discrete membership function
+     Sets the list of pairs defining the discrete membership function, whose
+     values are copied into the term
 
      @param pairs is the list of pairs defining the discrete membership function
      */
     public void setXY(List<Pair> pairs) {
-        this.xy = pairs;
+        double[] newXs = new double[pairs.size()];
+        double[] newYs = new double[pairs.size()];
+        int index = 0;
+        for (Pair pair : pairs) {
+            newXs[index] = pair.x;
+            newYs[index] = pair.y;
+            ++index;
+        }
+        this.xs = newXs;
+        this.ys = newYs;
+        this.size = index;
+        detectGrid();
     }
 
     /**
@@ -372,9 +794,9 @@ public class Discrete extends Term implements List<Pair> {
      @return a list containing the `x` values
      */
     public List<Double> x() {
-        List<Double> result = new ArrayList<Double>(xy.size());
-        for (Discrete.Pair pair : xy) {
-            result.add(pair.x);
+        List<Double> result = new ArrayList<Double>(size);
+        for (int i = 0; i < size; ++i) {
+            result.add(xs[i]);
         }
         return result;
     }
@@ -386,7 +808,8 @@ public class Discrete extends Term implements List<Pair> {
      @return the `x` value at the given index
      */
     public double x(int index) {
-        return xy.get(index).x;
+        checkIndex(index, size);
+        return xs[index];
     }
 
     /**
@@ -395,9 +818,9 @@ public class Discrete extends Term implements List<Pair> {
      @return a vector containing the `y` values
      */
     public List<Double> y() {
-        List<Double> result = new ArrayList<Double>(xy.size());
-        for (Discrete.Pair pair : xy) {
-            result.add(pair.y);
+        List<Double> result = new ArrayList<Double>(size);
+        for (int i = 0; i < size; ++i) {
+            result.add(ys[i]);
         }
         return result;
     }
@@ -409,20 +832,144 @@ public class Discrete extends Term implements List<Pair> {
      @return the `y` value at the given index
      */
     public double y(int index) {
-        return xy.get(index).y;
+        checkIndex(index, size);
+        return ys[index];
+    }
+
+    private void checkIndex(int index, int limit) {
+        if (index < 0 || index >= limit) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     Indicates that the term can be shared. The uniformity of the values of
+     `x` is determined when the pairs are set (or the term is created by
+     discretization), so evaluating the term does not change its state unless
+     the pairs were modified through the list returned by Discrete::getXY(),
+     in which case the uniformity is determined on the next evaluation.
+
+     @return `true`
+     */
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    /**
+     Returns the key that identifies the term from its name, height, number
+     of pairs, and a hash of the values of its pairs, hence terms with equal
+     keys are confirmed to be equal by Discrete::internEquals()
+
+     @return the key that identifies the term
+     */
+    @Override
+    public String internKey() {
+        int hash = 1;
+        for (int i = 0; i < size; ++i) {
+            final long x = Double.doubleToLongBits(xs[i]);
+            final long y = Double.doubleToLongBits(ys[i]);
+            hash = 31 * hash + (int) (x ^ (x >>> 32));
+            hash = 31 * hash + (int) (y ^ (y >>> 32));
+        }
+        return internKey(size, hash);
+    }
+
+    /**
+     Indicates whether the given term, whose key is equal to the key of this
+     term, has the same pairs as this term
+
+     @param term is the term whose key is equal to the key of this term
+     @return whether the term has the same pairs as this term
+     */
+    @Override
+    public boolean internEquals(Term term) {
+        if (!(term instanceof Discrete)) {
+            return false;
+        }
+        final Discrete other = (Discrete) term;
+        return other.size == this.size
+                && Arrays.equals(other.trim(other.xs), trim(this.xs))
+                && Arrays.equals(other.trim(other.ys), trim(this.ys));
+    }
+
+    private double[] trim(double[] values) {
+        return values.length == size ? values : Arrays.copyOf(values, size);
     }
 
     @Override
     public Discrete clone() throws CloneNotSupportedException {
         Discrete result = (Discrete) super.clone();
-        List<Pair> xyClone = new ArrayList<Pair>(this.xy.size());
-        for (Pair p : this.xy) {
-            xyClone.add(p.clone());
-        }
-        result.xy = xyClone;
+        result.xs = Arrays.copyOf(this.xs, this.size);
+        result.ys = Arrays.copyOf(this.ys, this.size);
+        result.xy = result.new PairList();
         return result;
     }
 
+    /**
+     The PairList class presents the parallel arrays of the Discrete term as
+     a list of Pair, creating a Pair for each element retrieved.
+     */
+    private class PairList extends AbstractList<Pair> implements RandomAccess {
+
+        @Override
+        public Pair get(int index) {
+            checkIndex(index, size);
+            return new Pair(xs[index], ys[index]);
+        }
+
+        @Override
+        public Pair set(int index, Pair element) {
+            checkIndex(index, size);
+            Pair result = new Pair(xs[index], ys[index]);
+            xs[index] = element.x;
+            ys[index] = element.y;
+            grid = GRID_UNKNOWN;
+            return result;
+        }
+
+        @Override
+        public void add(int index, Pair element) {
+            checkIndex(index, size + 1);
+            if (size == xs.length) {
+                final int capacity = 2 * xs.length + 1;
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+            }
+            System.arraycopy(xs, index, xs, index + 1, size - index);
+            System.arraycopy(ys, index, ys, index + 1, size - index);
+            xs[index] = element.x;
+            ys[index] = element.y;
+            ++size;
+            ++modCount;
+            grid = GRID_UNKNOWN;
+        }
+
+        @Override
+        public Pair remove(int index) {
+            checkIndex(index, size);
+            Pair result = new Pair(xs[index], ys[index]);
+            System.arraycopy(xs, index + 1, xs, index, size - index - 1);
+            System.arraycopy(ys, index + 1, ys, index, size - index - 1);
+            --size;
+            ++modCount;
+            grid = GRID_UNKNOWN;
+            return result;
+        }
+
+        @Override
+        public void clear() {
+            size = 0;
+            ++modCount;
+            grid = GRID_UNKNOWN;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
     /**
      Creates a list of scalars from a list of Pair given in the form
 
@@ -531,12 +1078,12 @@ public class Discrete extends Term implements List<Pair> {
 
     @Override
     public int size() {
-        return this.xy.size();
+        return this.size;
     }
 
     @Override
     public boolean isEmpty() {
-        return this.xy.isEmpty();
+        return this.size == 0;
     }
 
     @Override
@@ -24,11 +24,15 @@ import com.fuzzylite.factory.FunctionFactory;
 import com.fuzzylite.rule.Rule;
 import com.fuzzylite.variable.InputVariable;
 import com.fuzzylite.variable.OutputVariable;
+import com.fuzzylite.variable.Variable;
 
 import java.lang.reflect.Method;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
@@ -41,16 +45,15 @@ import java.util.StringTokenizer;
  the given formula whenever the function
 
  `f` is evaluated. Specifically, when the method Function::membership() is
- called, the name and value of the variable
- `x` are automatically loaded into the map. Furthermore, if an Engine is
- given, the names of its InputVariable%s and OutputVariable%s will also be
- automatically loaded into the map linking to their respective input values and
- (previously defuzzified) output values. The Function::variables need to be
- manually loaded whenever variables other than `x`, input variables, and
- output variables, are expressed in the given formula, always having in mind
- that (a) the map replaces existing keys, and (b) the variable `x`, and
- input variables and output variables of an engine will automatically be
- replaced and will also take precedence over previously loaded variables.
+ called, the variable `x` takes the given value. Furthermore, if an Engine is
+ given, the names of its InputVariable%s and OutputVariable%s refer to their
+ respective input values and (previously defuzzified) output values, which are
+ read directly from the variables referenced in the formula without being
+ loaded into the map. The Function::variables need to be manually loaded
+ whenever variables other than `x`, input variables, and output variables,
+ are expressed in the given formula, always having in mind that the variable
+ `x`, and input variables and output variables of an engine take precedence
+ over the variables in the map.
 
  Besides the use of Function as a linguistic Term, it is also utilized to
  convert the text of the Antecedent of a Rule, expressed in infix notation, into
@@ -506,11 +509,870 @@ public class Function extends Term {
 
     }
 
+    /**
+     The Evaluator interface is implemented by the classes that are generated
+     at runtime to evaluate a Function::Program (see Function::setGenerating()).
+     The interface is public only because each generated class is defined by
+     its own class loader, and it is not meant to be implemented otherwise.
+     */
+    public interface Evaluator {
+
+        /**
+         Executes the prologue of the program, storing the results of the
+         hoisted subtrees
+
+         @param values contains the value of each variable in its slot
+         @param hoisted is where the results of the hoisted subtrees are stored
+         */
+        void prologue(double[] values, double[] hoisted);
+
+        /**
+         Evaluates the program
+
+         @param values contains the value of each variable in its slot
+         @param hoisted contains the results of the hoisted subtrees
+         @return the result of the evaluation of the program
+         */
+        double evaluate(double[] values, double[] hoisted);
+    }
+
+    /**
+     The Program class is the compiled form of the expression tree of a
+     Function. The tree is flattened into a sequence of instructions in postfix
+     order that operate on a stack of primitive values, such that the operators
+     and functions registered in the FunctionFactory by default are computed by
+     direct calls to their methods rather than by reflection. Elements with
+     other methods are invoked by reflection, as in Node::evaluate(). The
+     results are identical to those of Node::evaluate().
+
+     When optimizing (see Function::setOptimizing()), the expression tree is
+     simplified before being flattened by (a) folding the operations whose
+     operands are constants into constants, (b) eliminating the identities
+     `x*1`, `1*x`, `x/1`, `x+0`, `0+x`, `x-0`, and `x^1`, and (c) computing
+     `x^2` as `x*x`. Only the operators and functions registered by default in
+     the FunctionFactory are folded, since other elements could have side
+     effects. The results of the simplified program are equal to those of
+     Node::evaluate() except for the sign of zero in `x+0` and `0+x` when `x`
+     is `-0.0`, and for the rounding of `x^2`.
+
+     Furthermore, when optimizing, the largest subtrees that do not depend on
+     the variable `x` are hoisted out of the program into a prologue that
+     stores their results. The prologue is executed again only when the value
+     of any variable other than `x` changes, such that integrating a Function
+     term over the range of an OutputVariable only repeats the operations that
+     depend on `x`. Subtrees with elements invoked by reflection are not
+     hoisted, since these elements could have side effects.
+
+     When generating (see Function::setGenerating()), the instructions of the
+     program are translated by the FunctionCompiler into the bytecode of a
+     class that implements the Function::Evaluator, such that the Java Virtual
+     Machine can compile the formula into native code. Each class is defined by
+     its own class loader, and hence it can be unloaded once the program is no
+     longer referenced. The generated class is stateless, so the clones of a
+     program share it.
+     Programs with elements invoked by reflection are not translated.
+     */
+    static class Program implements Op.Cloneable {
+
+        static final int CONSTANT = 0, VARIABLE = 1, INVOKE = 2, HOISTED = 3, STORE = 4,
+                //unary
+                NOT = 10, NEGATE = 11, ACOS = 12, ASIN = 13, ATAN = 14, CEIL = 15,
+                COS = 16, COSH = 17, EXP = 18, ABS = 19, FLOOR = 20, LOG = 21,
+                LOG10 = 22, SIN = 23, SINH = 24, SQRT = 25, TAN = 26, TANH = 27,
+                LOG1P = 28, SQUARE = 29,
+                //binary
+                POW = 40, MULTIPLY = 41, DIVIDE = 42, MODULO = 43, ADD = 44,
+                SUBTRACT = 45, AND = 46, OR = 47, GT = 48, GE = 49, EQ = 50,
+                NEQ = 51, LE = 52, LT = 53, ATAN2 = 54;
+
+        private static final Map<Method, Integer> OPCODES = new HashMap<Method, Integer>();
+        private static final Map<Integer, Method> METHODS = new HashMap<Integer, Method>();
+
+        static {
+            try {
+                OPCODES.put(Op.class.getMethod("logicalNot", double.class), NOT);
+                OPCODES.put(Op.class.getMethod("negate", double.class), NEGATE);
+                OPCODES.put(Math.class.getMethod("acos", double.class), ACOS);
+                OPCODES.put(Math.class.getMethod("asin", double.class), ASIN);
+                OPCODES.put(Math.class.getMethod("atan", double.class), ATAN);
+                OPCODES.put(Math.class.getMethod("ceil", double.class), CEIL);
+                OPCODES.put(Math.class.getMethod("cos", double.class), COS);
+                OPCODES.put(Math.class.getMethod("cosh", double.class), COSH);
+                OPCODES.put(Math.class.getMethod("exp", double.class), EXP);
+                OPCODES.put(Math.class.getMethod("abs", double.class), ABS);
+                OPCODES.put(Math.class.getMethod("floor", double.class), FLOOR);
+                OPCODES.put(Math.class.getMethod("log", double.class), LOG);
+                OPCODES.put(Math.class.getMethod("log10", double.class), LOG10);
+                OPCODES.put(Math.class.getMethod("sin", double.class), SIN);
+                OPCODES.put(Math.class.getMethod("sinh", double.class), SINH);
+                OPCODES.put(Math.class.getMethod("sqrt", double.class), SQRT);
+                OPCODES.put(Math.class.getMethod("tan", double.class), TAN);
+                OPCODES.put(Math.class.getMethod("tanh", double.class), TANH);
+                OPCODES.put(Math.class.getMethod("log1p", double.class), LOG1P);
+
+                OPCODES.put(Math.class.getMethod("pow", double.class, double.class), POW);
+                OPCODES.put(Op.class.getMethod("multiply", double.class, double.class), MULTIPLY);
+                OPCODES.put(Op.class.getMethod("divide", double.class, double.class), DIVIDE);
+                OPCODES.put(Op.class.getMethod("modulo", double.class, double.class), MODULO);
+                OPCODES.put(Op.class.getMethod("add", double.class, double.class), ADD);
+                OPCODES.put(Op.class.getMethod("subtract", double.class, double.class), SUBTRACT);
+                OPCODES.put(Op.class.getMethod("logicalAnd", double.class, double.class), AND);
+                OPCODES.put(Op.class.getMethod("logicalOr", double.class, double.class), OR);
+                OPCODES.put(Op.class.getMethod("gt", double.class, double.class), GT);
+                OPCODES.put(Op.class.getMethod("ge", double.class, double.class), GE);
+                OPCODES.put(Op.class.getMethod("eq", double.class, double.class), EQ);
+                OPCODES.put(Op.class.getMethod("neq", double.class, double.class), NEQ);
+                OPCODES.put(Op.class.getMethod("le", double.class, double.class), LE);
+                OPCODES.put(Op.class.getMethod("lt", double.class, double.class), LT);
+                OPCODES.put(Math.class.getMethod("atan2", double.class, double.class), ATAN2);
+            } catch (NoSuchMethodException ex) {
+                throw new RuntimeException(ex);
+            }
+            for (Map.Entry<Method, Integer> entry : OPCODES.entrySet()) {
+                METHODS.put(entry.getValue(), entry.getKey());
+            }
+        }
+
+        private int[] code;
+        private int[] prologue;
+        private double[] constants;
+        private String[] variables;
+        private Element[] elements;
+        private double[] stack;
+        private double[] hoisted;
+        private double[] snapshot;
+        private boolean cached;
+        private int slotX;
+        private Evaluator evaluator;
+
+        /**
+         Compiles the expression tree under the given node, simplifying a copy
+         of the tree beforehand if requested
+
+         @param root is the root node of the expression tree
+         @param optimize indicates whether to simplify the expression tree
+         @return the program that evaluates the expression tree
+         */
+        static Program compile(Node root, boolean optimize) {
+            Compiler compiler = new Compiler();
+            compiler.squaring = optimize;
+            compiler.hoisting = optimize;
+            if (optimize) {
+                try {
+                    root = simplify(root.clone());
+                } catch (CloneNotSupportedException ex) {
+                    throw new RuntimeException(ex);
+                }
+            }
+            compiler.emit(root);
+            Program result = new Program();
+            result.code = compiler.code();
+            result.prologue = compiler.prologue();
+            result.constants = compiler.constants();
+            result.variables = compiler.variables.toArray(new String[compiler.variables.size()]);
+            result.elements = compiler.elements.toArray(new Element[compiler.elements.size()]);
+            result.stack = new double[Math.max(1, compiler.maximumDepth)];
+            result.hoisted = new double[compiler.hoisted.size()];
+            result.snapshot = new double[result.variables.length];
+            result.cached = false;
+            result.slotX = result.slotOf("x");
+            return result;
+        }
+
+        /**
+         Simplifies the expression tree under the given node, which is modified
+         in the process, by folding constants and eliminating identities
+
+         @param node is the root node of the expression tree to simplify
+         @return the root node of the simplified expression tree
+         */
+        static Node simplify(Node node) {
+            if (node == null || node.element == null) {
+                return node;
+            }
+            final int opcode = opcodeOf(node.element);
+            if (opcode == INVOKE) {
+                node.left = simplify(node.left);
+                node.right = simplify(node.right);
+                return node;
+            }
+            final boolean binary = node.element.getArity() == 2;
+            node.left = simplify(node.left);
+            if (binary) {
+                node.right = simplify(node.right);
+            }
+            if (isConstant(node.left) && (!binary || isConstant(node.right))) {
+                return new Node(node.evaluate(null));
+            }
+            if (binary) {
+                //the first operand is on the right, and the second on the left
+                final Node a = node.right, b = node.left;
+                if ((opcode == MULTIPLY || opcode == DIVIDE || opcode == POW)
+                        && isConstant(b, 1.0)) {
+                    return a;
+                }
+                if ((opcode == ADD || opcode == SUBTRACT) && isConstant(b, 0.0)) {
+                    return a;
+                }
+                if ((opcode == MULTIPLY && isConstant(a, 1.0))
+                        || (opcode == ADD && isConstant(a, 0.0))) {
+                    return b;
+                }
+            }
+            return node;
+        }
+
+        private static boolean isConstant(Node node) {
+            return node != null && node.element == null
+                    && (node.variable == null || node.variable.isEmpty());
+        }
+
+        private static boolean isConstant(Node node, double value) {
+            return isConstant(node) && node.value == value;
+        }
+
+        /**
+         Indicates whether the expression tree under the given node can be
+         hoisted out of the program, that is, whether it is an operation that
+         references variables other than `x` and consists only of elements
+         that are computed without reflection
+
+         @param node is the root node of the expression tree
+         @return whether the expression tree can be hoisted out of the program
+         */
+        static boolean isInvariant(Node node) {
+            if (node.element == null) {
+                return false;
+            }
+            return isInvariantOperand(node) && referencesVariables(node);
+        }
+
+        private static boolean isInvariantOperand(Node node) {
+            if (node == null) {
+                return true;
+            }
+            if (node.element != null) {
+                return opcodeOf(node.element) != INVOKE && node.element.getMethod() != null
+                        && isInvariantOperand(node.left) && isInvariantOperand(node.right);
+            }
+            return node.variable == null || !node.variable.equals("x");
+        }
+
+        private static boolean referencesVariables(Node node) {
+            if (node == null) {
+                return false;
+            }
+            if (node.element != null) {
+                return referencesVariables(node.left) || referencesVariables(node.right);
+            }
+            return node.variable != null && !node.variable.isEmpty();
+        }
+
+        /**
+         Gets the number of instructions and operands of the program, including
+         those of the prologue
+
+         @return the number of instructions and operands of the program
+         */
+        int size() {
+            return code.length + prologue.length;
+        }
+
+        /**
+         Gets the number of subtrees hoisted out of the program
+
+         @return the number of subtrees hoisted out of the program
+         */
+        int numberOfHoisted() {
+            return hoisted.length;
+        }
+
+        /**
+         Gets the method computed by the instruction of the given opcode
+
+         @param opcode is the opcode of the instruction
+         @return the method computed by the instruction, or null if the
+         instruction does not compute a method
+         */
+        static Method methodOf(int opcode) {
+            return METHODS.get(opcode);
+        }
+
+        /**
+         Gets the opcode of the instruction that computes the method of the
+         given element
+
+         @param element is the element
+         @return the opcode of the instruction that computes the method of the
+         element, or Program::INVOKE if the method is invoked by reflection
+         */
+        static int opcodeOf(Element element) {
+            Integer opcode = element.getMethod() == null ? null : OPCODES.get(element.getMethod());
+            return opcode == null ? INVOKE : opcode;
+        }
+
+        /**
+         Gets the number of variables referenced by the program, each of which
+         is assigned a slot in the order in which it is first evaluated
+
+         @return the number of variables referenced by the program
+         */
+        int numberOfVariables() {
+            return variables.length;
+        }
+
+        /**
+         Gets the name of the variable in the given slot
+
+         @param slot is the slot of the variable
+         @return the name of the variable in the given slot
+         */
+        String variable(int slot) {
+            return variables[slot];
+        }
+
+        /**
+         Gets the slot of the variable of the given name
+
+         @param name is the name of the variable
+         @return the slot of the variable, or -1 if the program does not
+         reference the variable
+         */
+        int slotOf(String name) {
+            for (int i = 0; i < variables.length; ++i) {
+                if (variables[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         Evaluates the program substituting the variables for the values in
+         their respective slots
+
+         @param values contains the value of each variable in its slot
+         @return the result of the evaluation of the program
+         */
+        double evaluate(double[] values) {
+            if (prologue.length > 0 && !(cached && isUnchanged(values))) {
+                cached = false;
+                if (evaluator != null) {
+                    evaluator.prologue(values, hoisted);
+                } else {
+                    execute(prologue, values);
+                }
+                System.arraycopy(values, 0, snapshot, 0, values.length);
+                cached = true;
+            }
+            if (evaluator != null) {
+                return evaluator.evaluate(values, hoisted);
+            }
+            return execute(code, values);
+        }
+
+        /**
+         Generates a class that evaluates the program, which is used thereafter
+         instead of interpreting the instructions
+
+         @return whether the class was generated, which is not the case when
+         the program has elements invoked by reflection or when the class
+         cannot be defined
+         */
+        boolean generate() {
+            if (evaluator != null) {
+                return true;
+            }
+            for (int[] instructions : new int[][]{prologue, code}) {
+                for (int pc = 0; pc < instructions.length; pc += instructionSize(instructions[pc])) {
+                    if (instructions[pc] == INVOKE) {
+                        return false;
+                    }
+                }
+            }
+            Throwable error = null;
+            try {
+                evaluator = new FunctionCompiler(prologue, code, constants, stack.length)
+                        .generate();
+            } catch (RuntimeException ex) {
+                error = ex;
+            } catch (LinkageError ex) {
+                error = ex;
+            }
+            if (error != null && FuzzyLite.isDebugging()) {
+                FuzzyLite.logger().fine("[function warning] program could not be generated: "
+                        + error.toString());
+            }
+            return evaluator != null;
+        }
+
+        /**
+         Indicates whether the program is evaluated by a generated class
+
+         @return whether the program is evaluated by a generated class
+         */
+        boolean isGenerated() {
+            return evaluator != null;
+        }
+
+        private static int instructionSize(int opcode) {
+            switch (opcode) {
+                case CONSTANT:
+                case VARIABLE:
+                case INVOKE:
+                case HOISTED:
+                case STORE:
+                    return 2;
+                default:
+                    return 1;
+            }
+        }
+
+        /**
+         Indicates whether the values of the variables other than `x` are the
+         same as those with which the prologue was last executed
+
+         @param values contains the value of each variable in its slot
+         @return whether the values of the variables other than `x` are the same
+         as those with which the prologue was last executed
+         */
+        private boolean isUnchanged(double[] values) {
+            for (int i = 0; i < values.length; ++i) {
+                if (i != slotX && Double.doubleToRawLongBits(values[i])
+                        != Double.doubleToRawLongBits(snapshot[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private double execute(int[] code, double[] values) {
+            final double[] stack = this.stack;
+            int top = -1;
+            int pc = 0;
+            while (pc < code.length) {
+                switch (code[pc++]) {
+                    case CONSTANT:
+                        stack[++top] = constants[code[pc++]];
+                        break;
+                    case VARIABLE:
+                        stack[++top] = values[code[pc++]];
+                        break;
+                    case INVOKE:
+                        top = invoke(elements[code[pc++]], stack, top);
+                        break;
+                    case HOISTED:
+                        stack[++top] = hoisted[code[pc++]];
+                        break;
+                    case STORE:
+                        hoisted[code[pc++]] = stack[top--];
+                        break;
+                    case NOT:
+                        stack[top] = Op.logicalNot(stack[top]);
+                        break;
+                    case NEGATE:
+                        stack[top] = Op.negate(stack[top]);
+                        break;
+                    case ACOS:
+                        stack[top] = Math.acos(stack[top]);
+                        break;
+                    case ASIN:
+                        stack[top] = Math.asin(stack[top]);
+                        break;
+                    case ATAN:
+                        stack[top] = Math.atan(stack[top]);
+                        break;
+                    case CEIL:
+                        stack[top] = Math.ceil(stack[top]);
+                        break;
+                    case COS:
+                        stack[top] = Math.cos(stack[top]);
+                        break;
+                    case COSH:
+                        stack[top] = Math.cosh(stack[top]);
+                        break;
+                    case EXP:
+                        stack[top] = Math.exp(stack[top]);
+                        break;
+                    case ABS:
+                        stack[top] = Math.abs(stack[top]);
+                        break;
+                    case FLOOR:
+                        stack[top] = Math.floor(stack[top]);
+                        break;
+                    case LOG:
+                        stack[top] = Math.log(stack[top]);
+                        break;
+                    case LOG10:
+                        stack[top] = Math.log10(stack[top]);
+                        break;
+                    case SIN:
+                        stack[top] = Math.sin(stack[top]);
+                        break;
+                    case SINH:
+                        stack[top] = Math.sinh(stack[top]);
+                        break;
+                    case SQRT:
+                        stack[top] = Math.sqrt(stack[top]);
+                        break;
+                    case TAN:
+                        stack[top] = Math.tan(stack[top]);
+                        break;
+                    case TANH:
+                        stack[top] = Math.tanh(stack[top]);
+                        break;
+                    case LOG1P:
+                        stack[top] = Math.log1p(stack[top]);
+                        break;
+                    case SQUARE:
+                        stack[top] = stack[top] * stack[top];
+                        break;
+                    case POW:
+                        --top;
+                        stack[top] = Math.pow(stack[top], stack[top + 1]);
+                        break;
+                    case MULTIPLY:
+                        --top;
+                        stack[top] = Op.multiply(stack[top], stack[top + 1]);
+                        break;
+                    case DIVIDE:
+                        --top;
+                        stack[top] = Op.divide(stack[top], stack[top + 1]);
+                        break;
+                    case MODULO:
+                        --top;
+                        stack[top] = Op.modulo(stack[top], stack[top + 1]);
+                        break;
+                    case ADD:
+                        --top;
+                        stack[top] = Op.add(stack[top], stack[top + 1]);
+                        break;
+                    case SUBTRACT:
+                        --top;
+                        stack[top] = Op.subtract(stack[top], stack[top + 1]);
+                        break;
+                    case AND:
+                        --top;
+                        stack[top] = Op.logicalAnd(stack[top], stack[top + 1]);
+                        break;
+                    case OR:
+                        --top;
+                        stack[top] = Op.logicalOr(stack[top], stack[top + 1]);
+                        break;
+                    case GT:
+                        --top;
+                        stack[top] = Op.gt(stack[top], stack[top + 1]);
+                        break;
+                    case GE:
+                        --top;
+                        stack[top] = Op.ge(stack[top], stack[top + 1]);
+                        break;
+                    case EQ:
+                        --top;
+                        stack[top] = Op.eq(stack[top], stack[top + 1]);
+                        break;
+                    case NEQ:
+                        --top;
+                        stack[top] = Op.neq(stack[top], stack[top + 1]);
+                        break;
+                    case LE:
+                        --top;
+                        stack[top] = Op.le(stack[top], stack[top + 1]);
+                        break;
+                    case LT:
+                        --top;
+                        stack[top] = Op.lt(stack[top], stack[top + 1]);
+                        break;
+                    case ATAN2:
+                        --top;
+                        stack[top] = Math.atan2(stack[top], stack[top + 1]);
+                        break;
+                    default:
+                        throw new RuntimeException(String.format(
+                                "[function error] opcode <%d> not recognized", code[pc - 1]));
+                }
+            }
+            return stack[0];
+        }
+
+        static double valueOf(String variable, Map<String, Double> localVariables) {
+            if (localVariables == null) {
+                throw new RuntimeException("[function error] expected a map of "
+                        + "variables, but none was provided");
+            }
+            Double variableValue = localVariables.get(variable);
+            if (variableValue == null) {
+                throw new RuntimeException("[function error] variable "
+                        + "<" + variable + "> not registered in map");
+            }
+            return variableValue;
+        }
+
+        /**
+         Invokes the method of the element by reflection on the arguments at
+         the top of the stack, which are in the order in which the method takes
+         them
+         */
+        private static int invoke(Element element, double[] stack, int top) {
+            Double result;
+            try {
+                switch (element.getArity()) {
+                    case 0:
+                        result = (Double) element.getMethod().invoke(null);
+                        break;
+                    case 1:
+                        result = (Double) element.getMethod().invoke(null, stack[top]);
+                        --top;
+                        break;
+                    case 2:
+                        result = (Double) element.getMethod().invoke(null,
+                                stack[top - 1], stack[top]);
+                        top -= 2;
+                        break;
+                    default:
+                        throw new RuntimeException(String.format(
+                                "[function error] <%d>-ary element <%s> is not supported, "
+                                + "only unary and binary elements are",
+                                element.getArity(), element.toString()));
+                }
+            } catch (RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new RuntimeException("[function error] exception thrown "
+                        + "invoking element <" + element.getName() + ">\n\t"
+                        + ex.toString(), ex);
+            }
+            stack[++top] = result;
+            return top;
+        }
+
+        @Override
+        public Program clone() throws CloneNotSupportedException {
+            Program result = (Program) super.clone();
+            result.stack = new double[this.stack.length];
+            result.hoisted = new double[this.hoisted.length];
+            result.snapshot = new double[this.snapshot.length];
+            result.cached = false;
+            return result;
+        }
+
+        /**
+         The Compiler class flattens an expression tree into the instructions
+         of a Program.
+         */
+        private static class Compiler {
+
+            private int[] code = new int[16];
+            private int size = 0;
+            private int[] prologue = new int[0];
+            private int prologueSize = 0;
+            private double[] constants = new double[4];
+            private int numberOfConstants = 0;
+            private final List<String> variables = new ArrayList<String>();
+            private final List<Element> elements = new ArrayList<Element>();
+            private int depth = 0;
+            private int maximumDepth = 0;
+            private boolean squaring = false;
+            private boolean hoisting = false;
+            private final List<String> hoisted = new ArrayList<String>();
+
+            void emit(Node node) {
+                if (hoisting && isInvariant(node)) {
+                    hoist(node);
+                } else if (node.element != null) {
+                    final int opcode = opcodeOf(node.element);
+                    final int arity = node.element.getMethod() == null ? -1 : node.element.getArity();
+                    if (opcode == INVOKE || arity < 0) {
+                        //the arguments are pushed in the order in which
+                        //Node::evaluate() passes them to the method
+                        if (arity == 2) {
+                            emit(node.right);
+                        }
+                        if (arity >= 1) {
+                            emit(node.left);
+                        }
+                        add(INVOKE, elements.size());
+                        elements.add(node.element);
+                        push(1 - Math.max(arity, 0));
+                    } else if (arity == 1) {
+                        emit(node.left);
+                        add(opcode);
+                    } else if (squaring && opcode == POW && isConstant(node.left, 2.0)) {
+                        emit(node.right);
+                        add(SQUARE);
+                    } else {
+                        emit(node.right);
+                        emit(node.left);
+                        add(opcode);
+                        push(-1);
+                    }
+                } else if (node.variable != null && !node.variable.isEmpty()) {
+                    int index = variables.indexOf(node.variable);
+                    if (index < 0) {
+                        index = variables.size();
+                        variables.add(node.variable);
+                    }
+                    add(VARIABLE, index);
+                    push(1);
+                } else {
+                    if (numberOfConstants == constants.length) {
+                        constants = Arrays.copyOf(constants, 2 * constants.length);
+                    }
+                    constants[numberOfConstants] = node.value;
+                    add(CONSTANT, numberOfConstants++);
+                    push(1);
+                }
+            }
+
+            /**
+             Emits the instructions of the given node into the prologue to
+             store its result, and loads the stored result in its place.
+             Identical subtrees share the same result.
+             */
+            private void hoist(Node node) {
+                final String key = key(node, new StringBuilder()).toString();
+                int index = hoisted.indexOf(key);
+                if (index < 0) {
+                    index = hoisted.size();
+                    hoisted.add(key);
+                    final int[] mainCode = code;
+                    final int mainSize = size, mainDepth = depth;
+                    code = prologue;
+                    size = prologueSize;
+                    depth = 0;
+                    hoisting = false;
+                    emit(node);
+                    add(STORE, index);
+                    hoisting = true;
+                    prologue = code;
+                    prologueSize = size;
+                    code = mainCode;
+                    size = mainSize;
+                    depth = mainDepth;
+                }
+                add(HOISTED, index);
+                push(1);
+            }
+
+            /**
+             Writes the expression tree under the given node in prefix notation
+             with the exact values of its constants
+             */
+            private static StringBuilder key(Node node, StringBuilder result) {
+                if (node.element != null) {
+                    result.append(node.element.getName()).append('(');
+                    if (node.right != null) {
+                        key(node.right, result).append(',');
+                    }
+                    if (node.left != null) {
+                        key(node.left, result);
+                    }
+                    return result.append(')');
+                }
+                if (node.variable != null && !node.variable.isEmpty()) {
+                    return result.append(node.variable);
+                }
+                return result.append(Double.doubleToRawLongBits(node.value)).append('d');
+            }
+
+            private void push(int change) {
+                depth += change;
+                maximumDepth = Math.max(maximumDepth, depth);
+            }
+
+            private void add(int... instruction) {
+                if (size + instruction.length > code.length) {
+                    code = Arrays.copyOf(code, 2 * code.length + instruction.length);
+                }
+                for (int value : instruction) {
+                    code[size++] = value;
+                }
+            }
+
+            int[] code() {
+                return Arrays.copyOf(code, size);
+            }
+
+            int[] prologue() {
+                return Arrays.copyOf(prologue, prologueSize);
+            }
+
+            double[] constants() {
+                return Arrays.copyOf(constants, numberOfConstants);
+            }
+        }
+    }
+
+    private static volatile boolean optimizing = true;
+
+    /**
+     Indicates whether the formulas are simplified when loaded (default is
+     true)
+
+     @return whether the formulas are simplified when loaded
+     @see Program
+     */
+    public static boolean isOptimizing() {
+        return optimizing;
+    }
+
+    /**
+     Sets whether the formulas are simplified when loaded (default is true).
+     The change applies to the formulas loaded afterwards.
+
+     @param optimizing indicates whether the formulas are simplified when
+     loaded
+     @see Program
+     */
+    public static void setOptimizing(boolean optimizing) {
+        Function.optimizing = optimizing;
+    }
+
+    private static volatile boolean generating = false;
+
+    /**
+     Indicates whether the formulas are translated into generated classes when
+     loaded (default is false)
+
+     @return whether the formulas are translated into generated classes when
+     loaded
+     @see Program
+     */
+    public static boolean isGenerating() {
+        return generating;
+    }
+
+    /**
+     Sets whether the formulas are translated into generated classes when
+     loaded (default is false). Generating a class takes considerably longer
+     than compiling a formula, so it pays off only for formulas that are
+     evaluated many times. The change applies to the formulas loaded
+     afterwards.
+
+     @param generating indicates whether the formulas are translated into
+     generated classes when loaded
+     @see Program
+     */
+    public static void setGenerating(boolean generating) {
+        Function.generating = generating;
+    }
+
     /**
      Function term
      */
     private Node root;
+    private Program program;
+    private double[] values;
+    private Variable[] bindings;
+    private int[] bindingIndexes;
+    private int bindingSlotX;
+    private String[] boundNames;
+    private int boundVariables;
+    private boolean partiallyBound;
+    private String[] parameters;
+    private int[] parameterSlots;
     private String formula;
+    private String loadedFormula;
     private Engine engine;
     private Map<String, Double> variables;
 
@@ -525,6 +1387,8 @@ public class Function extends Term {
     public Function(String name, String formula, Engine engine) {
         this.name = name;
         this.root = null;
+        this.program = null;
+        this.boundVariables = -1;
         this.formula = formula;
         this.engine = engine;
         this.variables = new HashMap<String, Double>();
@@ -544,10 +1408,12 @@ public class Function extends Term {
     }
 
     /**
-     Computes the membership function value of `x` at the root node. If the
-     engine has been set, the current values of the input variables and output
-     variables are added to the map of Function::variables. In addition, the
-     variable `x` will also be added to the map.
+     Computes the membership function value of `x` at the root node. The
+     variable `x` takes the given value, the names of the input variables and
+     output variables of the engine (if set) take their current values, and
+     any other variable takes its value from the map of Function::variables.
+     Only the variables referenced in the formula are retrieved, and the map
+     of Function::variables is not modified.
 
      @param x
      @return the membership function value of `x` at the root node
@@ -558,16 +1424,122 @@ public class Function extends Term {
             throw new RuntimeException(String.format(
                     "[function error] function <%s> not loaded.", formula));
         }
-        if (this.engine != null) {
-            for (InputVariable inputVariable : this.engine.getInputVariables()) {
-                this.variables.put(inputVariable.getName(), inputVariable.getValue());
+        if (this.program == null || FuzzyLite.isDebugging()) {
+            Map<String, Double> localVariables = new HashMap<String, Double>(this.variables);
+            if (this.engine != null) {
+                for (InputVariable inputVariable : this.engine.getInputVariables()) {
+                    localVariables.put(inputVariable.getName(), inputVariable.getValue());
+                }
+                for (OutputVariable outputVariable : this.engine.getOutputVariables()) {
+                    localVariables.put(outputVariable.getName(), outputVariable.getValue());
+                }
+            }
+            localVariables.put("x", x);
+            return this.root.evaluate(localVariables);
+        }
+        if (this.engine != null && !isBound()) {
+            bindVariables();
+        }
+        final double[] slots = this.values;
+        for (int i = 0; i < slots.length; ++i) {
+            if (i == this.bindingSlotX) {
+                slots[i] = x;
+            } else if (this.bindings != null && this.bindings[i] != null) {
+                slots[i] = this.bindings[i].getValue();
+            } else {
+                slots[i] = Program.valueOf(this.program.variable(i), this.variables);
+            }
+        }
+        return this.program.evaluate(slots);
+    }
+
+    /**
+     Indicates whether the slots bound to the variables of the engine are
+     still valid, that is, whether the engine has the same number of
+     variables, each bound variable is still at the same position in the
+     engine and has the same name, and no variable of the engine has taken
+     the name of a slot that is not bound
+
+     @return whether the slots bound to the variables are still valid
+     */
+    private boolean isBound() {
+        final Engine engine = this.engine;
+        final int numberOfInputVariables = engine.numberOfInputVariables();
+        if (this.bindings == null || this.boundVariables
+                != numberOfInputVariables + engine.numberOfOutputVariables()) {
+            return false;
+        }
+        for (int i = 0; i < this.bindings.length; ++i) {
+            final int index = this.bindingIndexes[i];
+            if (index < 0) {
+                continue;
+            }
+            final Variable variable = index < numberOfInputVariables
+                    ? engine.getInputVariable(index)
+                    : engine.getOutputVariable(index - numberOfInputVariables);
+            if (variable != this.bindings[i] || variable.getName() != this.boundNames[i]) {
+                return false;
+            }
+        }
+        if (this.partiallyBound) {
+            //the slots not bound are looked up because any variable can be
+            //renamed to their names
+            for (int i = 0; i < this.bindings.length; ++i) {
+                if (i != this.bindingSlotX && this.bindings[i] == null) {
+                    final String name = this.program.variable(i);
+                    if (engine.hasOutputVariable(name) || engine.hasInputVariable(name)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     Binds the slots of the variables referenced in the formula to the output
+     variables and input variables of the engine with the same names. The
+     slots are bound again whenever the variables of the engine are added,
+     removed, replaced or reordered, when a bound variable is renamed, and
+     when a variable is renamed to the name of a slot that is not bound.
+     */
+    private void bindVariables() {
+        this.bindings = new Variable[this.program.numberOfVariables()];
+        this.bindingIndexes = new int[this.bindings.length];
+        this.boundNames = new String[this.bindings.length];
+        this.partiallyBound = false;
+        Arrays.fill(this.bindingIndexes, -1);
+        final List<InputVariable> inputVariables = this.engine.getInputVariables();
+        final List<OutputVariable> outputVariables = this.engine.getOutputVariables();
+        for (int i = 0; i < this.bindings.length; ++i) {
+            if (i == this.bindingSlotX) {
+                continue;
+            }
+            String name = this.program.variable(i);
+            //output variables take precedence over input variables
+            for (int v = 0; v < outputVariables.size(); ++v) {
+                if (name.equals(outputVariables.get(v).getName())) {
+                    this.bindings[i] = outputVariables.get(v);
+                    this.bindingIndexes[i] = inputVariables.size() + v;
+                    break;
+                }
+            }
+            if (this.bindings[i] == null) {
+                for (int v = 0; v < inputVariables.size(); ++v) {
+                    if (name.equals(inputVariables.get(v).getName())) {
+                        this.bindings[i] = inputVariables.get(v);
+                        this.bindingIndexes[i] = v;
+                        break;
+                    }
+                }
             }
-            for (OutputVariable outputVariable : this.engine.getOutputVariables()) {
-                this.variables.put(outputVariable.getName(), outputVariable.getValue());
+            if (this.bindings[i] == null) {
+                this.partiallyBound = true;
+            } else {
+                this.boundNames[i] = this.bindings[i].getName();
             }
         }
-        this.variables.put("x", x);
-        return evaluate(this.variables);
+        this.boundVariables = inputVariables.size() + outputVariables.size();
     }
 
     /**
@@ -594,7 +1566,55 @@ public class Function extends Term {
             throw new RuntimeException("[function error] evaluation failed " +
                     "because function is not loaded");
         }
-        return this.root.evaluate(localVariables);
+        if (this.program == null || FuzzyLite.isDebugging()) {
+            return this.root.evaluate(localVariables);
+        }
+        final double[] slots = this.values;
+        for (int i = 0; i < slots.length; ++i) {
+            slots[i] = Program.valueOf(this.program.variable(i), localVariables);
+        }
+        return this.program.evaluate(slots);
+    }
+
+    /**
+     Computes the function value of this term substituting the given
+     parameters for the given arguments, and any other variable for its value
+     in the map of substitution variables, which is not modified. The slots of
+     the parameters are bound once for each array of parameters, such that
+     repeated evaluations with the same array involve no maps and no boxing.
+
+     @param parameters are the names of the variables to substitute, which
+     should be the same array in every evaluation
+     @param arguments are the values of the parameters in the same order
+     @return the function value of this term substituting the given parameters
+     for the given arguments
+     */
+    public double evaluate(String[] parameters, double[] arguments) {
+        if (this.root == null) {
+            throw new RuntimeException("[function error] evaluation failed " +
+                    "because function is not loaded");
+        }
+        if (this.program == null || FuzzyLite.isDebugging()) {
+            Map<String, Double> localVariables = new HashMap<String, Double>(this.variables);
+            for (int i = 0; i < parameters.length; ++i) {
+                localVariables.put(parameters[i], arguments[i]);
+            }
+            return this.root.evaluate(localVariables);
+        }
+        if (parameters != this.parameters) {
+            this.parameterSlots = new int[this.program.numberOfVariables()];
+            for (int i = 0; i < this.parameterSlots.length; ++i) {
+                this.parameterSlots[i] = Arrays.asList(parameters).indexOf(this.program.variable(i));
+            }
+            this.parameters = parameters;
+        }
+        final double[] slots = this.values;
+        for (int i = 0; i < slots.length; ++i) {
+            final int parameter = this.parameterSlots[i];
+            slots[i] = parameter >= 0 ? arguments[parameter]
+                    : Program.valueOf(this.program.variable(i), this.variables);
+        }
+        return this.program.evaluate(slots);
     }
 
     /**
@@ -625,13 +1645,31 @@ public class Function extends Term {
         if (this.root != null) {
             result.root = this.root.clone();
         }
+        if (this.program != null) {
+            result.program = this.program.clone();
+            result.values = new double[this.values.length];
+        }
+        result.bindings = null;
+        result.boundVariables = -1;
+        result.parameters = null;
+        result.parameterSlots = null;
         result.variables = new HashMap<String, Double>(this.variables);
         return result;
     }
 
+    /**
+     Updates the reference to the engine, loading the formula only if it has
+     changed since it was last loaded, such that the clones of a Function
+     reuse the program (and the generated class, if any) of the original.
+
+     @param engine is the engine to which the formula can refer
+     */
     @Override
     public void updateReference(Engine engine) {
         setEngine(engine);
+        if (isLoaded() && this.loadedFormula.equals(this.formula)) {
+            return;
+        }
         try {
             load();
         } finally {
@@ -648,11 +1686,40 @@ public class Function extends Term {
         return this.root != null;
     }
 
+    /**
+     Indicates whether the formula is loaded and references no variables
+     other than `x`, in which case the function is a membership function of
+     `x` alone
+
+     @return whether the formula is loaded and references no variables other
+     than `x`
+     */
+    public boolean isUnivariate() {
+        return this.root != null && isUnivariate(this.root);
+    }
+
+    private static boolean isUnivariate(Node node) {
+        if (node == null) {
+            return true;
+        }
+        if (node.element != null) {
+            return isUnivariate(node.left) && isUnivariate(node.right);
+        }
+        return node.variable == null || node.variable.isEmpty() || node.variable.equals("x");
+    }
+
     /**
      Unloads the formula and resets the map of substitution variables.
      */
     public void unload() {
         this.root = null;
+        this.loadedFormula = null;
+        this.program = null;
+        this.values = null;
+        this.bindings = null;
+        this.boundVariables = -1;
+        this.parameters = null;
+        this.parameterSlots = null;
         this.variables.clear();
     }
 
@@ -677,7 +1744,9 @@ public class Function extends Term {
 
     /**
      Loads the given formula expressed in infix notation, and sets the engine
-     holding the variables to which the formula refers.
+     holding the variables to which the formula refers. The expression tree of
+     the formula is compiled into a Function::Program, which evaluates the
+     formula without reflection unless debugging is enabled.
 
      @param formula is the right-hand side of a mathematical equation expressed
      in infix notation
@@ -686,12 +1755,28 @@ public class Function extends Term {
      */
     public void load(String formula, Engine engine) {
         this.root = parse(formula);
+        this.program = null;
+        this.values = null;
+        if (this.root != null) {
+            this.program = Program.compile(this.root, optimizing);
+            if (generating) {
+                this.program.generate();
+            }
+            this.values = new double[this.program.numberOfVariables()];
+            this.bindingSlotX = this.program.slotOf("x");
+        }
+        this.bindings = null;
+        this.boundVariables = -1;
+        this.parameters = null;
+        this.parameterSlots = null;
         this.formula = formula;
+        this.loadedFormula = formula;
         this.engine = engine;
     }
 
     /**
-     Translates the given formula to postfix notation
+     Translates the given formula to postfix notation, reusing the translation
+     cached in the FunctionFactory for the same formula if any
 
      @param formula is the right-hand side of a mathematical equation expressed
      in infix notation
@@ -701,6 +1786,10 @@ public class Function extends Term {
      */
     public String toPostfix(String formula) {
         FunctionFactory factory = FactoryManager.instance().function();
+        String cached = factory.getCachedPostfix(formula);
+        if (cached != null) {
+            return cached;
+        }
         //Space the operator to tokenize easier
         Set<String> toSpace = factory.availableOperators();
         toSpace.remove(Rule.FL_AND);
@@ -808,6 +1897,7 @@ public class Function extends Term {
             }
         }
 
+        factory.cachePostfix(formula, result.toString());
         return result.toString();
     }
 
@@ -912,11 +2002,15 @@ public class Function extends Term {
      */
     public void setEngine(Engine engine) {
         this.engine = engine;
+        this.bindings = null;
+        this.boundVariables = -1;
     }
 
     /**
      Gets the root node of the expression tree defining the Function. The root
-     is null if the formula has not been loaded.
+     is null if the formula has not been loaded. The formula is evaluated by the
+     program compiled from the expression tree when it was loaded, hence
+     changes to the nodes are only taken into account when debugging.
 
      @return the root node of the expression tree defining the Function, or null
      if the formula has not been loaded
@@ -925,6 +2019,16 @@ public class Function extends Term {
         return root;
     }
 
+    /**
+     Gets the program compiled from the expression tree
+
+     @return the program compiled from the expression tree, or null if the
+     formula has not been loaded
+     */
+    Program getProgram() {
+        return program;
+    }
+
     /**
      Gets the map of variables to replace their names for their respective
      floating-point values
@@ -0,0 +1,310 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite.term;
+
+import com.fuzzylite.term.Function.Evaluator;
+import com.fuzzylite.term.Function.Program;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ The FunctionCompiler class translates the instructions of a
+ Function::Program into the class file of a Function::Evaluator, and defines
+ the class in its own class loader such that the class is unloaded along with
+ the Program. The class file targets version 49 of the format, whose verifier
+ does not require stack map frames, since the translated instructions contain
+ no branches.
+
+ @author Juan Rada-Vilela, Ph.D.
+ @see Function
+ @see Function::setGenerating()
+ @since 6.0
+ */
+final class FunctionCompiler {
+
+    private static final AtomicInteger CLASSES = new AtomicInteger();
+    private static final String PACKAGE = "com/fuzzylite/term/generated/";
+
+    private static final int ICONST_0 = 0x03, BIPUSH = 0x10, SIPUSH = 0x11,
+            LDC2_W = 0x14, DLOAD_3 = 0x29, ALOAD_0 = 0x2a, ALOAD_1 = 0x2b,
+            ALOAD_2 = 0x2c, DALOAD = 0x31, DSTORE_3 = 0x4a, DASTORE = 0x52,
+            DUP2 = 0x5c, DMUL = 0x6b, DRETURN = 0xaf, RETURN = 0xb1,
+            INVOKESPECIAL = 0xb7, INVOKESTATIC = 0xb8;
+
+    private final int[] prologue;
+    private final int[] code;
+    private final double[] constants;
+    private final int maximumDepth;
+    private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+    private final DataOutputStream poolOutput = new DataOutputStream(pool);
+    private final Map<String, Integer> entries = new HashMap<String, Integer>();
+    private int poolSize = 1;
+
+    /**
+     Creates a compiler for the given instructions of a program
+
+     @param prologue are the instructions that store the results of the
+     hoisted subtrees
+     @param code are the instructions that evaluate the program
+     @param constants are the constants referenced by the instructions
+     @param maximumDepth is the maximum depth of the stack of the program
+     */
+    FunctionCompiler(int[] prologue, int[] code, double[] constants, int maximumDepth) {
+        this.prologue = prologue;
+        this.code = code;
+        this.constants = constants;
+        this.maximumDepth = maximumDepth;
+    }
+
+    /**
+     Generates and instantiates the class that evaluates the instructions
+
+     @return an instance of the generated class
+     @throws RuntimeException if the class cannot be generated
+     */
+    Evaluator generate() {
+        final String name = PACKAGE + "Program" + CLASSES.incrementAndGet();
+        try {
+            byte[] bytes = classFile(name);
+            Class<?> generated = new Loader(Function.class.getClassLoader())
+                    .define(name.replace('/', '.'), bytes);
+            return (Evaluator) generated.getConstructor().newInstance();
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        } catch (NoSuchMethodException ex) {
+            throw new RuntimeException(ex);
+        } catch (InstantiationException ex) {
+            throw new RuntimeException(ex);
+        } catch (IllegalAccessException ex) {
+            throw new RuntimeException(ex);
+        } catch (InvocationTargetException ex) {
+            throw new RuntimeException(ex.getCause());
+        }
+    }
+
+    private byte[] classFile(String name) throws IOException {
+        final String arrays = "([D[D)";
+        final int thisClass = classEntry(name);
+        final int superClass = classEntry("java/lang/Object");
+        final int evaluatorClass = classEntry(Evaluator.class.getName().replace('.', '/'));
+        final int constructor = methodEntry("java/lang/Object", "<init>", "()V");
+
+        ByteArrayOutputStream methods = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(methods);
+        method(output, "<init>", "()V", 1, 1, new byte[]{
+            (byte) ALOAD_0, (byte) INVOKESPECIAL,
+            (byte) (constructor >> 8), (byte) constructor, (byte) RETURN});
+        final int maximumStack = 2 * maximumDepth + 4;
+        method(output, "prologue", arrays + "V", maximumStack, 5,
+                translate(prologue, RETURN));
+        method(output, "evaluate", arrays + "D", maximumStack, 5,
+                translate(code, DRETURN));
+        output.flush();
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        DataOutputStream classFile = new DataOutputStream(result);
+        classFile.writeInt(0xCAFEBABE);
+        classFile.writeShort(0);
+        classFile.writeShort(49);
+        poolOutput.flush();
+        checkSize(poolSize);
+        classFile.writeShort(poolSize);
+        pool.writeTo(classFile);
+        classFile.writeShort(0x0001 | 0x0010 | 0x0020); //public final super
+        classFile.writeShort(thisClass);
+        classFile.writeShort(superClass);
+        classFile.writeShort(1);
+        classFile.writeShort(evaluatorClass);
+        classFile.writeShort(0); //fields
+        classFile.writeShort(3); //methods
+        methods.writeTo(classFile);
+        classFile.writeShort(0); //attributes
+        classFile.flush();
+        return result.toByteArray();
+    }
+
+    private void method(DataOutputStream output, String name, String descriptor,
+            int maximumStack, int maximumLocals, byte[] code) throws IOException {
+        checkSize(code.length);
+        output.writeShort(0x0001); //public
+        output.writeShort(utf8Entry(name));
+        output.writeShort(utf8Entry(descriptor));
+        output.writeShort(1);
+        output.writeShort(utf8Entry("Code"));
+        output.writeInt(12 + code.length);
+        output.writeShort(maximumStack);
+        output.writeShort(maximumLocals);
+        output.writeInt(code.length);
+        output.write(code);
+        output.writeShort(0); //exception table
+        output.writeShort(0); //attributes
+    }
+
+    /**
+     Translates the given instructions into bytecode, where the local variable
+     1 holds the values of the variables, 2 holds the results of the hoisted
+     subtrees, and 3 is a temporary double
+     */
+    private byte[] translate(int[] code, int returnOpcode) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        int pc = 0;
+        while (pc < code.length) {
+            final int opcode = code[pc++];
+            switch (opcode) {
+                case Program.CONSTANT:
+                    output.writeByte(LDC2_W);
+                    output.writeShort(doubleEntry(constants[code[pc++]]));
+                    break;
+                case Program.VARIABLE:
+                    output.writeByte(ALOAD_1);
+                    index(output, code[pc++]);
+                    output.writeByte(DALOAD);
+                    break;
+                case Program.HOISTED:
+                    output.writeByte(ALOAD_2);
+                    index(output, code[pc++]);
+                    output.writeByte(DALOAD);
+                    break;
+                case Program.STORE:
+                    output.writeByte(DSTORE_3);
+                    output.writeByte(ALOAD_2);
+                    index(output, code[pc++]);
+                    output.writeByte(DLOAD_3);
+                    output.writeByte(DASTORE);
+                    break;
+                case Program.SQUARE:
+                    output.writeByte(DUP2);
+                    output.writeByte(DMUL);
+                    break;
+                default:
+                    Method method = Program.methodOf(opcode);
+                    if (method == null) {
+                        throw new RuntimeException(String.format(
+                                "[function error] opcode <%d> cannot be generated", opcode));
+                    }
+                    output.writeByte(INVOKESTATIC);
+                    output.writeShort(methodEntry(
+                            method.getDeclaringClass().getName().replace('.', '/'),
+                            method.getName(),
+                            method.getParameterTypes().length == 1 ? "(D)D" : "(DD)D"));
+            }
+        }
+        output.writeByte(returnOpcode);
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void index(DataOutputStream output, int index) throws IOException {
+        if (index <= 5) {
+            output.writeByte(ICONST_0 + index);
+        } else if (index <= Byte.MAX_VALUE) {
+            output.writeByte(BIPUSH);
+            output.writeByte(index);
+        } else {
+            output.writeByte(SIPUSH);
+            output.writeShort(index);
+        }
+    }
+
+    private static void checkSize(int size) {
+        if (size > 0xFFFF) {
+            throw new RuntimeException("[function error] program is too large to be generated");
+        }
+    }
+
+    private int utf8Entry(String value) throws IOException {
+        Integer result = entries.get("U" + value);
+        if (result == null) {
+            poolOutput.writeByte(1);
+            poolOutput.writeUTF(value);
+            result = add("U" + value, 1);
+        }
+        return result;
+    }
+
+    private int classEntry(String internalName) throws IOException {
+        Integer result = entries.get("C" + internalName);
+        if (result == null) {
+            final int nameEntry = utf8Entry(internalName);
+            poolOutput.writeByte(7);
+            poolOutput.writeShort(nameEntry);
+            result = add("C" + internalName, 1);
+        }
+        return result;
+    }
+
+    private int methodEntry(String owner, String name, String descriptor) throws IOException {
+        final String key = "M" + owner + "." + name + descriptor;
+        Integer result = entries.get(key);
+        if (result == null) {
+            final int ownerEntry = classEntry(owner);
+            final int nameEntry = utf8Entry(name);
+            final int descriptorEntry = utf8Entry(descriptor);
+            poolOutput.writeByte(12);
+            poolOutput.writeShort(nameEntry);
+            poolOutput.writeShort(descriptorEntry);
+            final int nameAndType = add("N" + key, 1);
+            poolOutput.writeByte(10);
+            poolOutput.writeShort(ownerEntry);
+            poolOutput.writeShort(nameAndType);
+            result = add(key, 1);
+        }
+        return result;
+    }
+
+    private int doubleEntry(double value) throws IOException {
+        final long bits = Double.doubleToRawLongBits(value);
+        Integer result = entries.get("D" + bits);
+        if (result == null) {
+            poolOutput.writeByte(6);
+            poolOutput.writeLong(bits);
+            //doubles take two entries of the constant pool
+            result = add("D" + bits, 2);
+        }
+        return result;
+    }
+
+    private int add(String key, int size) {
+        final int result = poolSize;
+        entries.put(key, result);
+        poolSize += size;
+        return result;
+    }
+
+    /**
+     The Loader class defines each generated class in its own class loader,
+     such that the class is unloaded along with its Program.
+     */
+    private static class Loader extends ClassLoader {
+
+        Loader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -105,7 +105,7 @@ public class Gaussian extends Term {
         if (Double.isNaN(x)) {
             return Double.NaN;
         }
-        return height * Math.exp((-(x - mean) * (x - mean))
+        return height * Op.exp((-(x - mean) * (x - mean))
                 / (2.0 * standardDeviation * standardDeviation));
     }
 
@@ -145,6 +145,16 @@ public class Gaussian extends Term {
         this.standardDeviation = standardDeviation;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(mean, standardDeviation);
+    }
+
     @Override
     public Gaussian clone() throws CloneNotSupportedException {
         return (Gaussian) super.clone();
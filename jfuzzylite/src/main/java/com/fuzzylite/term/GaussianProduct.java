@@ -124,11 +124,11 @@ public class GaussianProduct extends Term {
         }
         double a = 1.0, b = 1.0;
         if (Op.isLt(x, meanA)) {
-            a = Math.exp((-(x - meanA) * (x - meanA))
+            a = Op.exp((-(x - meanA) * (x - meanA))
                     / (2.0 * standardDeviationA * standardDeviationA));
         }
         if (Op.isGt(x, meanB)) {
-            b = Math.exp((-(x - meanB) * (x - meanB))
+            b = Op.exp((-(x - meanB) * (x - meanB))
                     / (2.0 * standardDeviationB * standardDeviationB));
         }
         return height * a * b;
@@ -208,6 +208,16 @@ public class GaussianProduct extends Term {
         this.standardDeviationB = standardDeviationB;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(meanA, standardDeviationA, meanB, standardDeviationB);
+    }
+
     @Override
     public GaussianProduct clone() throws CloneNotSupportedException {
         return (GaussianProduct) super.clone();
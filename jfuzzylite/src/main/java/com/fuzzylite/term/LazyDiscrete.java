@@ -0,0 +1,371 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite.term;
+
+import com.fuzzylite.Engine;
+import com.fuzzylite.Op;
+import com.fuzzylite.factory.FactoryManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ The LazyDiscrete class is a term that represents the discretization of a
+ term at a given resolution, that is, the Discrete term obtained by
+ Discrete::discretize(), whose values are computed on demand and cached in
+ blocks of consecutive values. Hence, only the blocks containing the values
+ required by the membership function are computed and stored, which is useful
+ for discretizations at very high resolutions. The values of the decorated
+ term are bounded to `[0.0, 1.0]`.
+
+ The cached blocks are not computed again when the parameters of the
+ decorated term change, for which LazyDiscrete::clear() needs to be called.
+ The term is not thread-safe.
+
+ In the FuzzyLite Language, the term is configured as
+ `term: name LazyDiscrete start end resolution Term parameters`, for example,
+ `term: A LazyDiscrete 0.000 1.000 1000000 Function sin(x) ^ 2`. The other
+ exporters export the term as the Discrete term obtained by
+ LazyDiscrete::toDiscrete().
+
+ @author Juan Rada-Vilela, Ph.D.
+ @see Discrete
+ @see Tabulated
+ @see Term
+ @since 6.0
+ */
+public class LazyDiscrete extends Term {
+
+    /**
+     The number of values in each block is `2^{12}`
+     */
+    public static final int BLOCK_SIZE = 1 << 12;
+    private static final int BLOCK_BITS = 12;
+
+    private Term term;
+    private double start, end;
+    private int resolution;
+    private double step;
+    private double[][] blocks;
+    private int cachedBlocks;
+
+    public LazyDiscrete() {
+        this("");
+    }
+
+    public LazyDiscrete(String name) {
+        this(name, null, Double.NaN, Double.NaN, 0);
+    }
+
+    public LazyDiscrete(String name, Term term, double start, double end, int resolution) {
+        super(name);
+        this.term = term;
+        this.start = start;
+        this.end = end;
+        this.resolution = resolution;
+        clear();
+    }
+
+    /**
+     Returns the parameters of the term
+
+     @return `"start end resolution Term parameters"`
+     */
+    @Override
+    public String parameters() {
+        String result = Op.join(" ", start, end) + " " + resolution;
+        if (term != null) {
+            result += " " + term.getClass().getSimpleName();
+            String parameters = term.parameters();
+            if (!parameters.isEmpty()) {
+                result += " " + parameters;
+            }
+        }
+        return result;
+    }
+
+    /**
+     Configures the term with the parameters, where the decorated term is
+     constructed by the TermFactory
+
+     @param parameters as `"start end resolution Term parameters"`
+     */
+    @Override
+    public void configure(String parameters) {
+        if (parameters.isEmpty()) {
+            return;
+        }
+        List<String> values = Op.split(parameters, " ");
+        int required = 4;
+        if (values.size() < required) {
+            throw new RuntimeException(String.format(
+                    "[configuration error] term <%s> requires <%d> parameters",
+                    this.getClass().getSimpleName(), required));
+        }
+        setStart(Op.toDouble(values.get(0)));
+        setEnd(Op.toDouble(values.get(1)));
+        setResolution((int) Op.toDouble(values.get(2)));
+        Term decorated = FactoryManager.instance().term().constructObject(values.get(3));
+        if (decorated == null) {
+            throw new RuntimeException("[configuration error] term <"
+                    + values.get(3) + "> cannot be discretized");
+        }
+        decorated.setName(getName());
+        decorated.configure(Op.join(new ArrayList<String>(values.subList(4, values.size())), " "));
+        setTerm(decorated);
+    }
+
+    /**
+     Computes the membership function of the discretization evaluated at `x`,
+     which is equal to the membership function of the Discrete term obtained
+     by LazyDiscrete::toDiscrete()
+
+     @param x
+     @return the linear interpolation between the two values of the
+     discretization that bound `x`, or the first or last value if `x` is
+     outside of the range
+     */
+    @Override
+    public double membership(double x) {
+        if (Double.isNaN(x)) {
+            return Double.NaN;
+        }
+        final int last = size() - 1;
+        if (last < 1) {
+            throw new RuntimeException("[discrete error] term is empty");
+        }
+        if (Op.isLE(x, start)) {
+            return height * y(0);
+        }
+        final double xLast = x(last);
+        if (Op.isGE(x, xLast)) {
+            return height * y(last);
+        }
+        //the bracket is adjusted to x[lower] <= x < x[lower + 1] in case of
+        //rounding errors
+        int lower = (int) ((x - start) / step);
+        lower = Math.max(0, Math.min(lower, last - 1));
+        while (lower > 0 && x(lower) > x) {
+            --lower;
+        }
+        while (lower < last - 1 && x(lower + 1) <= x) {
+            ++lower;
+        }
+        final double xLower = x(lower);
+        if (xLower == x) {
+            return height * y(lower);
+        }
+        return height * Op.scale(x, xLower, x(lower + 1), y(lower), y(lower + 1));
+    }
+
+    /**
+     Gets the number of values of the discretization
+
+     @return the number of values of the discretization, that is, the
+     resolution plus one
+     */
+    public int size() {
+        return resolution < 0 ? 0 : resolution + 1;
+    }
+
+    /**
+     Gets the value of `x` at the given index
+
+     @param index is the index of the value
+     @return the value of `x` at the given index
+     */
+    public double x(int index) {
+        return start + index * step;
+    }
+
+    /**
+     Gets the value of `y` at the given index, computing the block of values
+     that contains it if it has not been computed
+
+     @param index is the index of the value
+     @return the value of `y` at the given index
+     */
+    public double y(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "[discrete error] index <%d> out of bounds <%d>", index, size()));
+        }
+        final int block = index >>> BLOCK_BITS;
+        double[] values = blocks[block];
+        if (values == null) {
+            values = computeBlock(block);
+        }
+        return values[index & (BLOCK_SIZE - 1)];
+    }
+
+    private double[] computeBlock(int block) {
+        if (term == null) {
+            throw new RuntimeException("[discrete error] term to discretize is not set");
+        }
+        final int offset = block << BLOCK_BITS;
+        final double[] result = new double[Math.min(BLOCK_SIZE, size() - offset)];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = Op.bound(term.membership(x(offset + i)), 0.0, 1.0);
+        }
+        blocks[block] = result;
+        ++cachedBlocks;
+        return result;
+    }
+
+    /**
+     Gets the number of blocks of values of the discretization
+
+     @return the number of blocks of values of the discretization
+     */
+    public int numberOfBlocks() {
+        return blocks.length;
+    }
+
+    /**
+     Gets the number of blocks of values that have been computed
+
+     @return the number of blocks of values that have been computed
+     */
+    public int numberOfCachedBlocks() {
+        return cachedBlocks;
+    }
+
+    /**
+     Clears the blocks of values, which will be computed again when required
+     */
+    public void clear() {
+        final int size = size();
+        this.step = resolution > 0 ? (end - start) / resolution : Double.NaN;
+        this.blocks = new double[(size + BLOCK_SIZE - 1) >>> BLOCK_BITS][];
+        this.cachedBlocks = 0;
+    }
+
+    /**
+     Creates the Discrete term equivalent to this discretization, using the
+     blocks of values already computed and computing the others
+
+     @return the Discrete term equivalent to this discretization
+     */
+    public Discrete toDiscrete() {
+        final int size = size();
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        for (int i = 0; i < size; ++i) {
+            xs[i] = x(i);
+            ys[i] = y(i);
+        }
+        Discrete result = Discrete.create(getName(), xs, ys, size);
+        result.setHeight(height);
+        return result;
+    }
+
+    /**
+     Gets the decorated term
+
+     @return the decorated term
+     */
+    public Term getTerm() {
+        return term;
+    }
+
+    /**
+     Sets the decorated term
+
+     @param term is the decorated term
+     */
+    public void setTerm(Term term) {
+        this.term = term;
+        clear();
+    }
+
+    /**
+     Gets the start of the range
+
+     @return the start of the range
+     */
+    public double getStart() {
+        return start;
+    }
+
+    /**
+     Sets the start of the range
+
+     @param start is the start of the range
+     */
+    public void setStart(double start) {
+        this.start = start;
+        clear();
+    }
+
+    /**
+     Gets the end of the range
+
+     @return the end of the range
+     */
+    public double getEnd() {
+        return end;
+    }
+
+    /**
+     Sets the end of the range
+
+     @param end is the end of the range
+     */
+    public void setEnd(double end) {
+        this.end = end;
+        clear();
+    }
+
+    /**
+     Gets the number of intervals of the discretization
+
+     @return the number of intervals of the discretization
+     */
+    public int getResolution() {
+        return resolution;
+    }
+
+    /**
+     Sets the number of intervals of the discretization
+
+     @param resolution is the number of intervals of the discretization
+     */
+    public void setResolution(int resolution) {
+        this.resolution = resolution;
+        clear();
+    }
+
+    @Override
+    public void updateReference(Engine engine) {
+        if (term != null) {
+            term.updateReference(engine);
+        }
+    }
+
+    @Override
+    public LazyDiscrete clone() throws CloneNotSupportedException {
+        LazyDiscrete result = (LazyDiscrete) super.clone();
+        if (this.term != null) {
+            result.term = this.term.clone();
+        }
+        //the blocks are not modified once computed, hence they are shared
+        result.blocks = Arrays.copyOf(this.blocks, this.blocks.length);
+        return result;
+    }
+
+}
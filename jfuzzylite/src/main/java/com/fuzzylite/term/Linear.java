@@ -20,8 +20,10 @@ import com.fuzzylite.Engine;
 import com.fuzzylite.Op;
 import com.fuzzylite.variable.InputVariable;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
  The Linear class is a linear polynomial Term expressed as `f(x)=
@@ -34,6 +36,11 @@ import java.util.List;
 
  `\mathbf{c}` and the constant `k`.
 
+ The coefficients are stored in an array of primitive values, which
+ Linear::getCoefficients() presents as a modifiable list. The value of the
+ term is cached during each call to Engine::process(), such that the term is
+ computed once regardless of the number of rules that use it.
+
  @author Juan Rada-Vilela, Ph.D.
  @see Term
  @see Variable
@@ -44,15 +51,19 @@ public class Linear extends Term {
     /**
      Contains the coefficients `c_i` and the constant `k`
      */
-    private List<Double> coefficients;
+    private double[] coefficients;
+    private int numberOfCoefficients;
+    private List<Double> coefficientList;
     private Engine engine;
+    private long cachedCycle;
+    private double cachedValue;
 
     public Linear() {
         this("");
     }
 
     public Linear(String name) {
-        this(name, new ArrayList<Double>(), null);
+        this(name, null, null);
     }
 
     public Linear(String name, List<Double> coefficients) {
@@ -61,8 +72,12 @@ public class Linear extends Term {
 
     public Linear(String name, List<Double> coefficients, Engine engine) {
         super(name);
-        this.coefficients = coefficients;
-        this.engine = engine;
+        this.coefficients = new double[0];
+        this.coefficientList = new CoefficientList();
+        if (coefficients != null) {
+            setCoefficients(coefficients);
+        }
+        setEngine(engine);
     }
 
     /**
@@ -72,7 +87,7 @@ public class Linear extends Term {
      */
     @Override
     public String parameters() {
-        return Op.join(coefficients, " ");
+        return Op.join(coefficientList, " ");
     }
 
     /**
@@ -82,13 +97,13 @@ public class Linear extends Term {
      */
     @Override
     public void configure(String parameters) {
-        coefficients.clear();
+        coefficientList.clear();
         if (parameters.isEmpty()) {
             return;
         }
         List<String> values = Op.split(parameters, " ");
         for (String x : values) {
-            coefficients.add(Op.toDouble(x));
+            coefficientList.add(Op.toDouble(x));
         }
     }
 
@@ -107,11 +122,10 @@ public class Linear extends Term {
      */
     public static Linear create(String name, Engine engine,
             double... coefficients) {
-        List<Double> coefficientsList = new ArrayList<Double>(coefficients.length);
-        for (double coefficient : coefficients) {
-            coefficientsList.add(coefficient);
-        }
-        return new Linear(name, coefficientsList, engine);
+        Linear result = new Linear(name, null, engine);
+        result.coefficients = Arrays.copyOf(coefficients, coefficients.length);
+        result.numberOfCoefficients = coefficients.length;
+        return result;
     }
 
     /**
@@ -124,37 +138,85 @@ public class Linear extends Term {
      */
     @Override
     public double membership(double x) {
-        double result = 0;
-        List<InputVariable> inputVariables = engine.getInputVariables();
+        final long cycle = engine.getProcessCycle();
+        if (cycle != 0 && cycle == cachedCycle) {
+            return cachedValue;
+        }
+        //the input variables are retrieved on each call because they can be
+        //added, removed, replaced or reordered in the engine at any time
+        final List<InputVariable> inputVariables = engine.getInputVariables();
+        final double[] coefficients = this.coefficients;
         final int numberOfVariables = inputVariables.size();
-        final int numberOfCoefficients = coefficients.size();
-        for (int i = 0; i < numberOfVariables; ++i) {
-            if (i < numberOfCoefficients) {
-                result += coefficients.get(i) * inputVariables.get(i).getValue();
-            }
+        final int numberOfCoefficients = this.numberOfCoefficients;
+        double result = 0;
+        for (int i = 0; i < numberOfVariables && i < numberOfCoefficients; ++i) {
+            result += coefficients[i] * inputVariables.get(i).getValue();
         }
         if (numberOfCoefficients > numberOfVariables) {
-            result += coefficients.get(numberOfCoefficients - 1);
+            result += coefficients[numberOfCoefficients - 1];
+        }
+        if (cycle != 0) {
+            cachedCycle = cycle;
+            cachedValue = result;
+        }
+        return result;
+    }
+
+    /**
+     Computes the linear function `f(x)=\sum_i c_iv_i +k` for each row of
+     the given matrix, where `v_i` is the value in column `i` of the row. The
+     columns are taken to be the values of the input variables, and hence
+     each row is computed as Linear::membership() would compute it if the
+     engine had as many input variables as columns.
+
+     @param rows is the matrix of values, where each row has the same number
+     of columns
+     @return the vector with the result of the linear function for each row
+     */
+    public double[] evaluate(double[][] rows) {
+        final double[] result = new double[rows.length];
+        final double[] coefficients = this.coefficients;
+        final int numberOfCoefficients = this.numberOfCoefficients;
+        for (int r = 0; r < rows.length; ++r) {
+            final double[] row = rows[r];
+            final int numberOfVariables = row.length;
+            double value = 0;
+            for (int i = 0; i < numberOfVariables && i < numberOfCoefficients; ++i) {
+                value += coefficients[i] * row[i];
+            }
+            if (numberOfCoefficients > numberOfVariables) {
+                value += coefficients[numberOfCoefficients - 1];
+            }
+            result[r] = value;
         }
         return result;
     }
 
     /**
-     Gets the list of coefficients `\mathbf{c}^\star`
+     Gets the list of coefficients `\mathbf{c}^\star`, which is a view of
+     the coefficients stored in the term
 
      @return the list of coefficients `\mathbf{c}^\star`
      */
     public List<Double> getCoefficients() {
-        return coefficients;
+        return coefficientList;
     }
 
     /**
-     Sets the list `\mathbf{c}^\star` of the linear function
+     Sets the list `\mathbf{c}^\star` of the linear function, whose values
+     are copied into the term
 
      @param coefficients is the list `\mathbf{c}^\star`
      */
     public void setCoefficients(List<Double> coefficients) {
-        this.coefficients = coefficients;
+        double[] values = new double[coefficients.size()];
+        int index = 0;
+        for (Double coefficient : coefficients) {
+            values[index++] = coefficient;
+        }
+        this.coefficients = values;
+        this.numberOfCoefficients = values.length;
+        this.cachedCycle = 0;
     }
 
     /**
@@ -176,6 +238,7 @@ public class Linear extends Term {
      */
     public void setEngine(Engine engine) {
         this.engine = engine;
+        this.cachedCycle = 0;
     }
 
     /**
@@ -194,7 +257,9 @@ public class Linear extends Term {
     @Override
     public Linear clone() throws CloneNotSupportedException {
         Linear result = (Linear) super.clone();
-        result.coefficients = new ArrayList<Double>(this.coefficients);
+        result.coefficients = Arrays.copyOf(this.coefficients, this.numberOfCoefficients);
+        result.coefficientList = result.new CoefficientList();
+        result.cachedCycle = 0;
         return result;
     }
 
@@ -203,4 +268,63 @@ public class Linear extends Term {
         setEngine(engine);
     }
 
+    /**
+     The CoefficientList class presents the array of coefficients of the
+     Linear term as a modifiable list.
+     */
+    private class CoefficientList extends AbstractList<Double> implements RandomAccess {
+
+        @Override
+        public Double get(int index) {
+            checkIndex(index, numberOfCoefficients);
+            return coefficients[index];
+        }
+
+        @Override
+        public Double set(int index, Double element) {
+            checkIndex(index, numberOfCoefficients);
+            double result = coefficients[index];
+            coefficients[index] = element;
+            cachedCycle = 0;
+            return result;
+        }
+
+        @Override
+        public void add(int index, Double element) {
+            checkIndex(index, numberOfCoefficients + 1);
+            if (numberOfCoefficients == coefficients.length) {
+                coefficients = Arrays.copyOf(coefficients, 2 * coefficients.length + 1);
+            }
+            System.arraycopy(coefficients, index, coefficients, index + 1,
+                    numberOfCoefficients - index);
+            coefficients[index] = element;
+            ++numberOfCoefficients;
+            ++modCount;
+            cachedCycle = 0;
+        }
+
+        @Override
+        public Double remove(int index) {
+            checkIndex(index, numberOfCoefficients);
+            double result = coefficients[index];
+            System.arraycopy(coefficients, index + 1, coefficients, index,
+                    numberOfCoefficients - index - 1);
+            --numberOfCoefficients;
+            ++modCount;
+            cachedCycle = 0;
+            return result;
+        }
+
+        @Override
+        public int size() {
+            return numberOfCoefficients;
+        }
+
+        private void checkIndex(int index, int size) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(
+                        "Index: " + index + ", Size: " + numberOfCoefficients);
+            }
+        }
+    }
 }
@@ -0,0 +1,341 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite.term;
+
+import com.fuzzylite.Op;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ The MappedDiscrete class is a Term that represents a discrete membership
+ function whose pairs of values are stored in a binary file that is mapped
+ into memory in read-only mode. Hence, the pairs are not stored in the heap,
+ clones of the term share the same mapping, and the operating system shares
+ the pages of the file amongst all the processes that map it. The membership
+ function is the same as that of the Discrete term, which is computed using
+ binary search to find the lower and upper bounds of `x`.
+
+ The file contains the pairs of values `x_0 y_0 x_1 y_1 ... x_{n-1} y_{n-1}`
+ as consecutive doubles in big-endian byte order (as written by
+ `java.io.DataOutputStream` or by MappedDiscrete::write()), and the pairs
+ **must** be sorted ascendently by `x`, which is verified in a single pass
+ when the file is mapped, as is that no value of `x` is NaN. The file can
+ have at most `2^{31} - 1` bytes, that is, about `1.3\times10^8` pairs.
+
+ In the FuzzyLite Language, the term is configured as
+ `term: name MappedDiscrete file [height]`, where the file is a path without
+ spaces, for example, `term: A MappedDiscrete calibration.bin`. Relative
+ paths are resolved against the working directory of the Java Virtual
+ Machine (i.e., the system property `user.dir`), not against the directory
+ of the file from which the engine is imported. The
+ JavaExporter constructs the term from the same file, and the other exporters
+ export the term as the Discrete term obtained by MappedDiscrete::toDiscrete().
+
+ @author Juan Rada-Vilela, Ph.D.
+ @see Discrete
+ @see Term
+ @since 6.0
+ */
+public class MappedDiscrete extends Term {
+
+    private String file;
+    private DoubleBuffer xy;
+    private int size;
+
+    public MappedDiscrete() {
+        this("");
+    }
+
+    public MappedDiscrete(String name) {
+        this(name, "");
+    }
+
+    public MappedDiscrete(String name, String file) {
+        this(name, file, 1.0);
+    }
+
+    public MappedDiscrete(String name, String file, double height) {
+        super(name, height);
+        setFile(file);
+    }
+
+    /**
+     Returns the parameters of the term
+
+     @return `"file [height]"`
+     */
+    @Override
+    public String parameters() {
+        return file + (!Op.isEq(height, 1.0) ? " " + Op.str(height) : "");
+    }
+
+    /**
+     Configures the term with the parameters
+
+     @param parameters as `"file [height]"`
+     */
+    @Override
+    public void configure(String parameters) {
+        if (parameters.isEmpty()) {
+            return;
+        }
+        List<String> values = Op.split(parameters, " ");
+        int required = 1;
+        if (values.size() < required) {
+            throw new RuntimeException(String.format(
+                    "[configuration error] term <%s> requires <%d> parameters",
+                    this.getClass().getSimpleName(), required));
+        }
+        Iterator<String> it = values.iterator();
+        setFile(it.next());
+        if (values.size() > required) {
+            setHeight(Op.toDouble(it.next()));
+        }
+    }
+
+    /**
+     Computes the membership function evaluated at `x` by using binary
+     search to find the lower and upper bounds of `x` and then linearly
+     interpolating the membership function between the bounds.
+
+     @param x
+     @return `\dfrac{h (y_{\max} - y_{\min})}{(x_{\max}- x_{\min})} (x -
+     x_{\min}) + y_{\min}`
+
+     where `h` is the height of the Term,
+     `x_{\min}` and `x_{\max}`is are the lower and upper limits of
+     `x` in the file (respectively),
+     `y_{\min}` and `y_{\max}`is are the membership functions of
+     `\mu(x_{\min})` and `\mu(x_{\max})` (respectively)
+     */
+    @Override
+    public double membership(double x) {
+        if (Double.isNaN(x)) {
+            return Double.NaN;
+        }
+        if (size == 0) {
+            throw new RuntimeException("[discrete error] term is empty");
+        }
+        final DoubleBuffer xy = this.xy;
+        final int last = size - 1;
+        if (Op.isLE(x, xy.get(0))) {
+            return height * xy.get(1);
+        }
+        if (Op.isGE(x, xy.get(2 * last))) {
+            return height * xy.get(2 * last + 1);
+        }
+        int low = 0;
+        int high = last;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            double value = xy.get(2 * middle);
+            if (value < x) {
+                low = middle + 1;
+            } else if (value > x) {
+                high = middle - 1;
+            } else {
+                return height * xy.get(2 * middle + 1);
+            }
+        }
+        //x is within (x[0], x[n-1]), hence x[low - 1] < x < x[low]
+        final int upper = low;
+        final int lower = upper - 1;
+        return height * Op.scale(x, xy.get(2 * lower), xy.get(2 * upper),
+                xy.get(2 * lower + 1), xy.get(2 * upper + 1));
+    }
+
+    /**
+     Gets the number of pairs in the file
+
+     @return the number of pairs in the file
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     Gets the value of `x` at the given index
+
+     @param index is the index of the pair
+     @return the value of `x` at the given index
+     */
+    public double x(int index) {
+        checkIndex(index);
+        return xy.get(2 * index);
+    }
+
+    /**
+     Gets the value of `y` at the given index
+
+     @param index is the index of the pair
+     @return the value of `y` at the given index
+     */
+    public double y(int index) {
+        checkIndex(index);
+        return xy.get(2 * index + 1);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "[discrete error] index <%d> out of bounds <%d>", index, size));
+        }
+    }
+
+    /**
+     Creates the Discrete term equivalent to this term, reading all the pairs
+     of the file into the heap
+
+     @return the Discrete term equivalent to this term
+     */
+    public Discrete toDiscrete() {
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        for (int i = 0; i < size; ++i) {
+            xs[i] = xy.get(2 * i);
+            ys[i] = xy.get(2 * i + 1);
+        }
+        Discrete result = Discrete.create(getName(), xs, ys, size);
+        result.setHeight(height);
+        return result;
+    }
+
+    /**
+     Writes the pairs of the Discrete term to the given file in the binary
+     format of the MappedDiscrete term
+
+     @param file is the file to write
+     @param discrete is the term whose pairs, sorted ascendently by `x`, are
+     written
+     @throws IOException if any error occurs upon writing to the file
+     */
+    public static void write(File file, Discrete discrete) throws IOException {
+        DataOutputStream writer = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            final int size = discrete.size();
+            for (int i = 0; i < size; ++i) {
+                writer.writeDouble(discrete.x(i));
+                writer.writeDouble(discrete.y(i));
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     Gets the path of the mapped file
+
+     @return the path of the mapped file
+     */
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     Sets the path of the file and maps it into memory in read-only mode. The
+     mapping remains valid until the term is garbage collected.
+
+     @param file is the path of the file to map, relative to the working
+     directory of the Java Virtual Machine unless absolute, or an empty string
+     to unset the file
+     @throws RuntimeException if the file cannot be mapped, or if its values
+     of `x` are not sorted ascendently or contain NaN
+     */
+    public void setFile(String file) {
+        if (file == null || file.isEmpty()) {
+            this.file = "";
+            this.xy = null;
+            this.size = 0;
+            return;
+        }
+        DoubleBuffer buffer;
+        try {
+            RandomAccessFile reader = new RandomAccessFile(file, "r");
+            try {
+                final long length = reader.length();
+                if (length % 16 != 0 || length > Integer.MAX_VALUE) {
+                    throw new RuntimeException(String.format(
+                            "[discrete error] file <%s> of <%d> bytes does not contain "
+                            + "at most 2^31 - 1 bytes of pairs of doubles", file, length));
+                }
+                //the mapping remains valid after the file is closed
+                buffer = reader.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, length)
+                        .asDoubleBuffer();
+            } finally {
+                reader.close();
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("[discrete error] file <" + file
+                    + "> cannot be mapped: " + ex.toString(), ex);
+        }
+        final int pairs = buffer.capacity() / 2;
+        double previous = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < pairs; ++i) {
+            final double x = buffer.get(2 * i);
+            if (!(x >= previous)) {
+                throw new RuntimeException(String.format(
+                        "[discrete error] file <%s> expected values of x sorted ascendently "
+                        + "and not NaN, but found x[%d] = %s after %s",
+                        file, i, Op.str(x), Op.str(previous)));
+            }
+            previous = x;
+        }
+        this.file = file;
+        this.xy = buffer;
+        this.size = buffer.capacity() / 2;
+    }
+
+    /**
+     Indicates that the term can be shared amongst engines, since it only
+     reads the mapped file
+
+     @return `true`
+     */
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    /**
+     Returns the key that identifies the term from its name, height, and the
+     file it maps
+
+     @return the key that identifies the term
+     */
+    @Override
+    public String internKey() {
+        return internKey(new double[0]) + " " + file.length() + ":" + file;
+    }
+
+    @Override
+    public MappedDiscrete clone() throws CloneNotSupportedException {
+        //the mapping is read-only and accessed by absolute indexes, hence it
+        //is shared amongst clones
+        return (MappedDiscrete) super.clone();
+    }
+
+}
@@ -214,6 +214,16 @@ public class PiShape extends Term {
         this.bottomRight = bottomRight;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(bottomLeft, topLeft, topRight, bottomRight);
+    }
+
     @Override
     public PiShape clone() throws CloneNotSupportedException {
         return (PiShape) super.clone();
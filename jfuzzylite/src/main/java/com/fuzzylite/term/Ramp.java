@@ -219,6 +219,16 @@ public class Ramp extends Term {
         return Direction.Negative;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(start, end);
+    }
+
     @Override
     public Ramp clone() throws CloneNotSupportedException {
         return (Ramp) super.clone();
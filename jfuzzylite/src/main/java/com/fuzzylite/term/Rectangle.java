@@ -148,6 +148,16 @@ public class Rectangle extends Term {
         this.end = end;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(start, end);
+    }
+
     @Override
     public Rectangle clone() throws CloneNotSupportedException {
         return (Rectangle) super.clone();
@@ -174,6 +174,16 @@ public class SShape extends Term {
         this.end = end;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(start, end);
+    }
+
     @Override
     public SShape clone() throws CloneNotSupportedException {
         return (SShape) super.clone();
@@ -121,7 +121,7 @@ public class Sigmoid extends Term {
         if (Double.isNaN(x)) {
             return Double.NaN;
         }
-        return height * 1.0 / (1.0 + Math.exp(-slope * (x - inflection)));
+        return height * 1.0 / (1.0 + Op.exp(-slope * (x - inflection)));
     }
 
     @Override
@@ -207,6 +207,16 @@ public class Sigmoid extends Term {
         return Direction.Negative;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(inflection, slope);
+    }
+
     @Override
     public Sigmoid clone() throws CloneNotSupportedException {
         return (Sigmoid) super.clone();
@@ -117,8 +117,8 @@ public class SigmoidDifference extends Term {
         if (Double.isNaN(x)) {
             return Double.NaN;
         }
-        double a = 1.0 / (1.0 + Math.exp(-rising * (x - left)));
-        double b = 1.0 / (1.0 + Math.exp(-falling * (x - right)));
+        double a = 1.0 / (1.0 + Op.exp(-rising * (x - left)));
+        double b = 1.0 / (1.0 + Op.exp(-falling * (x - right)));
         return height * Math.abs(a - b);
     }
 
@@ -194,6 +194,16 @@ public class SigmoidDifference extends Term {
         this.right = rightInflection;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(left, rising, falling, right);
+    }
+
     @Override
     public SigmoidDifference clone() throws CloneNotSupportedException {
         return (SigmoidDifference) super.clone();
@@ -116,8 +116,8 @@ public class SigmoidProduct extends Term {
         if (Double.isNaN(x)) {
             return Double.NaN;
         }
-        double a = 1.0 + Math.exp(-rising * (x - left));
-        double b = 1.0 + Math.exp(-falling * (x - right));
+        double a = 1.0 + Op.exp(-rising * (x - left));
+        double b = 1.0 + Op.exp(-falling * (x - right));
         return height * 1.0 / (a * b);
     }
 
@@ -188,6 +188,16 @@ public class SigmoidProduct extends Term {
         this.right = rightInflection;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(left, rising, falling, right);
+    }
+
     @Override
     public SigmoidProduct clone() throws CloneNotSupportedException {
         return (SigmoidProduct) super.clone();
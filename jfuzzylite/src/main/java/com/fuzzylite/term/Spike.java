@@ -105,7 +105,7 @@ public class Spike extends Term {
         if (Double.isNaN(x)) {
             return Double.NaN;
         }
-        return height * Math.exp(-Math.abs(10.0 / width * (x - center)));
+        return height * Op.exp(-Math.abs(10.0 / width * (x - center)));
     }
 
     /**
@@ -144,6 +144,16 @@ public class Spike extends Term {
         this.width = width;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(center, width);
+    }
+
     @Override
     public Spike clone() throws CloneNotSupportedException {
         return (Spike) super.clone();
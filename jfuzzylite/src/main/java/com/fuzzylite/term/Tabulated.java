@@ -0,0 +1,556 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite.term;
+
+import com.fuzzylite.Engine;
+import com.fuzzylite.Op;
+import com.fuzzylite.factory.FactoryManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ The Tabulated class is a Term that decorates another term by precomputing its
+ membership function on a grid of equally-spaced values within a range, and
+ interpolating between the values of the grid either linearly or cubically
+ (Catmull-Rom). The Tabulated term is useful to replace terms whose membership
+ functions are expensive to compute (e.g., Bell, Gaussian, Sigmoid) at the
+ expense of a small approximation error, which is measured when the grid is
+ computed and reported by Tabulated::getMaximumError(). Outside of the range,
+ the membership function is computed by the decorated term.
+
+ The grid is computed on the first call to Tabulated::membership() after
+ the term is created or any of its parameters is set (including the decorated
+ term), and it is computed again whenever the parameters of the decorated term
+ (see Term::parameters()) differ from those with which the grid was computed.
+ The parameters are compared once per process cycle of the engine of the
+ term (see Engine::getProcessCycle()), and on every call when the term has no
+ engine. Terms whose membership functions depend on the values of the
+ variables of the engine (e.g., Function, Linear) should not be tabulated.
+
+ The grid is immutable and published through a volatile field, hence the
+ threads that share a Tabulated term always interpolate a complete grid.
+
+ The values of the grid can be stored in single precision to halve the
+ memory of the grid, in which case the values have an additional relative
+ error of at most `2^{-24} \approx 6\times10^{-8}`.
+
+ In the FuzzyLite Language, the term is configured as
+ `term: name Tabulated start end resolution interpolation [float] Term
+ parameters`, for example,
+ `term: A Tabulated 0.000 1.000 1024 Linear Gaussian 0.500 0.200`, where the
+ optional keyword `float` stores the values in single precision. The other
+ exporters export the term as the decorated term obtained by
+ Tabulated::toTerm().
+
+ @author Juan Rada-Vilela, Ph.D.
+ @see Term
+ @see Discrete
+ @since 6.0
+ */
+public class Tabulated extends Term {
+
+    /**
+     The Interpolation enum indicates how the membership function is computed
+     between the values of the grid.
+     */
+    public enum Interpolation {
+        /**
+         Linear: interpolates linearly between two values of the grid
+         */
+        Linear,
+        /**
+         Cubic: interpolates with a Catmull-Rom spline through four values of
+         the grid, which is more accurate for smooth membership functions but
+         can overshoot the values of the grid
+         */
+        Cubic
+    }
+
+    /**
+     The Grid class contains the values of the grid computed from the
+     decorated term, together with the parameters with which they were
+     computed.
+     */
+    private static final class Grid {
+
+        private final String parameters;
+        private final double start, end, step;
+        private final int resolution;
+        private final Interpolation interpolation;
+        private final double[] table;
+        private final float[] singleTable;
+        private final double maximumError;
+
+        /**
+         Computes the values of the grid from the given term, and measures the
+         maximum error of the interpolation at the quarters of each interval
+         of the grid
+         */
+        Grid(Term term, double start, double end, int resolution,
+                Interpolation interpolation, boolean singlePrecision) {
+            this.parameters = term.parameters();
+            this.start = start;
+            this.end = end;
+            this.resolution = resolution;
+            this.interpolation = interpolation;
+            final double dx = (end - start) / resolution;
+            final double[] values = new double[resolution + 1];
+            for (int i = 0; i <= resolution; ++i) {
+                values[i] = term.membership(i == resolution ? end : start + i * dx);
+            }
+            this.step = dx;
+            if (singlePrecision) {
+                final float[] singleValues = new float[values.length];
+                for (int i = 0; i < values.length; ++i) {
+                    singleValues[i] = (float) values[i];
+                }
+                this.table = null;
+                this.singleTable = singleValues;
+            } else {
+                this.table = values;
+                this.singleTable = null;
+            }
+            double error = 0.0;
+            for (int i = 0; i < resolution; ++i) {
+                for (int quarter = 1; quarter <= 3; ++quarter) {
+                    double x = start + (i + 0.25 * quarter) * dx;
+                    error = Op.max(error, Math.abs(interpolate(x) - term.membership(x)));
+                }
+            }
+            this.maximumError = error;
+        }
+
+        double interpolate(double x) {
+            final double position = (x - start) / step;
+            int i = (int) position;
+            if (i >= resolution) {
+                i = resolution - 1;
+            }
+            final double t = position - i;
+            final double[] table = this.table;
+            final float[] singleTable = this.singleTable;
+            final double p1, p2;
+            if (table != null) {
+                p1 = table[i];
+                p2 = table[i + 1];
+            } else {
+                p1 = singleTable[i];
+                p2 = singleTable[i + 1];
+            }
+            if (interpolation == Interpolation.Linear) {
+                return p1 + t * (p2 - p1);
+            }
+            //Catmull-Rom spline, whose missing points at the ends of the range
+            //are extrapolated linearly
+            final double p0, p3;
+            if (i == 0) {
+                p0 = 2.0 * p1 - p2;
+            } else {
+                p0 = table != null ? table[i - 1] : singleTable[i - 1];
+            }
+            if (i + 1 == resolution) {
+                p3 = 2.0 * p2 - p1;
+            } else {
+                p3 = table != null ? table[i + 2] : singleTable[i + 2];
+            }
+            return 0.5 * (2.0 * p1 + t * ((p2 - p0)
+                    + t * ((2.0 * p0 - 5.0 * p1 + 4.0 * p2 - p3)
+                    + t * (3.0 * (p1 - p2) + p3 - p0))));
+        }
+    }
+
+    private static final String SINGLE_PRECISION = "float";
+
+    private Term term;
+    private double start, end;
+    private int resolution;
+    private Interpolation interpolation;
+    private Engine engine;
+    private boolean singlePrecision;
+    private volatile Grid grid;
+    private volatile long checkedCycle;
+
+    public Tabulated() {
+        this("");
+    }
+
+    public Tabulated(String name) {
+        this(name, null, Double.NaN, Double.NaN);
+    }
+
+    public Tabulated(String name, Term term, double start, double end) {
+        this(name, term, start, end, 1024, Interpolation.Linear);
+    }
+
+    public Tabulated(String name, Term term, double start, double end,
+            int resolution, Interpolation interpolation) {
+        super(name);
+        this.term = term;
+        this.start = start;
+        this.end = end;
+        this.resolution = resolution;
+        this.interpolation = interpolation;
+        this.checkedCycle = -1;
+    }
+
+    /**
+     Returns the parameters of the term
+
+     @return `"start end resolution interpolation [float] Term parameters"`
+     */
+    @Override
+    public String parameters() {
+        String result = Op.join(" ", start, end) + " " + resolution + " " + interpolation;
+        if (singlePrecision) {
+            result += " " + SINGLE_PRECISION;
+        }
+        if (term != null) {
+            result += " " + term.getClass().getSimpleName();
+            String parameters = term.parameters();
+            if (!parameters.isEmpty()) {
+                result += " " + parameters;
+            }
+        }
+        return result;
+    }
+
+    /**
+     Configures the term with the parameters, where the decorated term is
+     constructed by the TermFactory
+
+     @param parameters as `"start end resolution interpolation [float] Term
+     parameters"`
+     */
+    @Override
+    public void configure(String parameters) {
+        if (parameters.isEmpty()) {
+            return;
+        }
+        List<String> values = Op.split(parameters, " ");
+        int required = 5;
+        if (values.size() < required) {
+            throw new RuntimeException(String.format(
+                    "[configuration error] term <%s> requires <%d> parameters",
+                    this.getClass().getSimpleName(), required));
+        }
+        setStart(Op.toDouble(values.get(0)));
+        setEnd(Op.toDouble(values.get(1)));
+        setResolution((int) Op.toDouble(values.get(2)));
+        setInterpolation(Interpolation.valueOf(values.get(3)));
+        int index = 4;
+        setSinglePrecision(values.get(index).equals(SINGLE_PRECISION));
+        if (singlePrecision) {
+            ++index;
+            if (index == values.size()) {
+                throw new RuntimeException(String.format(
+                        "[configuration error] term <%s> requires <%d> parameters",
+                        this.getClass().getSimpleName(), required + 1));
+            }
+        }
+        Term decorated = FactoryManager.instance().term().constructObject(values.get(index));
+        if (decorated == null) {
+            throw new RuntimeException("[configuration error] term <"
+                    + values.get(index) + "> cannot be tabulated");
+        }
+        decorated.setName(getName());
+        if (this.engine != null) {
+            decorated.updateReference(this.engine);
+        }
+        decorated.configure(Op.join(new ArrayList<String>(values.subList(index + 1, values.size())), " "));
+        setTerm(decorated);
+    }
+
+    /**
+     Computes the membership function evaluated at `x` by interpolating the
+     values of the grid, or by the decorated term if `x` is outside of the
+     range
+
+     @param x
+     @return the interpolated membership function value `\tilde{\mu}(x)`
+     */
+    @Override
+    public double membership(double x) {
+        if (Double.isNaN(x)) {
+            return Double.NaN;
+        }
+        if (term == null) {
+            throw new RuntimeException("[tabulated error] term to tabulate is not set");
+        }
+        final Grid grid = validate();
+        if (!(x >= grid.start && x <= grid.end)) {
+            return term.membership(x);
+        }
+        return grid.interpolate(x);
+    }
+
+    /**
+     Gets the grid, which is computed if it has not been computed since the
+     term was created or any of its parameters was set, or if the parameters
+     of the decorated term have changed since the grid was computed. The
+     parameters of the decorated term are compared once per process cycle of
+     the engine (see Engine::getProcessCycle()), or on every call if the term
+     has no engine.
+
+     @return the grid
+     */
+    private Grid validate() {
+        final Grid grid = this.grid;
+        final Engine engine = this.engine;
+        final long cycle = engine == null ? -1 : engine.getProcessCycle();
+        if (grid != null && cycle >= 0 && cycle == this.checkedCycle) {
+            return grid;
+        }
+        Grid result = grid;
+        if (result == null || !result.parameters.equals(term.parameters())) {
+            result = tabulateGrid();
+        }
+        this.checkedCycle = cycle;
+        return result;
+    }
+
+    /**
+     Computes the values of the grid from the decorated term, and measures the
+     maximum error of the interpolation at the quarters of each interval of
+     the grid. The grid is otherwise computed automatically when the
+     parameters of the decorated term change.
+     */
+    public void tabulate() {
+        tabulateGrid();
+    }
+
+    private Grid tabulateGrid() {
+        if (term == null) {
+            throw new RuntimeException("[tabulated error] term to tabulate is not set");
+        }
+        if (!(start < end) || Double.isInfinite(end - start) || resolution < 1) {
+            throw new RuntimeException(String.format("[tabulated error] "
+                    + "expected a finite range with start < end and a resolution >= 1, "
+                    + "but found range [%s, %s] and resolution <%d>",
+                    Op.str(start), Op.str(end), resolution));
+        }
+        final Grid result = new Grid(term, start, end, resolution, interpolation, singlePrecision);
+        this.grid = result;
+        return result;
+    }
+
+    /**
+     Computes the maximum absolute error between the interpolated and the
+     exact membership functions at the given number of equally-spaced values
+     within the range
+
+     @param samples is the number of values at which the error is measured
+     @return the maximum absolute error measured
+     */
+    public double computeError(int samples) {
+        if (term == null) {
+            throw new RuntimeException("[tabulated error] term to tabulate is not set");
+        }
+        final Grid grid = validate();
+        double result = 0.0;
+        for (int i = 0; i < samples; ++i) {
+            double x = samples == 1 ? start : start + i * (end - start) / (samples - 1);
+            result = Op.max(result, Math.abs(grid.interpolate(x) - term.membership(x)));
+        }
+        return result;
+    }
+
+    @Override
+    public double tsukamoto(double activationDegree, double minimum, double maximum) {
+        return term.tsukamoto(activationDegree, minimum, maximum);
+    }
+
+    @Override
+    public boolean isMonotonic() {
+        return term != null && term.isMonotonic();
+    }
+
+    /**
+     Gets the maximum absolute error of the interpolation measured at the
+     quarters of each interval of the grid when the grid was last computed
+
+     @return the maximum absolute error of the interpolation, or NaN if the
+     term to tabulate is not set
+     */
+    public double getMaximumError() {
+        if (term == null) {
+            return Double.NaN;
+        }
+        return validate().maximumError;
+    }
+
+    /**
+     Creates a copy of the decorated term with the name of this term, which is
+     the term exported by the formats that do not support the Tabulated term
+
+     @return a copy of the decorated term with the name of this term
+     */
+    public Term toTerm() {
+        if (term == null) {
+            throw new RuntimeException("[tabulated error] term to tabulate is not set");
+        }
+        try {
+            Term result = term.clone();
+            result.setName(getName());
+            return result;
+        } catch (CloneNotSupportedException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     Gets the decorated term
+
+     @return the decorated term
+     */
+    public Term getTerm() {
+        return term;
+    }
+
+    /**
+     Sets the decorated term
+
+     @param term is the decorated term
+     */
+    public void setTerm(Term term) {
+        this.term = term;
+        invalidate();
+    }
+
+    /**
+     Gets the start of the range
+
+     @return the start of the range
+     */
+    public double getStart() {
+        return start;
+    }
+
+    /**
+     Sets the start of the range
+
+     @param start is the start of the range
+     */
+    public void setStart(double start) {
+        this.start = start;
+        invalidate();
+    }
+
+    /**
+     Gets the end of the range
+
+     @return the end of the range
+     */
+    public double getEnd() {
+        return end;
+    }
+
+    /**
+     Sets the end of the range
+
+     @param end is the end of the range
+     */
+    public void setEnd(double end) {
+        this.end = end;
+        invalidate();
+    }
+
+    /**
+     Gets the number of intervals of the grid
+
+     @return the number of intervals of the grid
+     */
+    public int getResolution() {
+        return resolution;
+    }
+
+    /**
+     Sets the number of intervals of the grid
+
+     @param resolution is the number of intervals of the grid
+     */
+    public void setResolution(int resolution) {
+        this.resolution = resolution;
+        invalidate();
+    }
+
+    /**
+     Gets the interpolation between the values of the grid
+
+     @return the interpolation between the values of the grid
+     */
+    public Interpolation getInterpolation() {
+        return interpolation;
+    }
+
+    /**
+     Sets the interpolation between the values of the grid
+
+     @param interpolation is the interpolation between the values of the grid
+     */
+    public void setInterpolation(Interpolation interpolation) {
+        this.interpolation = interpolation;
+        invalidate();
+    }
+
+    /**
+     Indicates whether the values of the grid are stored in single precision
+
+     @return whether the values of the grid are stored in single precision
+     */
+    public boolean isSinglePrecision() {
+        return singlePrecision;
+    }
+
+    /**
+     Sets whether the values of the grid are stored in single precision,
+     which halves the memory of the grid at the cost of an additional
+     relative error of at most `2^{-24}` in the values of the grid
+
+     @param singlePrecision indicates whether the values of the grid are
+     stored in single precision
+     */
+    public void setSinglePrecision(boolean singlePrecision) {
+        this.singlePrecision = singlePrecision;
+        invalidate();
+    }
+
+    private void invalidate() {
+        this.grid = null;
+        this.checkedCycle = -1;
+    }
+
+    @Override
+    public void updateReference(Engine engine) {
+        this.engine = engine;
+        this.checkedCycle = -1;
+        if (term != null) {
+            term.updateReference(engine);
+        }
+    }
+
+    @Override
+    public Tabulated clone() throws CloneNotSupportedException {
+        Tabulated result = (Tabulated) super.clone();
+        if (this.term != null) {
+            result.term = this.term.clone();
+        }
+        result.checkedCycle = -1;
+        return result;
+    }
+
+}
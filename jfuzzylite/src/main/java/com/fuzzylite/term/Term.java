@@ -184,4 +184,63 @@ public abstract class Term implements Op.Cloneable {
     public boolean isMonotonic() {
         return false;
     }
+
+    /**
+     Indicates whether the term can be shared amongst variables and engines,
+     which is the case for terms that neither refer to an engine nor change
+     their state when they are evaluated. Shared terms must not be modified,
+     as the changes would affect every variable and engine sharing them.
+
+     @return whether the term can be shared amongst variables and engines
+     */
+    public boolean isShareable() {
+        return false;
+    }
+
+    /**
+     Returns the key that identifies the term when interning the shareable
+     terms of engines, such that terms with equal keys are of the same class
+     and have the same name, height, and exact values of their parameters
+     (as confirmed by Term::internEquals())
+
+     @return the key that identifies the term, or null if the term is not
+     interned
+     @see Engine::internTerms()
+     */
+    public String internKey() {
+        return null;
+    }
+
+    /**
+     Indicates whether the given term, whose Term::internKey() is equal to the
+     key of this term, is equal to this term. The keys of most terms contain
+     the exact values of their parameters, in which case equal keys suffice,
+     but the keys of terms with many parameters (e.g., Discrete) contain a
+     hash of their values instead.
+
+     @param term is the term whose key is equal to the key of this term
+     @return whether the term is equal to this term
+     @see Engine::internTerms()
+     */
+    public boolean internEquals(Term term) {
+        return true;
+    }
+
+    /**
+     Creates the key that identifies the term from its class, name, height, and
+     the exact values of the given parameters
+
+     @param parameters are the values of the parameters of the term
+     @return the key that identifies the term
+     @see Term::internKey()
+     */
+    protected String internKey(double... parameters) {
+        StringBuilder result = new StringBuilder(getClass().getName());
+        result.append(' ').append(name.length()).append(':').append(name);
+        result.append(' ').append(Long.toHexString(Double.doubleToLongBits(height)));
+        for (double parameter : parameters) {
+            result.append(' ').append(Long.toHexString(Double.doubleToLongBits(parameter)));
+        }
+        return result.toString();
+    }
 }
@@ -207,6 +207,16 @@ public class Trapezoid extends Term {
         this.vertexD = d;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(vertexA, vertexB, vertexC, vertexD);
+    }
+
     @Override
     public Trapezoid clone() throws CloneNotSupportedException {
         return (Trapezoid) super.clone();
@@ -179,6 +179,16 @@ public class Triangle extends Term {
         this.vertexC = c;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(vertexA, vertexB, vertexC);
+    }
+
     @Override
     public Triangle clone() throws CloneNotSupportedException {
         return (Triangle) super.clone();
@@ -172,6 +172,16 @@ public class ZShape extends Term {
         this.end = end;
     }
 
+    @Override
+    public boolean isShareable() {
+        return true;
+    }
+
+    @Override
+    public String internKey() {
+        return internKey(start, end);
+    }
+
     @Override
     public ZShape clone() throws CloneNotSupportedException {
         return (ZShape) super.clone();
@@ -70,4 +70,9 @@ public class InputVariable extends Variable {
         return (InputVariable) super.clone();
     }
 
+    @Override
+    public InputVariable cloneWithoutTerms() throws CloneNotSupportedException {
+        return (InputVariable) super.cloneWithoutTerms();
+    }
+
 }
@@ -325,7 +325,12 @@ public class OutputVariable extends Variable {
 
     @Override
     public OutputVariable clone() throws CloneNotSupportedException {
-        OutputVariable result = (OutputVariable) super.clone();
+        return (OutputVariable) super.clone();
+    }
+
+    @Override
+    public OutputVariable cloneWithoutTerms() throws CloneNotSupportedException {
+        OutputVariable result = (OutputVariable) super.cloneWithoutTerms();
         result.fuzzyOutput = this.fuzzyOutput.clone();
         if (this.defuzzifier != null) {
             result.defuzzifier = this.defuzzifier.clone();
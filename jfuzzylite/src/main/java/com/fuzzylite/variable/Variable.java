@@ -492,12 +492,25 @@ public class Variable implements Op.Cloneable {
      */
     @Override
     public Variable clone() throws CloneNotSupportedException {
-        Variable result = (Variable) super.clone();
-        result.terms = new ArrayList<Term>(this.terms.size());
+        Variable result = cloneWithoutTerms();
         for (Term term : this.terms) {
             result.terms.add(term.clone());
         }
         return result;
     }
 
+    /**
+     Creates a clone of the variable whose list of terms is empty, which
+     allows the caller to add the terms of the variable (or clones of them)
+     without cloning every term beforehand
+
+     @return a clone of the variable without terms
+     @throws CloneNotSupportedException
+     */
+    public Variable cloneWithoutTerms() throws CloneNotSupportedException {
+        Variable result = (Variable) super.clone();
+        result.terms = new ArrayList<Term>(this.terms.size());
+        return result;
+    }
+
 }
@@ -18,6 +18,7 @@ package com.fuzzylite;
 
 import com.fuzzylite.imex.FldExporter;
 import com.fuzzylite.imex.FllImporter;
+import com.fuzzylite.term.Function;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -30,6 +31,7 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Level;
 
@@ -173,6 +175,198 @@ public class BenchmarkTest {
                 " "));
     }
 
+    @Test
+    public void testGeneratedFunctions() throws IOException {
+        String path = "../examples/";
+        String[] examples = new String[]{"takagi-sugeno/approximation", null};
+        //an engine whose output terms are Function terms integrated by Centroid
+        String integrated = "Engine: integrated\n"
+                + "InputVariable: speed\n"
+                + "  range: 0.000 1.000\n"
+                + "  term: slow Ramp 1.000 0.000\n"
+                + "  term: fast Ramp 0.000 1.000\n"
+                + "OutputVariable: power\n"
+                + "  range: 0.000 1.000\n"
+                + "  term: low Function exp(~(x - 0.25 * speed) ^ 2 / 0.02)\n"
+                + "  term: high Function exp(~(x - 0.5 - 0.5 * sin(speed)) ^ 2 / 0.02)\n"
+                + "  aggregation: Maximum\n"
+                + "  defuzzifier: Centroid 1000\n"
+                + "  default: nan\n"
+                + "RuleBlock: rules\n"
+                + "  implication: Minimum\n"
+                + "  activation: General\n"
+                + "  rule: if speed is slow then power is low\n"
+                + "  rule: if speed is fast then power is high\n";
+
+        StringBuilder writer = new StringBuilder("\n");
+        for (String example : examples) {
+            List<double[]> expected = null;
+            for (boolean generating : new boolean[]{false, true}) {
+                Function.setGenerating(generating);
+                Engine engine;
+                try {
+                    engine = example == null ? new FllImporter().fromString(integrated)
+                            : new FllImporter().fromFile(new File(path, example + ".fll"));
+                } finally {
+                    Function.setGenerating(false);
+                }
+                String name = engine.getName() + (generating ? " (generated)" : " (interpreted)");
+                Benchmark benchmark = new Benchmark(name, engine, 0.0);
+                if (example == null) {
+                    benchmark.prepare(1024, FldExporter.ScopeOfValues.AllVariables);
+                } else {
+                    benchmark.prepare(new FileReader(new File(path, example + ".fld")), 1024);
+                }
+                if (expected != null) {
+                    benchmark.setExpected(expected);
+                }
+                benchmark.run(3);
+                if (expected == null) {
+                    expected = new ArrayList<double[]>(benchmark.getObtained());
+                } else {
+                    Assert.assertThat("benchmark " + name + " obtains the same values",
+                            benchmark.allErrors(), is(0));
+                }
+                writer.append(benchmark.format(benchmark.results(),
+                        Benchmark.TableShape.Horizontal, Benchmark.TableContents.Body))
+                        .append("\n");
+            }
+        }
+        FuzzyLite.logger().info(writer.toString());
+    }
+
+    private static void findExamples(File directory, List<File> examples) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            if (file.isDirectory()) {
+                findExamples(file, examples);
+            } else if (file.getName().endsWith(".fll")) {
+                String path = file.getPath();
+                if (new File(path.substring(0, path.length() - 4) + ".fld").isFile()) {
+                    examples.add(file);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFastMath() throws IOException {
+        List<File> examples = new ArrayList<File>();
+        findExamples(new File("../examples/"), examples);
+        Assert.assertThat(examples.isEmpty(), is(false));
+
+        final int runs = 3;
+        StringBuilder writer = new StringBuilder("\n")
+                .append("example\texact(ms)\tfast(ms)\tspeedup\tmax.deviation\n");
+        double exactTotal = 0.0, fastTotal = 0.0, deviationTotal = 0.0;
+        for (File example : examples) {
+            String path = example.getPath();
+            File fld = new File(path.substring(0, path.length() - 4) + ".fld");
+            Engine engine = new FllImporter().fromFile(example);
+
+            Benchmark exact = new Benchmark(engine.getName(), engine, 0.0);
+            exact.prepare(new FileReader(fld), 1024);
+            double exactTime = Op.mean(exact.run(runs));
+            List<double[]> expected = exact.getObtained();
+
+            Benchmark fast = new Benchmark(engine.getName(), engine, 0.0);
+            fast.setExpected(expected);
+            double fastTime;
+            try {
+                FuzzyLite.setFastMath(true);
+                fastTime = Op.mean(fast.run(runs));
+            } finally {
+                FuzzyLite.setFastMath(false);
+            }
+
+            //deviation relative to the range of each output variable
+            double deviation = 0.0;
+            final int offset = engine.numberOfInputVariables();
+            for (int i = 0; i < expected.size(); ++i) {
+                for (int o = 0; o < engine.numberOfOutputVariables(); ++o) {
+                    double a = expected.get(i)[offset + o];
+                    double b = fast.getObtained().get(i)[offset + o];
+                    Assert.assertThat(example.getName() + " obtains the same non-finite values",
+                            Op.isFinite(a), is(Op.isFinite(b)));
+                    if (Op.isFinite(a)) {
+                        double range = engine.getOutputVariable(o).range();
+                        deviation = Op.max(deviation, Math.abs(a - b) / (range > 0.0 ? range : 1.0));
+                    }
+                }
+            }
+            Assert.assertThat(example.getName() + " deviates less than 1e-4 of the range",
+                    deviation < 1e-4, is(true));
+            exactTotal += exactTime;
+            fastTotal += fastTime;
+            deviationTotal = Op.max(deviationTotal, deviation);
+            writer.append(String.format("%s\t%s\t%s\t%s\t%s\n", example.getPath(),
+                    Op.str(exactTime / 1e6), Op.str(fastTime / 1e6),
+                    Op.str(exactTime / fastTime), String.valueOf(deviation)));
+        }
+        writer.append(String.format("total\t%s\t%s\t%s\t%s\n",
+                Op.str(exactTotal / 1e6), Op.str(fastTotal / 1e6),
+                Op.str(exactTotal / fastTotal), String.valueOf(deviationTotal)));
+        FuzzyLite.logger().info(writer.toString());
+    }
+
+    @Test
+    public void testSinglePrecision() throws IOException {
+        List<File> examples = new ArrayList<File>();
+        findExamples(new File("../examples/"), examples);
+        StringBuilder writer = new StringBuilder("\n")
+                .append("example\trows\tmax.deviation\tmean.deviation\n");
+        for (File example : examples) {
+            String path = example.getPath();
+            File fld = new File(path.substring(0, path.length() - 4) + ".fld");
+            Engine engine = new FllImporter().fromFile(example);
+            Benchmark benchmark = new Benchmark(engine.getName(), engine);
+            benchmark.prepare(new FileReader(fld), 1024);
+
+            final int numberOfInputs = engine.numberOfInputVariables();
+            final int numberOfOutputs = engine.numberOfOutputVariables();
+            final int rows = benchmark.getExpected().size();
+            double[] inputs = new double[rows * numberOfInputs];
+            float[] singleInputs = new float[rows * numberOfInputs];
+            for (int row = 0; row < rows; ++row) {
+                for (int i = 0; i < numberOfInputs; ++i) {
+                    inputs[row * numberOfInputs + i] = benchmark.getExpected().get(row)[i];
+                    singleInputs[row * numberOfInputs + i] = (float) inputs[row * numberOfInputs + i];
+                }
+            }
+            double[] outputs = new double[rows * numberOfOutputs];
+            float[] singleOutputs = new float[rows * numberOfOutputs];
+            engine.process(inputs, outputs);
+            engine.restart();
+            engine.process(singleInputs, singleOutputs);
+
+            //deviation relative to the range of each output variable
+            double maximum = 0.0, sum = 0.0;
+            int finite = 0;
+            for (int row = 0; row < rows; ++row) {
+                for (int o = 0; o < numberOfOutputs; ++o) {
+                    double a = outputs[row * numberOfOutputs + o];
+                    double b = singleOutputs[row * numberOfOutputs + o];
+                    if (Op.isFinite(a) && Op.isFinite(b)) {
+                        double range = engine.getOutputVariable(o).range();
+                        double deviation = Math.abs(a - b) / (range > 0.0 ? range : 1.0);
+                        maximum = Op.max(maximum, deviation);
+                        sum += deviation;
+                        ++finite;
+                    }
+                }
+            }
+            Assert.assertThat(example.getName() + " deviates less than 1e-3 of the range",
+                    maximum < 1e-3, is(true));
+            writer.append(String.format("%s\t%d\t%s\t%s\n", example.getPath(), rows,
+                    String.valueOf(maximum), String.valueOf(finite == 0 ? 0.0 : sum / finite)));
+        }
+        FuzzyLite.logger().info(writer.toString());
+    }
+
     @Test
     public void testHeaders() {
         Benchmark benchmark = new Benchmark();
@@ -0,0 +1,394 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite;
+
+import com.fuzzylite.imex.FllExporter;
+import com.fuzzylite.imex.FllImporter;
+import com.fuzzylite.term.Discrete;
+import com.fuzzylite.term.Linear;
+import com.fuzzylite.term.Term;
+import com.fuzzylite.variable.InputVariable;
+import com.fuzzylite.variable.OutputVariable;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+public class EngineTest {
+
+    public EngineTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    private static void assertSameOutputs(Engine a, Engine b) {
+        for (double x = 1.0; x <= 10.0; x += 0.5) {
+            for (int i = 0; i < a.numberOfInputVariables(); ++i) {
+                a.getInputVariable(i).setValue(x + i);
+                b.getInputVariable(i).setValue(x + i);
+            }
+            a.process();
+            b.process();
+            for (int i = 0; i < a.numberOfOutputVariables(); ++i) {
+                Assert.assertThat(b.getOutputVariable(i).getValue(),
+                        is(a.getOutputVariable(i).getValue()));
+            }
+        }
+    }
+
+    @Test
+    public void testCloneKeepsReferencesOfOriginal() throws Exception {
+        Engine engine = new FllImporter().fromFile(
+                new File("../examples/takagi-sugeno/octave/linear_tip_calculator.fll"));
+        Engine clone = engine.clone();
+        Linear linear = (Linear) engine.getOutputVariable(0).getTerm(0);
+        Linear linearClone = (Linear) clone.getOutputVariable(0).getTerm(0);
+        Assert.assertThat(linear.getEngine(), is(sameInstance(engine)));
+        Assert.assertThat(linearClone.getEngine(), is(sameInstance(clone)));
+        assertSameOutputs(engine, clone);
+    }
+
+    @Test
+    public void testClonesShareTerms() throws Exception {
+        Engine engine = new FllImporter().fromFile(
+                new File("../examples/takagi-sugeno/octave/linear_tip_calculator.fll"));
+        Assert.assertThat(engine.isSharingTerms(), is(false));
+        Engine copy = engine.clone();
+        Assert.assertThat(copy.getInputVariable(0).getTerm(0),
+                is(not(sameInstance(engine.getInputVariable(0).getTerm(0)))));
+
+        engine.setSharingTerms(true);
+        Engine clone = engine.clone();
+        Assert.assertThat(clone.isSharingTerms(), is(true));
+        for (InputVariable inputVariable : engine.getInputVariables()) {
+            for (Term term : inputVariable.getTerms()) {
+                Assert.assertThat(clone.getInputVariable(inputVariable.getName()).getTerm(term.getName()),
+                        is(sameInstance(term)));
+            }
+        }
+        for (OutputVariable outputVariable : engine.getOutputVariables()) {
+            for (Term term : outputVariable.getTerms()) {
+                Term cloned = clone.getOutputVariable(outputVariable.getName()).getTerm(term.getName());
+                Assert.assertThat(cloned, is(not(sameInstance(term))));
+                Assert.assertThat(((Linear) cloned).getEngine(), is(sameInstance(clone)));
+            }
+        }
+        Assert.assertThat(new FllExporter().toString(clone), is(new FllExporter().toString(engine)));
+        assertSameOutputs(engine, clone);
+        assertSameOutputs(engine, clone.clone());
+    }
+
+    @Test
+    public void testInternTerms() throws Exception {
+        File file = new File("../examples/mamdani/AllTerms.fll");
+        Engine engine = new FllImporter().fromFile(file);
+        Engine interned = new FllImporter().fromFile(file);
+        //the output variable has the same terms as the input variable
+        Assert.assertThat(interned.internTerms(), is(20));
+        Assert.assertThat(interned.getOutputVariable(0).getTerm("H"),
+                is(sameInstance(interned.getInputVariable(0).getTerm("H"))));
+        Assert.assertThat(interned.internTerms(), is(0));
+        Assert.assertThat(interned.isReady(), is(true));
+        assertSameOutputs(engine, interned);
+
+        Map<String, Term> pool = new HashMap<String, Term>();
+        Assert.assertThat(engine.internTerms(pool), is(20));
+        Assert.assertThat(pool.size(), is(20));
+        Engine other = new FllImporter().fromFile(file);
+        other.getInputVariable(0).getTerm("I").setHeight(0.5);
+        Assert.assertThat(other.internTerms(pool), is(39));
+        Assert.assertThat(other.getInputVariable(0).getTerm("A"),
+                is(sameInstance(engine.getInputVariable(0).getTerm("A"))));
+        Assert.assertThat(other.getInputVariable(0).getTerm("I"),
+                is(not(sameInstance(engine.getInputVariable(0).getTerm("I")))));
+        Assert.assertThat(other.getInputVariable(0).getTerm("I").getHeight(), is(0.5));
+    }
+
+    @Test
+    public void testInternDiscreteTerms() {
+        //the unused capacity of the pairs does not prevent interning
+        Discrete exact = Discrete.create("D", 0.0, 0.0, 0.5, 1.0, 1.0, 0.0);
+        Discrete removed = Discrete.create("D", 0.0, 0.0, 0.5, 1.0, 1.0, 0.0, 2.0, 2.0);
+        removed.getXY().remove(3);
+        Discrete added = new Discrete("D");
+        for (Discrete.Pair pair : exact.getXY()) {
+            added.getXY().add(pair);
+        }
+        Assert.assertThat(removed.internKey(), is(exact.internKey()));
+        Assert.assertThat(added.internKey(), is(exact.internKey()));
+
+        Map<String, Term> pool = new HashMap<String, Term>();
+        for (Discrete discrete : new Discrete[]{exact, removed, added}) {
+            Engine engine = new Engine();
+            InputVariable x = new InputVariable("x", 0.0, 1.0);
+            x.addTerm(discrete);
+            engine.addInputVariable(x);
+            engine.internTerms(pool);
+            Assert.assertThat(x.getTerm("D"), is(sameInstance((Term) exact)));
+        }
+        Assert.assertThat(pool.size(), is(1));
+
+        removed.setHeight(0.5);
+        Assert.assertThat(removed.internKey(), is(not(exact.internKey())));
+        added.getXY().set(1, new Discrete.Pair(0.5, 0.9));
+        Assert.assertThat(added.internKey(), is(not(exact.internKey())));
+        //the keys contain a hash of the pairs, whose equality is confirmed
+        Assert.assertThat(exact.internEquals(removed), is(true));
+        Assert.assertThat(exact.internEquals(added), is(false));
+    }
+
+    @Test
+    public void testProcessRows() throws Exception {
+        Engine engine = new FllImporter().fromFile(new File("../examples/mamdani/SimpleDimmer.fll"));
+        final int rows = 101;
+        double[] inputs = new double[rows];
+        float[] singleInputs = new float[rows];
+        for (int i = 0; i < rows; ++i) {
+            inputs[i] = i / 100.0;
+            singleInputs[i] = (float) inputs[i];
+        }
+        double[] outputs = new double[rows];
+        Assert.assertThat(engine.process(inputs, outputs), is(rows));
+        float[] singleOutputs = new float[rows];
+        Assert.assertThat(engine.process(singleInputs, singleOutputs), is(rows));
+        for (int i = 0; i < rows; ++i) {
+            engine.setInputValue("Ambient", inputs[i]);
+            engine.process();
+            Assert.assertThat(outputs[i], is(engine.getOutputValue("Power")));
+            if (Double.isNaN(outputs[i])) {
+                Assert.assertThat(Float.isNaN(singleOutputs[i]), is(true));
+            } else {
+                Assert.assertThat(Math.abs(singleOutputs[i] - outputs[i]) < 1e-6, is(true));
+            }
+        }
+        try {
+            engine.process(new double[2], new double[1]);
+            Assert.fail("expected an exception for the number of output values");
+        } catch (RuntimeException ex) {
+            Assert.assertThat(ex.getMessage().startsWith("[engine error]"), is(true));
+        }
+    }
+
+    @Test
+    public void testEngineState() throws Exception {
+        Engine engine = new FllImporter().fromFile(new File("../examples/mamdani/SimpleDimmer.fll"));
+        EngineState state = engine.newState();
+        Assert.assertThat(state.numberOfInputVariables(), is(1));
+        Assert.assertThat(state.numberOfOutputVariables(), is(1));
+        Assert.assertThat(state.numberOfRules(), is(3));
+        Assert.assertThat(Double.isNaN(state.getInputValue(0)), is(true));
+
+        engine.setInputValue("Ambient", 0.25);
+        engine.process();
+        engine.storeState(state);
+        Assert.assertThat(state.getInputValue(0), is(0.25));
+        Assert.assertThat(state.getOutputValue(0), is(engine.getOutputValue("Power")));
+        for (int i = 0; i < state.numberOfRules(); ++i) {
+            Assert.assertThat(state.getActivationDegree(i),
+                    is(engine.getRuleBlock(0).getRule(i).getActivationDegree()));
+            Assert.assertThat(state.isTriggered(i),
+                    is(engine.getRuleBlock(0).getRule(i).isTriggered()));
+        }
+        EngineState copy = state.clone();
+        engine.restart();
+        engine.loadState(copy);
+        Assert.assertThat(engine.getInputVariable(0).getValue(), is(0.25));
+        Assert.assertThat(engine.getOutputValue("Power"), is(state.getOutputValue(0)));
+
+        copy.reset();
+        Assert.assertThat(Double.isNaN(copy.getOutputValue(0)), is(true));
+        Assert.assertThat(state.getInputValue(0), is(0.25));
+        try {
+            engine.loadState(new EngineState(2, 1, 3));
+            Assert.fail("expected an exception for the number of input variables");
+        } catch (RuntimeException ex) {
+            Assert.assertThat(ex.getMessage().startsWith("[engine error]"), is(true));
+        }
+    }
+
+    @Test
+    public void testEngineDefinition() throws Exception {
+        final Engine engine = new FllImporter().fromFile(new File("../examples/mamdani/AllTerms.fll"));
+        //the definition does not share terms with the engine even if its clones do
+        engine.setSharingTerms(true);
+        final EngineDefinition definition = new EngineDefinition(engine);
+        Assert.assertThat(definition.getName(), is(engine.getName()));
+        Assert.assertThat(definition.numberOfInputVariables(), is(engine.numberOfInputVariables()));
+        Assert.assertThat(definition.numberOfOutputVariables(), is(engine.numberOfOutputVariables()));
+        Assert.assertThat(definition.indexOfOutputVariable(engine.getOutputVariable(0).getName()), is(0));
+        Assert.assertThat(definition.indexOfInputVariable("none"), is(-1));
+
+        final int rows = 200;
+        final double[] expected = new double[rows];
+        for (int i = 0; i < rows; ++i) {
+            engine.getInputVariable(0).setValue(i / (double) rows);
+            engine.process();
+            expected[i] = engine.getOutputVariable(0).getValue();
+        }
+        //changes to the engine do not affect the definition
+        engine.getInputVariable(0).getTerm(0).setHeight(0.5);
+
+        final int threads = 4;
+        final boolean[] matches = new boolean[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; ++t) {
+            final int thread = t;
+            workers[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    EngineState state = definition.newState();
+                    boolean result = true;
+                    for (int i = 0; i < rows; ++i) {
+                        state.setInputValue(0, i / (double) rows);
+                        definition.process(state);
+                        result &= Double.compare(state.getOutputValue(0), expected[i]) == 0;
+                    }
+                    matches[thread] = result;
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        for (int t = 0; t < threads; ++t) {
+            Assert.assertThat(matches[t], is(true));
+        }
+
+        Engine copy = definition.toEngine();
+        Assert.assertThat(copy.getInputVariable(0).getTerm(0).getHeight(), is(1.0));
+        copy.getInputVariable(0).getTerm(0).setHeight(0.25);
+        EngineState state = definition.newState();
+        state.setInputValue(0, 0.0);
+        definition.process(state);
+        Assert.assertThat(state.getOutputValue(0), is(expected[0]));
+
+        try {
+            new EngineDefinition(new Engine());
+            Assert.fail("expected an exception for an engine that is not ready");
+        } catch (RuntimeException ex) {
+            Assert.assertThat(ex.getMessage().startsWith("[engine error]"), is(true));
+        }
+    }
+
+    @Test
+    public void testEngineHandle() throws Exception {
+        final Engine engine = new FllImporter().fromFile(new File("../examples/mamdani/SimpleDimmer.fll"));
+        final Engine modified = engine.clone();
+        modified.getOutputVariable(0).getTerm("HIGH").setHeight(0.5);
+        final double x = 0.3;
+        engine.setInputValue("Ambient", x);
+        engine.process();
+        modified.setInputValue("Ambient", x);
+        modified.process();
+        final double[] expected = {engine.getOutputValue("Power"), modified.getOutputValue("Power")};
+        Assert.assertThat(expected[0], is(not(expected[1])));
+
+        final EngineHandle handle = new EngineHandle(engine);
+        Assert.assertThat(handle.getVersion(), is(1L));
+        final int threads = 4;
+        final int evaluations = 2000;
+        final boolean[] consistent = new boolean[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; ++t) {
+            final int thread = t;
+            workers[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    EngineState state = handle.newState();
+                    boolean result = true;
+                    for (int i = 0; i < evaluations; ++i) {
+                        state.setInputValue(0, x);
+                        state = handle.process(state);
+                        double value = state.getOutputValue(0);
+                        result &= value == expected[0] || value == expected[1];
+                    }
+                    consistent[thread] = result;
+                }
+            });
+            workers[t].start();
+        }
+        for (int i = 0; i < 50; ++i) {
+            handle.publish(i % 2 == 0 ? modified : engine);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        for (int t = 0; t < threads; ++t) {
+            Assert.assertThat(consistent[t], is(true));
+        }
+        Assert.assertThat(handle.getVersion(), is(51L));
+
+        EngineHandle.Version version = handle.get();
+        Assert.assertThat(handle.publish(modified, version.getNumber() - 1), is(false));
+        Assert.assertThat(handle.publish(modified, version.getNumber()), is(true));
+        Assert.assertThat(handle.getVersion(), is(52L));
+        EngineState state = version.getDefinition().newState();
+        state.setInputValue(0, x);
+        version.getDefinition().process(state);
+        Assert.assertThat(state.getOutputValue(0), is(expected[0]));
+        try {
+            handle.publish(new Engine());
+            Assert.fail("expected an exception for an engine that is not ready");
+        } catch (RuntimeException ex) {
+            Assert.assertThat(ex.getMessage().startsWith("[engine error]"), is(true));
+        }
+        Assert.assertThat(handle.getVersion(), is(52L));
+
+        EngineState previous = handle.newState();
+        previous.setInputValue(0, x);
+        Engine larger = engine.clone();
+        larger.getInputVariables().add(0, new InputVariable("Other", 0.0, 1.0));
+        handle.publish(larger);
+        EngineState next = handle.process(previous);
+        Assert.assertThat(next.getDefinition(), is(handle.get().getDefinition()));
+        Assert.assertThat(next.numberOfInputVariables(), is(2));
+        Assert.assertThat(Double.isNaN(next.getInputValue(0)), is(true));
+        Assert.assertThat(next.getInputValue(1), is(x));
+        Assert.assertThat(next.getOutputValue(0), is(expected[0]));
+        try {
+            handle.process(new EngineState(2, 1, 3));
+            Assert.fail("expected an exception for a state not created by a version");
+        } catch (RuntimeException ex) {
+            Assert.assertThat(ex.getMessage().startsWith("[engine error]"), is(true));
+        }
+    }
+}
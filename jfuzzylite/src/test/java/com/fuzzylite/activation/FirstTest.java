@@ -72,4 +72,21 @@ public class FirstTest {
         Assert.assertThat("Third rule was not activated",
                 rules.get(2).isTriggered(), is(false));
     }
+
+    @Test
+    public void testFirstStopsEvaluatingRules() {
+        Engine engine = Console.mamdani();
+        engine.getInputVariable(0).setValue(0.7);
+        RuleBlock ruleBlock = engine.getRuleBlock(0);
+        ruleBlock.setActivation(new First(1));
+        engine.process();
+
+        List<Rule> rules = ruleBlock.getRules();
+        Assert.assertThat("Second rule was activated",
+                rules.get(1).isTriggered(), is(true));
+        Assert.assertThat("Third rule was not evaluated",
+                rules.get(2).getActivationDegree(), is(0.0));
+        Assert.assertThat("Third rule was not activated",
+                rules.get(2).isTriggered(), is(false));
+    }
 }
@@ -19,8 +19,10 @@ package com.fuzzylite.activation;
 import com.fuzzylite.Console;
 import com.fuzzylite.Engine;
 import com.fuzzylite.FuzzyLite;
+import com.fuzzylite.Op;
 import com.fuzzylite.rule.Rule;
 import com.fuzzylite.rule.RuleBlock;
+import com.fuzzylite.term.Activated;
 import com.fuzzylite.variable.InputVariable;
 import org.junit.After;
 import org.junit.AfterClass;
@@ -30,6 +32,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.Random;
 
 import static org.hamcrest.CoreMatchers.is;
 
@@ -85,4 +88,77 @@ public class HighestTest {
                 rules.get(2).isTriggered(), is(false));
     }
 
+    @Test
+    public void testActivateInOrder() throws Exception {
+        Engine engine = Console.mamdani();
+        engine.getInputVariable(0).setValue(0.25);
+        RuleBlock ruleBlock = engine.getRuleBlock(0);
+        ruleBlock.getRules().clear();
+        double[] weights = new double[]{0.3, 0.9, 0.5, 0.9, 0.1, 0.7};
+        for (double weight : weights) {
+            ruleBlock.addRule(Rule.parse("if ambient is DARK then power is HIGH with "
+                    + weight, engine));
+        }
+        ruleBlock.setActivation(new Highest(4));
+
+        for (int cycle = 0; cycle < 2; ++cycle) {
+            engine.process();
+            List<Activated> activated = engine.getOutputVariable(0).fuzzyOutput().getTerms();
+            double[] expected = new double[]{0.9, 0.9, 0.7, 0.5};
+            Assert.assertThat("Rules were fired in descending order",
+                    activated.size(), is(expected.length));
+            for (int i = 0; i < expected.length; ++i) {
+                Assert.assertThat(activated.get(i).getDegree(), is(expected[i]));
+            }
+            boolean[] triggered = new boolean[]{false, true, true, true, false, true};
+            for (int i = 0; i < triggered.length; ++i) {
+                Assert.assertThat(ruleBlock.getRule(i).isTriggered(), is(triggered[i]));
+            }
+            engine = engine.clone();
+            ruleBlock = engine.getRuleBlock(0);
+        }
+    }
+
+    @Test
+    public void testHighestPruningKeepsResults() {
+        Engine engine = ThresholdTest.createEngine();
+        RuleBlock ruleBlock = engine.getRuleBlock(0);
+        List<Rule> rules = ruleBlock.getRules();
+        Random random = new Random(0);
+        double[] expected = new double[rules.size()];
+        for (int sample = 0; sample < 1000; ++sample) {
+            ThresholdTest.setRandomInputs(engine, random);
+            ruleBlock.setActivation(new General());
+            engine.process();
+            for (int i = 0; i < rules.size(); ++i) {
+                expected[i] = rules.get(i).getActivationDegree();
+            }
+
+            ruleBlock.setActivation(new Highest(3));
+            engine.process();
+            List<Activated> activated = engine.getOutputVariable(0).fuzzyOutput().getTerms();
+            int position = 0;
+            boolean[] selected = new boolean[rules.size()];
+            for (; position < 3; ++position) {
+                int best = -1;
+                for (int i = 0; i < rules.size(); ++i) {
+                    if (!selected[i] && Op.isGt(expected[i], 0.0)
+                            && (best < 0 || expected[i] > expected[best])) {
+                        best = i;
+                    }
+                }
+                if (best < 0) {
+                    break;
+                }
+                selected[best] = true;
+                Assert.assertThat(activated.get(position).getDegree(), is(expected[best]));
+            }
+            Assert.assertThat(activated.size(), is(position));
+            for (int i = 0; i < rules.size(); ++i) {
+                Assert.assertThat(rules.get(i).isTriggered(), is(selected[i]));
+                //the rules not activated have no activation degree regardless of their order
+                Assert.assertThat(rules.get(i).getActivationDegree(), is(selected[i] ? expected[i] : 0.0));
+            }
+        }
+    }
 }
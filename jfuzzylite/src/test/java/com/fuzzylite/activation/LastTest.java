@@ -72,4 +72,21 @@ public class LastTest {
         Assert.assertThat("Third rule was fired",
                 rules.get(2).isTriggered(), is(true));
     }
+
+    @Test
+    public void testLastStopsEvaluatingRules() {
+        Engine engine = Console.mamdani();
+        engine.getInputVariable(0).setValue(0.7);
+        RuleBlock ruleBlock = engine.getRuleBlock(0);
+        ruleBlock.setActivation(new Last(1));
+        engine.process();
+
+        List<Rule> rules = ruleBlock.getRules();
+        Assert.assertThat("Third rule was activated",
+                rules.get(2).isTriggered(), is(true));
+        Assert.assertThat("Second rule was not evaluated",
+                rules.get(1).getActivationDegree(), is(0.0));
+        Assert.assertThat("Second rule was not activated",
+                rules.get(1).isTriggered(), is(false));
+    }
 }
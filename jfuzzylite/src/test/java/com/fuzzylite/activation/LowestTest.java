@@ -21,6 +21,7 @@ import com.fuzzylite.Engine;
 import com.fuzzylite.FuzzyLite;
 import com.fuzzylite.rule.Rule;
 import com.fuzzylite.rule.RuleBlock;
+import com.fuzzylite.term.Activated;
 import com.fuzzylite.variable.InputVariable;
 import org.junit.After;
 import org.junit.AfterClass;
@@ -86,4 +87,35 @@ public class LowestTest {
                 rules.get(2).isTriggered(), is(false));
     }
 
+    @Test
+    public void testActivateInOrder() throws Exception {
+        Engine engine = Console.mamdani();
+        engine.getInputVariable(0).setValue(0.25);
+        RuleBlock ruleBlock = engine.getRuleBlock(0);
+        ruleBlock.getRules().clear();
+        double[] weights = new double[]{0.3, 0.9, 0.5, 0.9, 0.1, 0.7};
+        for (double weight : weights) {
+            ruleBlock.addRule(Rule.parse("if ambient is DARK then power is HIGH with "
+                    + weight, engine));
+        }
+        ruleBlock.setActivation(new Lowest(3));
+
+        for (int cycle = 0; cycle < 2; ++cycle) {
+            engine.process();
+            List<Activated> activated = engine.getOutputVariable(0).fuzzyOutput().getTerms();
+            double[] expected = new double[]{0.1, 0.3, 0.5};
+            Assert.assertThat("Rules were fired in ascending order",
+                    activated.size(), is(expected.length));
+            for (int i = 0; i < expected.length; ++i) {
+                Assert.assertThat(activated.get(i).getDegree(), is(expected[i]));
+            }
+            boolean[] triggered = new boolean[]{true, false, true, false, true, false};
+            for (int i = 0; i < triggered.length; ++i) {
+                Assert.assertThat(ruleBlock.getRule(i).isTriggered(), is(triggered[i]));
+            }
+            engine = engine.clone();
+            ruleBlock = engine.getRuleBlock(0);
+        }
+    }
+
 }
@@ -0,0 +1,155 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite.activation;
+
+import com.fuzzylite.Benchmark;
+import com.fuzzylite.Engine;
+import com.fuzzylite.FuzzyLite;
+import com.fuzzylite.Op;
+import com.fuzzylite.imex.FllImporter;
+import com.fuzzylite.norm.SNorm;
+import com.fuzzylite.norm.TNorm;
+import com.fuzzylite.rule.Rule;
+import com.fuzzylite.rule.RuleBlock;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class ProportionalTest {
+
+    /**
+     The implementation of Proportional prior to reusing primitive buffers,
+     kept as the reference for results and runtimes.
+     */
+    static class ListProportional extends Proportional {
+
+        @Override
+        public void activate(RuleBlock ruleBlock) {
+            TNorm conjunction = ruleBlock.getConjunction();
+            SNorm disjunction = ruleBlock.getDisjunction();
+            TNorm implication = ruleBlock.getImplication();
+
+            double sumActivationDegrees = 0.0;
+            List<Rule> rulesToActivate = new ArrayList<Rule>(ruleBlock.getRules().size());
+            for (Rule rule : ruleBlock.getRules()) {
+                rule.deactivate();
+                if (rule.isLoaded()) {
+                    double activationDegree = rule.activateWith(conjunction, disjunction);
+                    rulesToActivate.add(rule);
+                    sumActivationDegrees += activationDegree;
+                }
+            }
+            for (Rule rule : rulesToActivate) {
+                double activationDegree = rule.getActivationDegree() / sumActivationDegrees;
+                rule.setActivationDegree(activationDegree);
+                rule.trigger(implication);
+            }
+        }
+    }
+
+    public ProportionalTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    private static Benchmark benchmark(String example, Activation activation,
+            List<double[]> expected) throws Exception {
+        String path = "../examples/";
+        Engine engine = new FllImporter().fromFile(new File(path, example + ".fll"));
+        for (RuleBlock ruleBlock : engine.getRuleBlocks()) {
+            ruleBlock.setActivation(activation.clone());
+        }
+        Benchmark benchmark = new Benchmark(example, engine, 0.0);
+        if (expected == null) {
+            benchmark.prepare(new FileReader(new File(path, example + ".fld")), 1024);
+        } else {
+            benchmark.setExpected(expected);
+        }
+        return benchmark;
+    }
+
+    @Test
+    public void testProportionalOnMamdaniExamples() throws Exception {
+        List<String> examples = new ArrayList<String>();
+        examples.add("mamdani/AllTerms");
+        examples.add("mamdani/Laundry");
+        examples.add("mamdani/ObstacleAvoidance");
+        examples.add("mamdani/SimpleDimmer");
+        examples.add("mamdani/SimpleDimmerChained");
+        examples.add("mamdani/SimpleDimmerInverse");
+        examples.add("mamdani/matlab/mam21");
+        examples.add("mamdani/matlab/mam22");
+        examples.add("mamdani/matlab/shower");
+        examples.add("mamdani/matlab/tank");
+        examples.add("mamdani/matlab/tank2");
+        examples.add("mamdani/matlab/tipper");
+        examples.add("mamdani/matlab/tipper1");
+        examples.add("mamdani/octave/investment_portfolio");
+        examples.add("mamdani/octave/mamdani_tip_calculator");
+
+        final int runs = 5;
+        StringBuilder writer = new StringBuilder("\nexample\tlist (ms)\tbuffers (ms)");
+        for (String example : examples) {
+            Benchmark list = benchmark(example, new ListProportional(), null);
+            list.run(runs);
+
+            List<double[]> expected = new ArrayList<double[]>(list.getObtained());
+            Benchmark buffers = benchmark(example, new Proportional(), expected);
+            buffers.run(runs);
+
+            writer.append(String.format("\n%s\t%s\t%s", example,
+                    Op.str(mean(list.getTimes()) / 1e6),
+                    Op.str(mean(buffers.getTimes()) / 1e6)));
+            Assert.assertThat("benchmark " + example + " obtains the same values",
+                    buffers.allErrors(), is(0));
+        }
+        FuzzyLite.logger().log(Level.INFO, writer.toString());
+    }
+
+    private static double mean(List<Double> times) {
+        double sum = 0.0;
+        for (Double time : times) {
+            sum += time;
+        }
+        return sum / times.size();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite.activation;
+
+import com.fuzzylite.Engine;
+import com.fuzzylite.FuzzyLite;
+import com.fuzzylite.Op;
+import com.fuzzylite.imex.FllImporter;
+import com.fuzzylite.rule.Rule;
+import com.fuzzylite.rule.RuleBlock;
+import com.fuzzylite.variable.InputVariable;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class ThresholdTest {
+
+    public ThresholdTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+        FuzzyLite.setDecimals(3);
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     Creates an engine with three inputs and a rule per combination of their
+     terms, where some rules have disjunctions and the weights vary.
+
+     @return an engine with 27 rules
+     */
+    static Engine createEngine() {
+        StringBuilder fll = new StringBuilder("Engine: bounds\n");
+        String terms = "  range: 0.000 1.000\n"
+                + "  term: low Triangle 0.000 0.000 0.500\n"
+                + "  term: mid Triangle 0.000 0.500 1.000\n"
+                + "  term: high Triangle 0.500 1.000 1.000\n";
+        for (String input : new String[]{"a", "b", "c"}) {
+            fll.append("InputVariable: ").append(input).append("\n").append(terms);
+        }
+        fll.append("OutputVariable: z\n").append(terms)
+                .append("  aggregation: Maximum\n")
+                .append("  defuzzifier: Centroid 100\n")
+                .append("RuleBlock: rules\n")
+                .append("  conjunction: Minimum\n")
+                .append("  disjunction: Maximum\n")
+                .append("  implication: Minimum\n")
+                .append("  activation: General\n");
+        Engine engine = new FllImporter().fromString(fll.toString());
+        RuleBlock ruleBlock = engine.getRuleBlock(0);
+        String[] names = new String[]{"low", "mid", "high"};
+        int n = 0;
+        for (String a : names) {
+            for (String b : names) {
+                for (String c : names) {
+                    String connective = n % 7 == 3 ? " or " : " and ";
+                    ruleBlock.addRule(Rule.parse(String.format(
+                            "if a is %s and b is %s%sc is %s then z is %s with %s",
+                            a, b, connective, c, names[n % 3],
+                            Op.str(0.5 + (n % 5) / 10.0)), engine));
+                    ++n;
+                }
+            }
+        }
+        return engine;
+    }
+
+    static void setRandomInputs(Engine engine, Random random) {
+        for (InputVariable input : engine.getInputVariables()) {
+            input.setValue(random.nextDouble());
+        }
+    }
+
+    @Test
+    public void testThresholdPruningKeepsResults() {
+        Engine engine = createEngine();
+        RuleBlock ruleBlock = engine.getRuleBlock(0);
+        List<Rule> rules = ruleBlock.getRules();
+        Random random = new Random(0);
+        double[] expected = new double[rules.size()];
+        for (int sample = 0; sample < 1000; ++sample) {
+            setRandomInputs(engine, random);
+            ruleBlock.setActivation(new General());
+            engine.process();
+            for (int i = 0; i < rules.size(); ++i) {
+                expected[i] = rules.get(i).getActivationDegree();
+            }
+
+            ruleBlock.setActivation(new Threshold(Threshold.Comparison.GreaterThanOrEqualTo, 0.3));
+            engine.process();
+            for (int i = 0; i < rules.size(); ++i) {
+                boolean activates = Op.isGt(expected[i], 0.0) && Op.isGE(expected[i], 0.3);
+                Assert.assertThat(rules.get(i).isTriggered(), is(activates));
+                double activationDegree = rules.get(i).getActivationDegree();
+                if (activates) {
+                    Assert.assertThat(activationDegree, is(expected[i]));
+                } else {
+                    //the upper bounds of pruned rules are not exposed
+                    Assert.assertThat(activationDegree == 0.0 || activationDegree == expected[i], is(true));
+                }
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@ import com.fuzzylite.Op;
 import com.fuzzylite.term.Function;
 import org.junit.After;
 import org.junit.AfterClass;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -30,6 +31,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.logging.Level;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+
 public class FunctionFactoryTest {
 
     public FunctionFactoryTest() {
@@ -99,4 +103,47 @@ public class FunctionFactoryTest {
 
         }
     }
+
+    @Test
+    public void testPostfixCache() throws Exception {
+        FunctionFactory ff = new FunctionFactory();
+        ff.cachePostfix("  a +\tb  * c ", "a b c * +");
+        Assert.assertThat(ff.getCachedPostfix("a + b * c"), is("a b c * +"));
+        Assert.assertThat(ff.getCachedPostfix("a +  b\n* c"), is("a b c * +"));
+        Assert.assertThat(ff.getCachedPostfix("a + b*c"), is(nullValue()));
+
+        ff.setPostfixCacheCapacity(2);
+        ff.cachePostfix("b", "b");
+        ff.getCachedPostfix("a + b * c");
+        ff.cachePostfix("c", "c");
+        Assert.assertThat(ff.postfixCacheSize(), is(2));
+        Assert.assertThat(ff.getCachedPostfix("b"), is(nullValue()));
+        Assert.assertThat(ff.getCachedPostfix("a + b * c"), is("a b c * +"));
+
+        Assert.assertThat(ff.clone().postfixCacheSize(), is(0));
+        ff.deregisterObject("hypot");
+        Assert.assertThat(ff.postfixCacheSize(), is(0));
+        ff.setPostfixCacheCapacity(0);
+        ff.cachePostfix("b", "b");
+        Assert.assertThat(ff.postfixCacheSize(), is(0));
+    }
+
+    @Test
+    public void testPostfixCacheIsClearedOnRegistration() throws Exception {
+        FunctionFactory ff = FactoryManager.instance().function();
+        Function function = new Function();
+        String formula = "hypot(x, y) + 1";
+        Assert.assertThat(function.toPostfix(formula), is("hypot x y 1 +"));
+        Assert.assertThat(ff.getCachedPostfix(formula), is("hypot x y 1 +"));
+        ff.registerObject("hypot", new Function.Element("hypot", "Hypotenuse",
+                Function.Element.Type.Function, Math.class.getMethod("hypot", double.class, double.class)));
+        try {
+            Assert.assertThat(ff.getCachedPostfix(formula), is(nullValue()));
+            Assert.assertThat(function.toPostfix(formula), is("x y hypot 1 +"));
+            Assert.assertThat(function.toPostfix(" hypot(x,  y) + 1"), is("x y hypot 1 +"));
+        } finally {
+            ff.deregisterObject("hypot");
+        }
+        Assert.assertThat(ff.postfixCacheSize(), is(0));
+    }
 }
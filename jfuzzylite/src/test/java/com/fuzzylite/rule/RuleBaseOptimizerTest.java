@@ -0,0 +1,173 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite.rule;
+
+import com.fuzzylite.Engine;
+import com.fuzzylite.FuzzyLite;
+import com.fuzzylite.Op;
+import com.fuzzylite.imex.FllImporter;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.logging.Level;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class RuleBaseOptimizerTest {
+
+    public RuleBaseOptimizerTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    private static Engine createEngine(String activation) {
+        String terms = "  range: 0.000 1.000\n"
+                + "  term: low Triangle 0.000 0.000 0.500\n"
+                + "  term: mid Triangle 0.000 0.500 1.000\n"
+                + "  term: high Triangle 0.500 1.000 1.000\n";
+        String fll = "Engine: optimizer\n"
+                + "InputVariable: a\n" + terms
+                + "  term: outside Trapezoid 1.500 2.000 3.000 4.000\n"
+                + "InputVariable: b\n" + terms
+                + "OutputVariable: z\n" + terms
+                + "  aggregation: Maximum\n"
+                + "  defuzzifier: Centroid 100\n"
+                + "  default: nan\n"
+                + "RuleBlock: rules\n"
+                + "  conjunction: Minimum\n"
+                + "  disjunction: Maximum\n"
+                + "  implication: Minimum\n"
+                + "  activation: " + activation + "\n"
+                + "  rule: if a is low then z is low\n"
+                + "  rule: if a is low then z is low\n"
+                + "  rule: if a is outside then z is high\n"
+                + "  rule: if a is mid and b is low then z is mid with 0.0\n"
+                + "  rule: if a is mid then z is mid\n"
+                + "  rule: if a is mid and b is high then z is mid with 0.5\n"
+                + "  rule: if b is high and a is mid then z is mid\n"
+                + "  rule: if a is high or b is low then z is high\n"
+                + "  rule: if a is very outside and b is mid then z is low\n"
+                + "  rule: if a is not outside and b is mid then z is low\n";
+        return new FllImporter().fromString(fll);
+    }
+
+    @Test
+    public void testOptimizeRemovesRedundantRules() throws Exception {
+        Engine engine = createEngine("General");
+        Engine optimized = engine.clone();
+        List<RuleBaseOptimizer.Removal> removals = new RuleBaseOptimizer().optimize(optimized);
+        for (RuleBaseOptimizer.Removal removal : removals) {
+            FuzzyLite.logger().log(Level.INFO, removal.toString());
+        }
+
+        RuleBaseOptimizer.Reason[] reasons = new RuleBaseOptimizer.Reason[]{
+            RuleBaseOptimizer.Reason.Duplicate,
+            RuleBaseOptimizer.Reason.Dead,
+            RuleBaseOptimizer.Reason.ZeroWeight,
+            RuleBaseOptimizer.Reason.Subsumed,
+            RuleBaseOptimizer.Reason.Subsumed,
+            RuleBaseOptimizer.Reason.Dead};
+        Assert.assertThat(removals.size(), is(reasons.length));
+        for (int i = 0; i < reasons.length; ++i) {
+            Assert.assertThat(removals.get(i).getReason(), is(reasons[i]));
+        }
+
+        List<Rule> rules = optimized.getRuleBlock(0).getRules();
+        Assert.assertThat(rules.size(), is(4));
+        Assert.assertThat(rules.get(0).getText(), is("if a is low then z is low"));
+        Assert.assertThat(rules.get(1).getText(), is("if a is mid then z is mid"));
+        Assert.assertThat(rules.get(2).getText(), is("if a is high or b is low then z is high"));
+        Assert.assertThat(rules.get(3).getText(), is("if a is not outside and b is mid then z is low"));
+
+        assertEquivalent(engine, optimized);
+    }
+
+    @Test
+    public void testOptimizeKeepsDuplicatesForRankedActivations() throws Exception {
+        Engine engine = createEngine("Highest 3");
+        Engine optimized = engine.clone();
+        List<RuleBaseOptimizer.Removal> removals = new RuleBaseOptimizer().optimize(optimized);
+        for (RuleBaseOptimizer.Removal removal : removals) {
+            Assert.assertThat(removal.getReason() == RuleBaseOptimizer.Reason.Dead
+                    || removal.getReason() == RuleBaseOptimizer.Reason.ZeroWeight, is(true));
+        }
+        Assert.assertThat(optimized.getRuleBlock(0).numberOfRules(), is(7));
+
+        assertEquivalent(engine, optimized);
+    }
+
+    private static void assertEquivalent(Engine engine, Engine optimized) {
+        final int resolution = 20;
+        for (int i = 0; i <= resolution; ++i) {
+            for (int j = 0; j <= resolution; ++j) {
+                double a = i / (double) resolution;
+                double b = j / (double) resolution;
+                engine.setInputValue("a", a);
+                engine.setInputValue("b", b);
+                engine.process();
+                optimized.setInputValue("a", a);
+                optimized.setInputValue("b", b);
+                optimized.process();
+                Assert.assertThat("output at a=" + Op.str(a) + ", b=" + Op.str(b),
+                        Op.isEq(engine.getOutputValue("z"), optimized.getOutputValue("z")),
+                        is(true));
+            }
+        }
+    }
+
+    @Test
+    public void testOptimizeKeepsDisabledRules() throws Exception {
+        Engine engine = createEngine("General");
+        Engine optimized = engine.clone();
+        //the first of the duplicates is disabled (loading the rules of the
+        //clone enables them)
+        engine.getRuleBlock(0).getRule(0).setEnabled(false);
+        optimized.getRuleBlock(0).getRule(0).setEnabled(false);
+        List<RuleBaseOptimizer.Removal> removals = new RuleBaseOptimizer().optimize(optimized);
+        for (RuleBaseOptimizer.Removal removal : removals) {
+            Assert.assertThat(removal.getRule().isEnabled(), is(true));
+            if (removal.getRedundantTo() != null) {
+                Assert.assertThat(removal.getRedundantTo().isEnabled(), is(true));
+            }
+        }
+        List<Rule> rules = optimized.getRuleBlock(0).getRules();
+        Assert.assertThat(rules.get(0).isEnabled(), is(false));
+        Assert.assertThat(rules.get(1).getText(), is("if a is low then z is low"));
+        Assert.assertThat(rules.get(1).isEnabled(), is(true));
+
+        assertEquivalent(engine, optimized);
+    }
+}
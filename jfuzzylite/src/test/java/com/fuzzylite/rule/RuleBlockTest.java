@@ -0,0 +1,164 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite.rule;
+
+import com.fuzzylite.Engine;
+import com.fuzzylite.imex.FclExporter;
+import com.fuzzylite.imex.FclImporter;
+import com.fuzzylite.imex.FisExporter;
+import com.fuzzylite.imex.FisImporter;
+import com.fuzzylite.imex.FllExporter;
+import com.fuzzylite.imex.FllImporter;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+public class RuleBlockTest {
+
+    public RuleBlockTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    private static final String[] RULES = new String[]{
+        "if service is good and food is rancid then tip is low",
+        "if service is good and food is rancid and service is very poor then tip is low",
+        "if (service is good and food is rancid) or food is delicious then tip is high",
+        "if service is very good then tip is high",
+        "if service is very good or food is rancid then tip is low",
+        "if service is poor or tip is high then tip is low"};
+
+    private static Engine createEngine(boolean rules) {
+        String terms = "  range: 0.000 1.000\n";
+        String fll = "Engine: tipper\n"
+                + "InputVariable: service\n" + terms
+                + "  term: poor Triangle 0.000 0.000 0.500\n"
+                + "  term: good Triangle 0.000 0.500 1.000\n"
+                + "InputVariable: food\n" + terms
+                + "  term: rancid Triangle 0.000 0.000 0.700\n"
+                + "  term: delicious Triangle 0.300 1.000 1.000\n"
+                + "OutputVariable: tip\n" + terms
+                + "  term: low Triangle 0.000 0.000 0.500\n"
+                + "  term: high Triangle 0.500 1.000 1.000\n"
+                + "  aggregation: Maximum\n"
+                + "  defuzzifier: Centroid 100\n"
+                + "RuleBlock: rules\n"
+                + "  conjunction: AlgebraicProduct\n"
+                + "  disjunction: Maximum\n"
+                + "  implication: Minimum\n"
+                + "  activation: General\n";
+        if (rules) {
+            for (String rule : RULES) {
+                fll += "  rule: " + rule + "\n";
+            }
+        }
+        return new FllImporter().fromString(fll);
+    }
+
+    @Test
+    public void testShareExpressions() {
+        Engine engine = createEngine(true);
+        RuleBlock ruleBlock = engine.getRuleBlock(0);
+        Assert.assertThat(ruleBlock.shareExpressions(), is(0));
+
+        Operator first = (Operator) ruleBlock.getRule(0).getAntecedent().getExpression();
+        Operator second = (Operator) ruleBlock.getRule(1).getAntecedent().getExpression();
+        Operator third = (Operator) ruleBlock.getRule(2).getAntecedent().getExpression();
+        Assert.assertThat(second.getLeft(), is(sameInstance((Expression) first)));
+        Assert.assertThat(third.getLeft(), is(sameInstance((Expression) first)));
+        Assert.assertThat(first.getRight(), is(not(sameInstance(third.getRight()))));
+
+        Proposition veryGood = (Proposition) ruleBlock.getRule(3).getAntecedent().getExpression();
+        Operator veryGoodOr = (Operator) ruleBlock.getRule(4).getAntecedent().getExpression();
+        Assert.assertThat(veryGoodOr.getLeft(), is(sameInstance((Expression) veryGood)));
+    }
+
+    @Test
+    public void testImportersShareExpressions() {
+        Engine engine = createEngine(false);
+        engine.getRuleBlock(0).addRule(Rule.parse(
+                "if service is poor and food is rancid then tip is low", engine));
+        engine.getRuleBlock(0).addRule(Rule.parse(
+                "if service is poor and food is delicious then tip is high", engine));
+        Engine[] imported = new Engine[]{
+            new FllImporter().fromString(new FllExporter().toString(engine)),
+            new FclImporter().fromString(new FclExporter().toString(engine)),
+            new FisImporter().fromString(new FisExporter().toString(engine))};
+        for (Engine importedEngine : imported) {
+            RuleBlock ruleBlock = importedEngine.getRuleBlock(0);
+            Operator first = (Operator) ruleBlock.getRule(0).getAntecedent().getExpression();
+            Operator second = (Operator) ruleBlock.getRule(1).getAntecedent().getExpression();
+            Assert.assertThat(second.getLeft(), is(sameInstance(first.getLeft())));
+            Assert.assertThat(ruleBlock.shareExpressions(), is(0));
+        }
+    }
+
+    @Test
+    public void testSharedExpressionsKeepResults() {
+        Engine shared = createEngine(true);
+        Engine unshared = createEngine(false);
+        for (String rule : RULES) {
+            unshared.getRuleBlock(0).addRule(Rule.parse(rule, unshared));
+        }
+        RuleBlock ruleBlock = shared.getRuleBlock(0);
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; ++i) {
+            double service = random.nextDouble(), food = random.nextDouble();
+            shared.setInputValue("service", service);
+            shared.setInputValue("food", food);
+            shared.process();
+            unshared.setInputValue("service", service);
+            unshared.setInputValue("food", food);
+            unshared.process();
+            Assert.assertThat(shared.getOutputValue("tip"), is(unshared.getOutputValue("tip")));
+            for (int r = 0; r < RULES.length; ++r) {
+                Assert.assertThat(ruleBlock.getRule(r).getActivationDegree(),
+                        is(unshared.getRuleBlock(0).getRule(r).getActivationDegree()));
+            }
+        }
+
+        //outside of the activation, the degrees are computed again
+        shared.setInputValue("service", 0.5);
+        shared.setInputValue("food", 0.0);
+        Rule rule = ruleBlock.getRule(0);
+        Assert.assertThat(rule.activateWith(ruleBlock.getConjunction(),
+                ruleBlock.getDisjunction()), is(1.0));
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite.rule;
+
+import com.fuzzylite.Benchmark;
+import com.fuzzylite.Engine;
+import com.fuzzylite.FuzzyLite;
+import com.fuzzylite.imex.CppExporter;
+import com.fuzzylite.imex.FclExporter;
+import com.fuzzylite.imex.FisExporter;
+import com.fuzzylite.imex.FisImporter;
+import com.fuzzylite.imex.FllExporter;
+import com.fuzzylite.imex.FllImporter;
+import com.fuzzylite.imex.JavaExporter;
+import com.fuzzylite.variable.InputVariable;
+import com.fuzzylite.variable.OutputVariable;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Level;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+
+public class RuleTableTest {
+
+    public RuleTableTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     Creates an engine with three inputs of five terms each, and a rule per
+     combination of their terms except for the combinations where the terms
+     of the first two inputs are equal.
+     */
+    private static Engine createEngine(String conjunction) {
+        StringBuilder fll = new StringBuilder("Engine: grid\n");
+        String terms = "  range: 0.000 1.000\n"
+                + "  term: t0 Triangle 0.000 0.000 0.250\n"
+                + "  term: t1 Triangle 0.000 0.250 0.500\n"
+                + "  term: t2 Triangle 0.250 0.500 0.750\n"
+                + "  term: t3 Gaussian 0.750 0.100\n"
+                + "  term: t4 Triangle 0.750 1.000 1.000\n";
+        for (String input : new String[]{"a", "b", "c"}) {
+            fll.append("InputVariable: ").append(input).append("\n").append(terms);
+        }
+        for (String output : new String[]{"y", "z"}) {
+            fll.append("OutputVariable: ").append(output).append("\n").append(terms)
+                    .append("  aggregation: AlgebraicSum\n")
+                    .append("  defuzzifier: Centroid 100\n")
+                    .append("  default: nan\n");
+        }
+        fll.append("RuleBlock: rules\n")
+                .append("  conjunction: ").append(conjunction).append("\n")
+                .append("  implication: Minimum\n")
+                .append("  activation: General\n");
+        for (int a = 0; a < 5; ++a) {
+            for (int b = 0; b < 5; ++b) {
+                if (a == b) {
+                    continue;
+                }
+                for (int c = 0; c < 5; ++c) {
+                    String conclusion = "y is t" + ((a + b + c) % 5);
+                    if (c != 2) {
+                        conclusion += " and z is t" + ((a * c + b) % 5);
+                    }
+                    fll.append(String.format("  rule: if a is t%d and b is t%d and c is t%d then %s\n",
+                            a, b, c, conclusion));
+                }
+            }
+        }
+        return new FllImporter().fromString(fll.toString());
+    }
+
+    private static Engine tabulate(Engine engine) {
+        List<RuleBlock> ruleBlocks = engine.getRuleBlocks();
+        for (int i = 0; i < ruleBlocks.size(); ++i) {
+            RuleTable ruleTable = RuleTable.fromRuleBlock(ruleBlocks.get(i), engine);
+            if (ruleTable != null) {
+                ruleBlocks.set(i, ruleTable);
+            }
+        }
+        return engine;
+    }
+
+    @Test
+    public void testRuleTableObtainsSameResults() throws Exception {
+        for (String conjunction : new String[]{"Minimum", "AlgebraicProduct", "HamacherProduct"}) {
+            Engine engine = createEngine(conjunction);
+            Engine tabulated = tabulate(createEngine(conjunction));
+            RuleTable ruleTable = (RuleTable) tabulated.getRuleBlock(0);
+            Assert.assertThat(ruleTable.numberOfCells(), is(125));
+            Assert.assertThat(ruleTable.getConsequent(1, ruleTable.cellOf(1, 0, 2)), is(RuleTable.NONE));
+            Assert.assertThat(ruleTable.getConsequent(0, ruleTable.cellOf(0, 0, 3)), is(RuleTable.NONE));
+            Assert.assertThat(ruleTable.getConsequent(0, ruleTable.cellOf(1, 2, 3)), is(1));
+            Assert.assertThat(tabulated.isReady(), is(true));
+
+            Random random = new Random(0);
+            for (int i = 0; i < 1000; ++i) {
+                for (InputVariable inputVariable : engine.getInputVariables()) {
+                    double value = random.nextDouble();
+                    if (i % 100 == 0) {
+                        value = Double.NaN;
+                    }
+                    inputVariable.setValue(value);
+                    tabulated.getInputVariable(inputVariable.getName()).setValue(value);
+                }
+                engine.process();
+                tabulated.process();
+                for (OutputVariable outputVariable : engine.getOutputVariables()) {
+                    OutputVariable other = tabulated.getOutputVariable(outputVariable.getName());
+                    Assert.assertThat(other.getValue(), is(outputVariable.getValue()));
+                    Assert.assertThat(other.fuzzyOutput().getTerms().size(),
+                            is(outputVariable.fuzzyOutput().getTerms().size()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testImportExport() throws Exception {
+        Engine engine = createEngine("Minimum");
+        Engine tabulated = tabulate(createEngine("Minimum"));
+        String fll = new FllExporter().toString(tabulated);
+        Assert.assertThat(fll.contains("RuleTable: rules"), is(true));
+        Engine imported = new FllImporter().fromString(fll);
+        Assert.assertThat(imported.getRuleBlock(0) instanceof RuleTable, is(true));
+        Assert.assertThat(new FllExporter().toString(imported), is(fll));
+        Assert.assertThat(new FllExporter().toString(imported.clone()), is(fll));
+
+        RuleBlock ruleBlock = ((RuleTable) imported.getRuleBlock(0)).toRuleBlock(imported);
+        Assert.assertThat(ruleBlock.numberOfRules(), is(engine.getRuleBlock(0).numberOfRules()));
+        for (int i = 0; i < ruleBlock.numberOfRules(); ++i) {
+            Assert.assertThat(ruleBlock.getRule(i).getText(),
+                    is(engine.getRuleBlock(0).getRule(i).getText()));
+        }
+
+        String fis = new FisExporter().toString(engine);
+        Assert.assertThat(new FisExporter().toString(tabulated), is(fis));
+        FisImporter fisImporter = new FisImporter();
+        fisImporter.setTabulatingRules(true);
+        Engine fromFis = fisImporter.fromString(fis);
+        Assert.assertThat(fromFis.getRuleBlock(0) instanceof RuleTable, is(true));
+        Assert.assertThat(new FisExporter().toString(fromFis), is(fis));
+
+        Assert.assertThat(new FclExporter().toString(tabulated), is(new FclExporter().toString(engine)));
+        Assert.assertThat(new JavaExporter().toString(tabulated), is(new JavaExporter().toString(engine)));
+        Assert.assertThat(new CppExporter().toString(tabulated), is(new CppExporter().toString(engine)));
+        RuleTable ruleTable = (RuleTable) tabulated.getRuleBlock(0);
+        Assert.assertThat(new FclExporter().toString(ruleTable),
+                is(new FclExporter().toString(ruleTable.toRuleBlock(tabulated))));
+        try {
+            ruleTable.addRule(new Rule("if a is low then z is low"));
+            Assert.fail("expected an exception when adding a rule to a rule table");
+        } catch (UnsupportedOperationException ex) {
+            Assert.assertThat(ex.getMessage().startsWith("[ruletable error]"), is(true));
+        }
+        try {
+            ruleTable.getRules().add(new Rule("if a is low then z is low"));
+            Assert.fail("expected an exception when adding a rule to a rule table");
+        } catch (UnsupportedOperationException ex) {
+        }
+        Assert.assertThat(ruleTable.numberOfRules(), is(0));
+
+        //terms named none are ambiguous with the cells without a conclusion
+        Engine ambiguous = new FllImporter().fromString(fll);
+        ambiguous.getOutputVariable(0).getTerm(0).setName("none");
+        try {
+            new FllExporter().toString(ambiguous);
+            Assert.fail("expected an exception when exporting a term named none");
+        } catch (RuntimeException ex) {
+            Assert.assertThat(ex.getMessage().startsWith("[export error]"), is(true));
+        }
+        int outputs = fll.indexOf("OutputVariable:");
+        String renamed = fll.substring(0, outputs) + fll.substring(outputs).replaceFirst(
+                "term: " + tabulated.getOutputVariable(0).getTerm(0).getName() + " ", "term: none ");
+        try {
+            new FllImporter().fromString(renamed);
+            Assert.fail("expected an exception when importing a term named none");
+        } catch (RuntimeException ex) {
+            Assert.assertThat(ex.getMessage().contains("<none>"), is(true));
+        }
+    }
+
+    @Test
+    public void testRuleBlocksThatAreNotTables() throws Exception {
+        Engine engine = createEngine("Minimum");
+        RuleBlock ruleBlock = engine.getRuleBlock(0);
+        ruleBlock.addRule(Rule.parse("if a is t0 and b is t0 and c is t0 then y is t0 with 0.5", engine));
+        Assert.assertThat(RuleTable.fromRuleBlock(ruleBlock, engine), is(nullValue()));
+        ruleBlock.getRules().set(ruleBlock.numberOfRules() - 1,
+                Rule.parse("if a is t1 and b is t0 and c is t0 then y is t0", engine));
+        Assert.assertThat(RuleTable.fromRuleBlock(ruleBlock, engine), is(nullValue()));
+        ruleBlock.getRules().set(ruleBlock.numberOfRules() - 1,
+                Rule.parse("if b is t0 and a is t0 and c is t0 then y is t0", engine));
+        Assert.assertThat(RuleTable.fromRuleBlock(ruleBlock, engine), is(nullValue()));
+        ruleBlock.getRules().set(ruleBlock.numberOfRules() - 1,
+                Rule.parse("if a is t0 and b is t0 and c is very t0 then y is t0", engine));
+        Assert.assertThat(RuleTable.fromRuleBlock(ruleBlock, engine), is(nullValue()));
+        ruleBlock.getRules().set(ruleBlock.numberOfRules() - 1,
+                Rule.parse("if a is t0 and b is t0 and c is t0 then y is t0", engine));
+        Assert.assertThat(RuleTable.fromRuleBlock(ruleBlock, engine), is(notNullValue()));
+    }
+
+    @Test
+    public void testRuleTablesOnExamples() throws Exception {
+        String[] examples = new String[]{
+            "mamdani/SimpleDimmer",
+            "mamdani/matlab/mam21",
+            "mamdani/matlab/mam22",
+            "mamdani/matlab/tank",
+            "mamdani/matlab/tipper1",
+            "mamdani/octave/investment_portfolio",
+            "takagi-sugeno/matlab/fpeaks",
+            "takagi-sugeno/matlab/sugeno1",
+            "takagi-sugeno/octave/linear_tip_calculator"};
+        String path = "../examples/";
+        int tabulated = 0;
+        for (String example : examples) {
+            Engine engine = new FllImporter().fromFile(new File(path, example + ".fll"));
+            Engine table = tabulate(new FllImporter().fromFile(new File(path, example + ".fll")));
+            if (!(table.getRuleBlock(0) instanceof RuleTable)) {
+                continue;
+            }
+            ++tabulated;
+            Benchmark benchmark = new Benchmark(example, engine, 0.0);
+            benchmark.prepare(new FileReader(new File(path, example + ".fld")), 1024);
+            benchmark.run(1);
+            List<double[]> expected = new ArrayList<double[]>(benchmark.getObtained());
+
+            Benchmark tableBenchmark = new Benchmark(example, table, 0.0);
+            tableBenchmark.setExpected(expected);
+            tableBenchmark.run(1);
+            Assert.assertThat("benchmark " + example + " obtains the same values",
+                    tableBenchmark.allErrors(), is(0));
+        }
+        FuzzyLite.logger().log(Level.INFO, "{0} of {1} examples tabulated",
+                new Object[]{tabulated, examples.length});
+        Assert.assertThat(tabulated > 0, is(true));
+    }
+}
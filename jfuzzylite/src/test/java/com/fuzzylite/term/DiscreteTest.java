@@ -16,8 +16,13 @@
  */
 package com.fuzzylite.term;
 
+import com.fuzzylite.Benchmark;
+import com.fuzzylite.Engine;
 import com.fuzzylite.FuzzyLite;
 import com.fuzzylite.Op;
+import com.fuzzylite.imex.FisExporter;
+import com.fuzzylite.imex.FllExporter;
+import com.fuzzylite.imex.FllImporter;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -25,10 +30,15 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.FileReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -174,4 +184,282 @@ public class DiscreteTest {
         }
     }
 
+    /**
+     Computes the membership function as computed by binary search on a list
+     of pairs
+     */
+    private static double membership(List<Discrete.Pair> xy, double x) {
+        Discrete.Pair first = xy.get(0);
+        Discrete.Pair last = xy.get(xy.size() - 1);
+        if (Op.isLE(x, first.getX())) {
+            return first.getY();
+        }
+        if (Op.isGE(x, last.getX())) {
+            return last.getY();
+        }
+        int upper = Collections.binarySearch(xy, new Discrete.Pair(x, Double.NaN), Discrete.ASCENDANTLY);
+        if (upper >= 0) {
+            return xy.get(upper).y;
+        }
+        upper = Math.abs(upper + 1);
+        int lower = upper - 1;
+        return Op.scale(x, xy.get(lower).getX(), xy.get(upper).getX(),
+                xy.get(lower).getY(), xy.get(upper).getY());
+    }
+
+    @Test
+    public void testUniformGridEqualsBinarySearch() {
+        Random random = new Random(0);
+        Term[] terms = new Term[]{
+            new Triangle("triangle", -1.0, 0.1, 1.0),
+            new Gaussian("gaussian", 0.3, 0.2),
+            new Sigmoid("sigmoid", 0.0, 10.0)};
+        for (Term term : terms) {
+            for (int resolution : new int[]{1, 2, 7, 100, 1000}) {
+                Discrete discrete = Discrete.discretize(term, -1.0, 1.0, resolution);
+                Assert.assertThat(discrete.isUniform(), is(true));
+                List<Discrete.Pair> pairs = new ArrayList<Discrete.Pair>(discrete);
+                for (int i = 0; i < 1000; ++i) {
+                    double x = i < pairs.size() ? pairs.get(i).x : 2.2 * random.nextDouble() - 1.1;
+                    Assert.assertThat(discrete.membership(x), is(membership(pairs, x)));
+                }
+                //non-uniform terms are searched
+                pairs.get(0).x = -1.5;
+                Discrete nonuniform = new Discrete("nonuniform", pairs);
+                Assert.assertThat(nonuniform.isUniform(), is(resolution == 1));
+                for (int i = 0; i < 100; ++i) {
+                    double x = 2.2 * random.nextDouble() - 1.1;
+                    Assert.assertThat(nonuniform.membership(x), is(membership(pairs, x)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testListOfPairs() throws Exception {
+        Discrete discrete = Discrete.create("discrete", 0.0, 0.0, 1.0, 1.0, 2.0, 0.0);
+        Assert.assertThat(discrete.isUniform(), is(true));
+        Assert.assertThat(discrete.membership(0.5), is(0.5));
+
+        //pairs are copies
+        discrete.get(1).y = 0.0;
+        Assert.assertThat(discrete.y(1), is(1.0));
+        Assert.assertThat(discrete.contains(new Discrete.Pair(1.0, 1.0)), is(true));
+        Assert.assertThat(discrete.indexOf(new Discrete.Pair(2.0, 0.0)), is(2));
+
+        discrete.set(1, new Discrete.Pair(1.0, 0.5));
+        Assert.assertThat(discrete.membership(0.5), is(0.25));
+        discrete.add(new Discrete.Pair(4.0, 1.0));
+        Assert.assertThat(discrete.isUniform(), is(false));
+        Assert.assertThat(discrete.membership(3.0), is(0.5));
+        discrete.remove(3);
+        discrete.add(1, new Discrete.Pair(0.5, 1.0));
+        Assert.assertThat(discrete.x(), is(Arrays.asList(0.0, 0.5, 1.0, 2.0)));
+        Assert.assertThat(discrete.membership(0.5), is(1.0));
+        Assert.assertThat(discrete.parameters(), is("0.000 0.000 0.500 1.000 1.000 0.500 2.000 0.000"));
+
+        Discrete clone = discrete.clone();
+        clone.clear();
+        Assert.assertThat(clone.isEmpty(), is(true));
+        Assert.assertThat(discrete.size(), is(4));
+
+        Collections.reverse(discrete);
+        discrete.sort();
+        Assert.assertThat(discrete.x(), is(Arrays.asList(0.0, 0.5, 1.0, 2.0)));
+    }
+
+    @Test
+    public void testLinearize() {
+        final double tolerance = 1e-4;
+        Term[] terms = new Term[]{
+            new Gaussian("A", 0.5, 0.05),
+            new Bell("B", 0.5, 0.1, 3.0),
+            new Sigmoid("C", 0.5, 50.0),
+            Function.create("D", "sin(10 * x) ^ 2", null)};
+        for (Term term : terms) {
+            Discrete discrete = Discrete.linearize(term, 0.0, 1.0, tolerance);
+            Assert.assertThat(discrete.getName(), is(term.getName()));
+            Assert.assertThat(discrete.x(0), is(0.0));
+            Assert.assertThat(discrete.x(discrete.size() - 1), is(1.0));
+            double error = 0.0;
+            for (int i = 0; i <= 10000; ++i) {
+                double x = i / 10000.0;
+                error = Op.max(error, Math.abs(discrete.membership(x) - term.membership(x)));
+            }
+            FuzzyLite.logger().log(Level.FINE, "{0}: {1} pairs with maximum error {2}",
+                    new Object[]{term, discrete.size(), error});
+            Assert.assertThat(term.getName(), error <= 2 * tolerance, is(true));
+            //a uniform discretization with the same number of pairs is less accurate
+            Discrete uniform = Discrete.discretize(term, 0.0, 1.0, discrete.size() - 1, false);
+            double uniformError = 0.0;
+            for (int i = 0; i <= 10000; ++i) {
+                double x = i / 10000.0;
+                uniformError = Op.max(uniformError, Math.abs(uniform.membership(x) - term.membership(x)));
+            }
+            Assert.assertThat(term.getName(), error < uniformError, is(true));
+        }
+        //the breakpoints concentrate where the curvature is high
+        Discrete sigmoid = Discrete.linearize(new Sigmoid("C", 0.5, 50.0), 0.0, 1.0, tolerance);
+        int center = 0;
+        for (int i = 0; i < sigmoid.size(); ++i) {
+            if (sigmoid.x(i) >= 0.375 && sigmoid.x(i) <= 0.625) {
+                ++center;
+            }
+        }
+        Assert.assertThat(center > sigmoid.size() / 2, is(true));
+    }
+
+    @Test
+    public void testLinearizeLimits() {
+        FuzzyLite.setDebugging(false);
+        Term gaussian = new Gaussian("A", 0.5, 0.05);
+        for (double tolerance : new double[]{0.0, -1e-4, Double.NaN}) {
+            try {
+                Discrete.linearize(gaussian, 0.0, 1.0, tolerance);
+                Assert.fail("expected a linearization error for tolerance " + tolerance);
+            } catch (RuntimeException ex) {
+                Assert.assertThat(ex.getMessage().startsWith("[linearization error]"), is(true));
+            }
+        }
+        try {
+            Discrete.linearize(gaussian, 0.0, 1.0, 1e-4, 16, 16);
+            Assert.fail("expected a linearization error for too few pairs");
+        } catch (RuntimeException ex) {
+            Assert.assertThat(ex.getMessage().startsWith("[linearization error]"), is(true));
+        }
+        //the total number of pairs is capped regardless of the tolerance
+        Discrete fine = Discrete.linearize(gaussian, 0.0, 1.0, 1e-10);
+        Assert.assertThat(fine.size(), is(4096));
+        Discrete coarse = Discrete.linearize(gaussian, 0.0, 1.0, 1e-10, 16, 100);
+        Assert.assertThat(coarse.size(), is(100));
+        Assert.assertThat(coarse.x(0), is(0.0));
+        Assert.assertThat(coarse.x(coarse.size() - 1), is(1.0));
+        double error = 0.0;
+        for (int i = 1; i < coarse.size(); ++i) {
+            Assert.assertThat(coarse.x(i) > coarse.x(i - 1), is(true));
+        }
+        for (int i = 0; i <= 10000; ++i) {
+            double x = i / 10000.0;
+            error = Op.max(error, Math.abs(coarse.membership(x) - gaussian.membership(x)));
+        }
+        //the largest errors are reduced first
+        Assert.assertThat(error < 1e-3, is(true));
+        //without reaching the cap, the tolerance determines the pairs
+        Assert.assertThat(Discrete.linearize(gaussian, 0.0, 1.0, 1e-4, 16, 100000).size(),
+                is(Discrete.linearize(gaussian, 0.0, 1.0, 1e-4).size()));
+    }
+
+    @Test
+    public void testLinearizeEngine() throws Exception {
+        File file = new File("../examples/mamdani/AllTerms.fll");
+        Engine engine = new FllImporter().fromFile(file);
+        Engine linearized = new FllImporter().fromFile(file);
+        Assert.assertThat(linearized.linearize(1e-4), is(28));
+        Assert.assertThat(linearized.linearize(1e-4), is(0));
+        Assert.assertThat(linearized.getInputVariable(0).getTerm("I") instanceof Discrete, is(true));
+        Assert.assertThat(linearized.getInputVariable(0).getTerm("C") instanceof Ramp, is(true));
+        Assert.assertThat(linearized.isReady(), is(true));
+        Engine imported = new FllImporter().fromString(new FllExporter().toString(linearized));
+        Assert.assertThat(imported.getInputVariable(0).getTerm("I") instanceof Discrete, is(true));
+
+        Benchmark benchmark = new Benchmark(engine.getName(), engine, 0.0);
+        benchmark.prepare(new FileReader(new File("../examples/mamdani/AllTerms.fld")), 1024);
+        benchmark.run(1);
+        List<double[]> expected = benchmark.getObtained();
+        Benchmark linearizedBenchmark = new Benchmark(linearized.getName(), linearized, 0.0);
+        linearizedBenchmark.setExpected(expected);
+        linearizedBenchmark.run(1);
+        double deviation = 0.0;
+        for (int i = 0; i < expected.size(); ++i) {
+            double a = expected.get(i)[1], b = linearizedBenchmark.getObtained().get(i)[1];
+            Assert.assertThat(Op.isFinite(a), is(Op.isFinite(b)));
+            if (Op.isFinite(a)) {
+                deviation = Op.max(deviation, Math.abs(a - b));
+            }
+        }
+        FuzzyLite.logger().log(Level.FINE, "maximum deviation: {0}", deviation);
+        Assert.assertThat(deviation < 1e-3, is(true));
+    }
+
+    @Test
+    public void testParallelDiscretize() throws Exception {
+        FuzzyLite.setDebugging(false);
+        Function function = Function.create("f", "sin(10 * x) ^ 2 + 0.1 * cos(100 * x)", null);
+        final int resolution = 200000;
+        Discrete sequential = Discrete.discretize(function, -1.0, 1.0, resolution, false);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Discrete parallel = Discrete.discretize(function, -1.0, 1.0, resolution, false, executor);
+            Assert.assertThat(parallel.size(), is(resolution + 1));
+            Assert.assertThat(parallel.getName(), is("f"));
+            for (int i = 0; i <= resolution; ++i) {
+                Assert.assertThat(parallel.x(i), is(sequential.x(i)));
+                Assert.assertThat(parallel.y(i), is(sequential.y(i)));
+            }
+            Discrete bounded = Discrete.discretize(new Gaussian("A", 0.0, 0.2, 2.0), -1.0, 1.0, 1000, true, executor);
+            Assert.assertThat(bounded.y(500), is(1.0));
+
+            Function failing = Function.create("g", "x + y", null);
+            try {
+                Discrete.discretize(failing, -1.0, 1.0, 100, false, executor);
+                Assert.fail("expected an exception from the failing term");
+            } catch (RuntimeException ex) {
+                Assert.assertThat(ex.getMessage().startsWith("[discretization error]"), is(true));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLazyDiscrete() throws Exception {
+        FuzzyLite.setDebugging(false);
+        Function function = Function.create("f", "sin(10 * x) ^ 2", null);
+        final int resolution = 1000000;
+        LazyDiscrete lazy = new LazyDiscrete("f", function, 0.0, 1.0, resolution);
+        Assert.assertThat(lazy.size(), is(resolution + 1));
+        Assert.assertThat(lazy.numberOfBlocks(), is((resolution + LazyDiscrete.BLOCK_SIZE) / LazyDiscrete.BLOCK_SIZE));
+        Assert.assertThat(lazy.numberOfCachedBlocks(), is(0));
+
+        Random random = new Random(0);
+        Discrete discrete = Discrete.discretize(function, 0.0, 1.0, resolution);
+        for (int i = 0; i < 100; ++i) {
+            double x = 0.5 + 0.01 * random.nextDouble();
+            Assert.assertThat(lazy.membership(x), is(discrete.membership(x)));
+        }
+        Assert.assertThat(lazy.numberOfCachedBlocks() <= 4, is(true));
+        Assert.assertThat(lazy.membership(-1.0), is(discrete.membership(-1.0)));
+        Assert.assertThat(lazy.membership(2.0), is(discrete.membership(2.0)));
+        Assert.assertThat(lazy.membership(1.0), is(discrete.membership(1.0)));
+
+        LazyDiscrete clone = lazy.clone();
+        Assert.assertThat(clone.numberOfCachedBlocks(), is(lazy.numberOfCachedBlocks()));
+        Assert.assertThat(clone.membership(0.505), is(lazy.membership(0.505)));
+        lazy.clear();
+        Assert.assertThat(lazy.numberOfCachedBlocks(), is(0));
+
+        LazyDiscrete small = new LazyDiscrete("A", new Triangle("A", 0.0, 0.5, 1.0), 0.0, 1.0, 4);
+        Discrete materialized = small.toDiscrete();
+        Assert.assertThat(materialized.parameters(), is("0.000 0.000 0.250 0.500 0.500 1.000 0.750 0.500 1.000 0.000"));
+        Assert.assertThat(small.numberOfCachedBlocks(), is(1));
+    }
+
+    @Test
+    public void testLazyDiscreteImportExport() throws Exception {
+        String fll = "Engine: lazy\n"
+                + "InputVariable: x\n"
+                + "  enabled: true\n"
+                + "  range: 0.000 1.000\n"
+                + "  lock-range: false\n"
+                + "  term: A LazyDiscrete 0.000 1.000 4 Triangle 0.000 0.500 1.000\n";
+        Engine engine = new FllImporter().fromString(fll);
+        LazyDiscrete lazy = (LazyDiscrete) engine.getInputVariable(0).getTerm(0);
+        Assert.assertThat(lazy.getResolution(), is(4));
+        Assert.assertThat(lazy.getTerm() instanceof Triangle, is(true));
+        Assert.assertThat(new FllExporter().toString(engine).contains(
+                "term: A LazyDiscrete 0.000 1.000 4 Triangle 0.000 0.500 1.000"), is(true));
+        Assert.assertThat(new FisExporter().toString(engine).contains(
+                "MF1='A':'discretemf',[0.000 0.000 0.250 0.500 0.500 1.000 0.750 0.500 1.000 0.000]"),
+                is(true));
+    }
 }
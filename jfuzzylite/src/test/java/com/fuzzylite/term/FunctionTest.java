@@ -16,8 +16,23 @@
  */
 package com.fuzzylite.term;
 
+import com.fuzzylite.Engine;
 import com.fuzzylite.FuzzyLite;
 import com.fuzzylite.Op;
+import com.fuzzylite.factory.FactoryManager;
+import com.fuzzylite.factory.FunctionFactory;
+import com.fuzzylite.hedge.HedgeFunction;
+import com.fuzzylite.hedge.Very;
+import com.fuzzylite.norm.s.AlgebraicSum;
+import com.fuzzylite.norm.s.SNormFunction;
+import com.fuzzylite.norm.t.AlgebraicProduct;
+import com.fuzzylite.norm.t.TNormFunction;
+import com.fuzzylite.variable.InputVariable;
+import com.fuzzylite.variable.OutputVariable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
@@ -143,4 +158,279 @@ public class FunctionTest {
         new Function().toPostfix("if ((Ambient is DARK)) then Power is HIGH");
         new Function().toPostfix("if ((((Ambient is DARK)))) then (Power is HIGH)");
     }
+
+    @Test
+    public void testCompiledFunctionEqualsInterpreter() throws Exception {
+        FunctionFactory factory = FactoryManager.instance().function();
+        factory.registerObject("hypot", new Function.Element("hypot", "Hypotenuse",
+                Function.Element.Type.Function, Math.class.getMethod("hypot", double.class, double.class)));
+        try {
+            String[] formulas = new String[]{
+                "3+4*2/(1-5)^2^3",
+                "sin (y*x)^2/x",
+                "~5 *4/sin(~y/2) % 3 - x",
+                "gt(x, y) + ge(x, 0.5) * eq(x, x) - neq(y, 1) + le(x, y) / lt(y, x)",
+                "(gt(x, 0.5) and lt(y, 0.5)) or !x",
+                "acos(x) + asin(y) + atan(x) + ceil(y) + cos(x) + cosh(y) + exp(x)",
+                "fabs(~x) + abs(y) + floor(x) + log(y) + log10(x) + sinh(y) + sqrt(x)",
+                "tan(x) + tanh(y) + log1p(x) + pow(x, y) + atan2(y, x) + fmod(y, x)",
+                "hypot(x, y * 2) - hypot(3, 4)",
+                "x"};
+            Random random = new Random(0);
+            Map<String, Double> variables = new HashMap<String, Double>();
+            for (String formula : formulas) {
+                Function function = new Function("f", formula, null);
+                function.load();
+                for (int i = 0; i < 100; ++i) {
+                    variables.put("x", i == 0 ? Double.NaN : 2.0 * random.nextDouble() - 0.5);
+                    variables.put("y", i == 1 ? Double.POSITIVE_INFINITY : 2.0 * random.nextDouble() - 0.5);
+                    double expected = function.getRoot().evaluate(variables);
+                    double obtained = function.evaluate(variables);
+                    Assert.assertThat(formula, Double.doubleToLongBits(obtained),
+                            is(Double.doubleToLongBits(expected)));
+                }
+            }
+        } finally {
+            factory.deregisterObject("hypot");
+        }
+    }
+
+    @Test
+    public void testCompiledFunctionMissingVariable() {
+        Function f = new Function();
+        f.load("~5 *4/sin(~pi/2)");
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage(containsString("variable <pi> not registered"));
+        f.evaluate();
+    }
+
+    @Test
+    public void testFunctionBindsEngineVariables() {
+        Engine engine = new Engine();
+        InputVariable a = new InputVariable("a");
+        engine.addInputVariable(a);
+        Function f = Function.create("f", "a + 10 * b + 100 * c + 1000 * x", engine);
+        f.getVariables().put("a", 5.0);
+        f.getVariables().put("b", 2.0);
+        f.getVariables().put("c", 3.0);
+        f.getVariables().put("x", 9.0);
+        a.setValue(1.0);
+        Assert.assertThat(f.membership(4.0), is(1.0 + 20.0 + 300.0 + 4000.0));
+
+        //variables added to the engine take precedence over the map
+        OutputVariable b = new OutputVariable("b");
+        engine.addOutputVariable(b);
+        InputVariable inputB = new InputVariable("b");
+        engine.addInputVariable(inputB);
+        b.setValue(7.0);
+        inputB.setValue(8.0);
+        a.setValue(2.0);
+        Assert.assertThat(f.membership(4.0), is(2.0 + 70.0 + 300.0 + 4000.0));
+
+        //the map is not modified
+        Assert.assertThat(f.getVariables().size(), is(4));
+        Assert.assertThat(f.getVariables().get("a"), is(5.0));
+        Assert.assertThat(f.getVariables().get("x"), is(9.0));
+
+        f.getVariables().remove("c");
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage(containsString("variable <c> not registered"));
+        f.membership(4.0);
+    }
+
+    @Test
+    public void testFunctionRebindsChangedVariables() {
+        Engine engine = new Engine();
+        InputVariable a = new InputVariable("a");
+        InputVariable b = new InputVariable("b");
+        engine.addInputVariable(a);
+        engine.addInputVariable(b);
+        Function f = Function.create("f", "a + 10 * b", engine);
+        a.setValue(1.0);
+        b.setValue(2.0);
+        Assert.assertThat(f.membership(0.0), is(21.0));
+
+        //replacing a variable without changing the number of variables
+        InputVariable otherA = new InputVariable("a");
+        otherA.setValue(3.0);
+        engine.getInputVariables().set(0, otherA);
+        Assert.assertThat(f.membership(0.0), is(23.0));
+
+        //reordering the variables
+        engine.getInputVariables().set(0, b);
+        engine.getInputVariables().set(1, otherA);
+        b.setValue(4.0);
+        Assert.assertThat(f.membership(0.0), is(43.0));
+
+        //renaming the variables
+        b.setName("a");
+        otherA.setName("b");
+        Assert.assertThat(f.membership(0.0), is(4.0 + 30.0));
+
+        //renaming a variable to a name bound to a substitution variable
+        Function g = Function.create("g", "a + c", engine);
+        g.getVariables().put("c", 5.0);
+        Assert.assertThat(g.membership(0.0), is(9.0));
+        otherA.setName("c");
+        Assert.assertThat(g.membership(0.0), is(7.0));
+
+        //updating the reference loads the formula only if it has changed
+        g.setFormula("a - c");
+        g.updateReference(engine);
+        Assert.assertThat(g.membership(0.0), is(1.0));
+    }
+
+    @Test
+    public void testOptimizedFunctionEqualsUnoptimized() {
+        String[] formulas = new String[]{
+            "2*3.14159265/360*x",
+            "(1+0)*y",
+            "x*1 + 1*y - x/1 + 0 + (y - 0) + x^1",
+            "x^2 + (x + y)^2 - sqrt(4) * cos(0) * y",
+            "sin(x) * (3 % 2) + pow(2, 10) - fmod(7, 4) * ~x",
+            "2 ^ 3 ^ 2 * x"};
+        int[] sizes = new int[]{5, 2, 14, 20, 13, 5};
+        Random random = new Random(0);
+        Map<String, Double> variables = new HashMap<String, Double>();
+        for (int f = 0; f < formulas.length; ++f) {
+            String formula = formulas[f];
+            Function optimized = Function.create("f", formula, null);
+            Function.setOptimizing(false);
+            Function original;
+            try {
+                original = Function.create("f", formula, null);
+            } finally {
+                Function.setOptimizing(true);
+            }
+            Assert.assertThat(formula, optimized.getProgram().size(), is(sizes[f]));
+            Assert.assertThat(formula, optimized.getProgram().size() < original.getProgram().size(),
+                    is(true));
+            for (int i = 0; i < 100; ++i) {
+                variables.put("x", i == 0 ? Double.NaN : 2.0 * random.nextDouble() - 0.5);
+                variables.put("y", i == 1 ? Double.NEGATIVE_INFINITY : 2.0 * random.nextDouble() - 0.5);
+                double expected = original.evaluate(variables);
+                double obtained = optimized.evaluate(variables);
+                Assert.assertThat(formula, Op.isEq(obtained, expected), is(true));
+                Assert.assertThat(formula, obtained, is(optimized.getRoot().evaluate(variables)));
+            }
+        }
+    }
+
+    @Test
+    public void testHoistedSubexpressionsFollowInputs() {
+        Engine engine = new Engine();
+        InputVariable speed = new InputVariable("speed");
+        InputVariable angle = new InputVariable("angle");
+        engine.addInputVariable(speed);
+        engine.addInputVariable(angle);
+        Function f = Function.create("f",
+                "x * (0.5 * speed ^ 2 + sin(angle)) - (0.5 * speed ^ 2 + sin(angle)) / (1 + x)",
+                engine);
+        Assert.assertThat(f.getProgram().numberOfHoisted(), is(1));
+        Function constant = Function.create("f", "0.5 * speed ^ 2 + sin(angle)", engine);
+        Assert.assertThat(constant.getProgram().numberOfHoisted(), is(1));
+
+        Map<String, Double> variables = new HashMap<String, Double>();
+        Random random = new Random(0);
+        for (int i = 0; i < 100; ++i) {
+            if (i % 10 == 0) {
+                speed.setValue(i == 50 ? Double.NaN : random.nextDouble());
+                angle.setValue(random.nextDouble());
+                variables.put("speed", speed.getValue());
+                variables.put("angle", angle.getValue());
+            }
+            double x = random.nextDouble();
+            variables.put("x", x);
+            Assert.assertThat(f.membership(x), is(f.getRoot().evaluate(variables)));
+            Assert.assertThat(constant.membership(x), is(constant.getRoot().evaluate(variables)));
+            Assert.assertThat(f.evaluate(variables), is(f.getRoot().evaluate(variables)));
+        }
+    }
+
+    @Test
+    public void testGeneratedFunctionEqualsInterpreter() throws Exception {
+        FunctionFactory factory = FactoryManager.instance().function();
+        factory.registerObject("hypot", new Function.Element("hypot", "Hypotenuse",
+                Function.Element.Type.Function, Math.class.getMethod("hypot", double.class, double.class)));
+        String[] formulas = new String[]{
+            "3+4*2/(1-5)^2^3",
+            "sin (y*x)^2/x",
+            "~5 *4/sin(~y/2) % 3 - x",
+            "gt(x, y) + ge(x, 0.5) * eq(x, x) - neq(y, 1) + le(x, y) / lt(y, x)",
+            "(gt(x, 0.5) and lt(y, 0.5)) or !x",
+            "acos(x) + asin(y) + atan(x) + ceil(y) + cos(x) + cosh(y) + exp(x)",
+            "fabs(~x) + abs(y) + floor(x) + log(y) + log10(x) + sinh(y) + sqrt(x)",
+            "tan(x) + tanh(y) + log1p(x) + pow(x, y) + atan2(y, x) + fmod(y, x)",
+            "x * (0.5 * y ^ 2 + sin(y)) - (0.5 * y ^ 2 + sin(y)) / (1 + x)",
+            "a + b * c - d / e + f * g ^ h + x * (a - h) + y",
+            "hypot(x, y * 2) - hypot(3, 4)",
+            "x"};
+        String variableNames = "abcdefghxy";
+        Random random = new Random(0);
+        Map<String, Double> variables = new HashMap<String, Double>();
+        try {
+            for (String formula : formulas) {
+                Function interpreted = Function.create("f", formula, null);
+                Function.setGenerating(true);
+                Function generated;
+                try {
+                    generated = Function.create("f", formula, null);
+                } finally {
+                    Function.setGenerating(false);
+                }
+                Assert.assertThat(formula, generated.getProgram().isGenerated(),
+                        is(!formula.contains("hypot")));
+                Function copy = generated.clone();
+                copy.updateReference(new Engine());
+                Assert.assertThat(copy.getProgram().isGenerated(),
+                        is(generated.getProgram().isGenerated()));
+                for (int i = 0; i < 100; ++i) {
+                    for (char variable : variableNames.toCharArray()) {
+                        if (i % 10 == 0 || variable == 'x') {
+                            variables.put(String.valueOf(variable), 2.0 * random.nextDouble() - 0.5);
+                        }
+                    }
+                    if (i == 0) {
+                        variables.put("x", Double.NaN);
+                    }
+                    double expected = interpreted.evaluate(variables);
+                    double obtained = generated.evaluate(variables);
+                    Assert.assertThat(formula, Double.doubleToLongBits(obtained),
+                            is(Double.doubleToLongBits(expected)));
+                }
+            }
+        } finally {
+            factory.deregisterObject("hypot");
+        }
+    }
+
+    @Test
+    public void testEvaluateParameters() throws Exception {
+        Function f = Function.create("f", "a + 10 * b + 100 * c", null);
+        f.getVariables().put("c", 3.0);
+        String[] parameters = new String[]{"b", "a"};
+        Assert.assertThat(f.evaluate(parameters, new double[]{2.0, 1.0}), is(321.0));
+        Assert.assertThat(f.evaluate(parameters, new double[]{5.0, 4.0}), is(354.0));
+        Assert.assertThat(f.evaluate(new String[]{"a", "b", "c"}, new double[]{1.0, 2.0, 4.0}),
+                is(421.0));
+        Assert.assertThat(f.getVariables().size(), is(1));
+
+        SNormFunction snorm = new SNormFunction("a + b - a * b");
+        TNormFunction tnorm = new TNormFunction("a * b");
+        HedgeFunction hedge = new HedgeFunction("x ^ 2");
+        Random random = new Random(0);
+        for (int i = 0; i < 100; ++i) {
+            double a = random.nextDouble(), b = random.nextDouble();
+            Assert.assertThat(snorm.compute(a, b), is(new AlgebraicSum().compute(a, b)));
+            Assert.assertThat(tnorm.compute(a, b), is(new AlgebraicProduct().compute(a, b)));
+            Assert.assertThat(hedge.hedge(a), is(new Very().hedge(a)));
+        }
+        Assert.assertThat(snorm.clone().compute(0.5, 0.5), is(0.75));
+        Assert.assertThat(tnorm.clone().compute(0.5, 0.5), is(0.25));
+
+        f.getVariables().remove("c");
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage(containsString("variable <c> not registered"));
+        f.evaluate(parameters, new double[]{2.0, 1.0});
+    }
 }
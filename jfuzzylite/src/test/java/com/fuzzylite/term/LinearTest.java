@@ -0,0 +1,160 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite.term;
+
+import com.fuzzylite.Engine;
+import com.fuzzylite.imex.FllImporter;
+import com.fuzzylite.variable.InputVariable;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class LinearTest {
+
+    public LinearTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testCoefficients() throws Exception {
+        Engine engine = new Engine();
+        engine.addInputVariable(new InputVariable("a"));
+        engine.addInputVariable(new InputVariable("b"));
+        engine.setInputValue("a", 2.0);
+        engine.setInputValue("b", 3.0);
+
+        Linear linear = new Linear("linear", Arrays.asList(1.0, 2.0, 3.0), engine);
+        Assert.assertThat(linear.membership(Double.NaN), is(1.0 * 2.0 + 2.0 * 3.0 + 3.0));
+        Assert.assertThat(linear.parameters(), is("1.000 2.000 3.000"));
+
+        List<Double> coefficients = linear.getCoefficients();
+        coefficients.set(2, 10.0);
+        Assert.assertThat(linear.membership(Double.NaN), is(1.0 * 2.0 + 2.0 * 3.0 + 10.0));
+        coefficients.remove(2);
+        Assert.assertThat(linear.membership(Double.NaN), is(1.0 * 2.0 + 2.0 * 3.0));
+        coefficients.remove(0);
+        Assert.assertThat(linear.membership(Double.NaN), is(2.0 * 2.0));
+        coefficients.add(0, 5.0);
+        coefficients.add(7.0);
+        Assert.assertThat(coefficients, is(Arrays.asList(5.0, 2.0, 7.0)));
+
+        Linear clone = linear.clone();
+        clone.getCoefficients().clear();
+        Assert.assertThat(linear.getCoefficients().size(), is(3));
+
+        linear.configure("1 1 1");
+        engine.addInputVariable(new InputVariable("c"));
+        engine.setInputValue("c", 4.0);
+        //the input variables are retrieved again after adding an input variable
+        Assert.assertThat(linear.membership(Double.NaN), is(2.0 + 3.0 + 4.0));
+
+        //and after replacing or reordering input variables
+        linear.configure("1 10 100");
+        InputVariable d = new InputVariable("d");
+        d.setValue(5.0);
+        engine.getInputVariables().set(0, d);
+        Assert.assertThat(linear.membership(Double.NaN), is(5.0 + 30.0 + 400.0));
+        engine.getInputVariables().set(0, engine.getInputVariable(2));
+        engine.getInputVariables().set(2, d);
+        Assert.assertThat(linear.membership(Double.NaN), is(4.0 + 30.0 + 500.0));
+    }
+
+    @Test
+    public void testCachedDuringProcess() throws Exception {
+        String fll = "Engine: linear\n"
+                + "InputVariable: a\n"
+                + "  range: 0.000 1.000\n"
+                + "  term: low Ramp 1.000 0.000\n"
+                + "  term: high Ramp 0.000 1.000\n"
+                + "InputVariable: b\n"
+                + "  range: 0.000 1.000\n"
+                + "  term: low Ramp 1.000 0.000\n"
+                + "  term: high Ramp 0.000 1.000\n"
+                + "OutputVariable: y\n"
+                + "  range: 0.000 10.000\n"
+                + "  term: line Linear 2.000 3.000 1.000\n"
+                + "  term: flat Constant 0.500\n"
+                + "  aggregation: none\n"
+                + "  defuzzifier: WeightedAverage TakagiSugeno\n"
+                + "  default: nan\n"
+                + "RuleBlock: rules\n"
+                + "  conjunction: Minimum\n"
+                + "  implication: none\n"
+                + "  activation: General\n"
+                + "  rule: if a is low and b is low then y is line\n"
+                + "  rule: if a is high and b is low then y is line\n"
+                + "  rule: if a is low and b is high then y is line\n"
+                + "  rule: if a is high and b is high then y is flat\n";
+        Engine engine = new FllImporter().fromString(fll);
+        Linear linear = (Linear) engine.getOutputVariable("y").getTerm("line");
+        for (int i = 0; i <= 10; ++i) {
+            double a = i / 10.0, b = 1.0 - i / 20.0;
+            engine.setInputValue("a", a);
+            engine.setInputValue("b", b);
+            engine.process();
+            double line = 2.0 * a + 3.0 * b + 1.0;
+            double low = 1.0 - a, high = a;
+            double w1 = Math.min(low, 1.0 - b), w2 = Math.min(high, 1.0 - b),
+                    w3 = Math.min(low, b), w4 = Math.min(high, b);
+            double expected = ((w1 + w2 + w3) * line + w4 * 0.5) / (w1 + w2 + w3 + w4);
+            Assert.assertThat(Math.abs(engine.getOutputValue("y") - expected) < 1e-9, is(true));
+            //outside of the process, the term is computed with the current values
+            engine.setInputValue("a", 0.0);
+            Assert.assertThat(linear.membership(Double.NaN), is(3.0 * b + 1.0));
+            Assert.assertThat(engine.getProcessCycle(), is(0L));
+        }
+    }
+
+    @Test
+    public void testEvaluateRows() {
+        Engine engine = new Engine();
+        engine.addInputVariable(new InputVariable("a"));
+        engine.addInputVariable(new InputVariable("b"));
+        Linear linear = Linear.create("linear", engine, 0.5, -2.0, 4.0);
+        double[][] rows = new double[][]{{1.0, 2.0}, {0.0, 0.0}, {-3.0, 0.25}, {Double.NaN, 1.0}};
+        double[] result = linear.evaluate(rows);
+        for (int r = 0; r < rows.length; ++r) {
+            engine.setInputValue("a", rows[r][0]);
+            engine.setInputValue("b", rows[r][1]);
+            Assert.assertThat(result[r], is(linear.membership(Double.NaN)));
+        }
+        Assert.assertThat(linear.evaluate(new double[][]{{1.0}})[0], is(0.5 + 4.0));
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite.term;
+
+import com.fuzzylite.Engine;
+import com.fuzzylite.imex.FisExporter;
+import com.fuzzylite.imex.FllExporter;
+import com.fuzzylite.imex.FllImporter;
+import com.fuzzylite.imex.JavaExporter;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class MappedDiscreteTest {
+
+    public MappedDiscreteTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    private File createFile(Discrete discrete) throws Exception {
+        File file = File.createTempFile("jfuzzylite-", ".bin");
+        file.deleteOnExit();
+        MappedDiscrete.write(file, discrete);
+        return file;
+    }
+
+    @Test
+    public void testMembershipEqualsDiscrete() throws Exception {
+        Random random = new Random(0);
+        final int size = 100000;
+        double[] xy = new double[2 * size];
+        double x = -10.0;
+        for (int i = 0; i < size; ++i) {
+            x += 1e-4 + 1e-3 * random.nextDouble();
+            xy[2 * i] = x;
+            xy[2 * i + 1] = random.nextDouble();
+        }
+        Discrete discrete = Discrete.create("A", xy);
+        File file = createFile(discrete);
+        MappedDiscrete mapped = new MappedDiscrete("A", file.getPath());
+        Assert.assertThat(mapped.size(), is(size));
+        Assert.assertThat(file.length(), is(16L * size));
+        for (int i = 0; i < size; i += 997) {
+            Assert.assertThat(mapped.x(i), is(discrete.x(i)));
+            Assert.assertThat(mapped.y(i), is(discrete.y(i)));
+            Assert.assertThat(mapped.membership(mapped.x(i)), is(discrete.membership(discrete.x(i))));
+        }
+        final double start = discrete.x(0) - 1.0, end = discrete.x(size - 1) + 1.0;
+        for (int i = 0; i < 10000; ++i) {
+            double value = start + (end - start) * random.nextDouble();
+            Assert.assertThat(mapped.membership(value), is(discrete.membership(value)));
+        }
+        Assert.assertThat(Double.isNaN(mapped.membership(Double.NaN)), is(true));
+        Assert.assertThat(mapped.membership(Double.NEGATIVE_INFINITY), is(discrete.y(0)));
+        Assert.assertThat(mapped.membership(Double.POSITIVE_INFINITY), is(discrete.y(size - 1)));
+
+        mapped.setHeight(0.5);
+        Assert.assertThat(mapped.membership(discrete.x(10)), is(0.5 * discrete.y(10)));
+
+        MappedDiscrete clone = mapped.clone();
+        Assert.assertThat(clone.isShareable(), is(true));
+        Assert.assertThat(clone.membership(0.123), is(mapped.membership(0.123)));
+        Assert.assertThat(clone.toDiscrete().getXY(), is(discrete.getXY()));
+    }
+
+    @Test
+    public void testInvalidFile() throws Exception {
+        File file = File.createTempFile("jfuzzylite-", ".bin");
+        file.deleteOnExit();
+        FileOutputStream writer = new FileOutputStream(file);
+        try {
+            writer.write(new byte[10]);
+        } finally {
+            writer.close();
+        }
+        try {
+            new MappedDiscrete("A", file.getPath());
+            Assert.fail("expected an exception from the invalid file");
+        } catch (RuntimeException ex) {
+            Assert.assertThat(ex.getMessage().startsWith("[discrete error]"), is(true));
+        }
+        try {
+            new MappedDiscrete("A", file.getPath() + ".missing");
+            Assert.fail("expected an exception from the missing file");
+        } catch (RuntimeException ex) {
+            Assert.assertThat(ex.getMessage().startsWith("[discrete error]"), is(true));
+        }
+        for (Discrete invalid : new Discrete[]{
+            Discrete.create("A", 0.0, 0.0, 1.0, 1.0, 0.5, 0.5),
+            Discrete.create("A", 0.0, 0.0, Double.NaN, 1.0, 1.0, 0.5)}) {
+            try {
+                new MappedDiscrete("A", createFile(invalid).getPath());
+                Assert.fail("expected an exception from the unsorted values of x");
+            } catch (RuntimeException ex) {
+                Assert.assertThat(ex.getMessage().startsWith("[discrete error]"), is(true));
+            }
+        }
+        try {
+            new MappedDiscrete("A").membership(0.0);
+            Assert.fail("expected an exception from the empty term");
+        } catch (RuntimeException ex) {
+            Assert.assertThat(ex.getMessage(), is("[discrete error] term is empty"));
+        }
+    }
+
+    @Test
+    public void testImportExport() throws Exception {
+        File file = createFile(Discrete.create("A", 0.0, 0.0, 0.5, 1.0, 1.0, 0.0));
+        String path = file.getPath();
+        String fll = "Engine: mapped\n"
+                + "InputVariable: x\n"
+                + "  enabled: true\n"
+                + "  range: 0.000 1.000\n"
+                + "  lock-range: false\n"
+                + "  term: A MappedDiscrete " + path + " 0.500\n";
+        Engine engine = new FllImporter().fromString(fll);
+        MappedDiscrete mapped = (MappedDiscrete) engine.getInputVariable(0).getTerm(0);
+        Assert.assertThat(mapped.getFile(), is(path));
+        Assert.assertThat(mapped.getHeight(), is(0.5));
+        Assert.assertThat(mapped.membership(0.25), is(0.25));
+        Assert.assertThat(new FllExporter().toString(engine).contains(
+                "term: A MappedDiscrete " + path + " 0.500"), is(true));
+        Assert.assertThat(new FisExporter().toString(engine).contains(
+                "MF1='A':'discretemf',[0.000 0.000 0.500 1.000 1.000 0.000]"), is(true));
+
+        Engine clone = engine.clone();
+        MappedDiscrete mappedClone = (MappedDiscrete) clone.getInputVariable(0).getTerm(0);
+        Assert.assertThat(mappedClone.membership(0.75), is(mapped.membership(0.75)));
+    }
+
+    @Test
+    public void testJavaExporterEscapesFile() throws Exception {
+        File file;
+        try {
+            file = File.createTempFile("jfuzzylite-\\\"-", ".bin");
+        } catch (IOException ex) {
+            //the file system does not allow backslashes or quotes in file names
+            Assume.assumeNoException(ex);
+            return;
+        }
+        file.deleteOnExit();
+        MappedDiscrete.write(file, Discrete.create("A", 0.0, 0.0, 1.0, 1.0));
+        MappedDiscrete mapped = new MappedDiscrete("A", file.getPath(), 0.5);
+        String exported = new JavaExporter().toString(mapped);
+        //the backslash and the quote of the prefix are escaped
+        Assert.assertThat(exported.contains("jfuzzylite-\\\\\\\"-"), is(true));
+        Assert.assertThat(exported.startsWith("new MappedDiscrete(\"A\", \""), is(true));
+        Assert.assertThat(exported.endsWith(".bin\", 0.500)"), is(true));
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ jfuzzylite (TM), a fuzzy logic control library in Java.
+ Copyright (C) 2010-2017 FuzzyLite Limited. All rights reserved.
+ Author: Juan Rada-Vilela, Ph.D. <jcrada@fuzzylite.com>
+
+ This file is part of jfuzzylite.
+
+ jfuzzylite is free software: you can redistribute it and/or modify it under
+ the terms of the FuzzyLite License included with the software.
+
+ You should have received a copy of the FuzzyLite License along with
+ jfuzzylite. If not, see <http://www.fuzzylite.com/license/>.
+
+ jfuzzylite is a trademark of FuzzyLite Limited.
+ fuzzylite (R) is a registered trademark of FuzzyLite Limited.
+ */
+package com.fuzzylite.term;
+
+import com.fuzzylite.Engine;
+import com.fuzzylite.imex.CppExporter;
+import com.fuzzylite.imex.FclExporter;
+import com.fuzzylite.imex.FisExporter;
+import com.fuzzylite.imex.FllExporter;
+import com.fuzzylite.imex.FllImporter;
+import com.fuzzylite.imex.JavaExporter;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class TabulatedTest {
+
+    public TabulatedTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testInterpolationError() {
+        Term[] terms = new Term[]{
+            new Gaussian("A", 0.5, 0.2),
+            new Bell("B", 0.5, 0.25, 3.0),
+            new Sigmoid("C", 0.5, 20.0)};
+        for (Term term : terms) {
+            Tabulated linear = new Tabulated("linear", term, 0.0, 1.0, 1024,
+                    Tabulated.Interpolation.Linear);
+            Tabulated cubic = new Tabulated("cubic", term, 0.0, 1.0, 1024,
+                    Tabulated.Interpolation.Cubic);
+            linear.tabulate();
+            cubic.tabulate();
+            Assert.assertThat(term.getName(), linear.getMaximumError() < 1e-4, is(true));
+            Assert.assertThat(term.getName(), cubic.getMaximumError() < 1e-6, is(true));
+            Assert.assertThat(term.getName(),
+                    cubic.getMaximumError() < linear.getMaximumError(), is(true));
+            Assert.assertThat(linear.computeError(10007) < 1e-4, is(true));
+            for (int i = 0; i <= 1024; ++i) {
+                double x = i / 1024.0;
+                Assert.assertThat(Math.abs(linear.membership(x) - term.membership(x)) < 1e-12, is(true));
+            }
+            Assert.assertThat(linear.membership(-0.5), is(term.membership(-0.5)));
+            Assert.assertThat(linear.membership(1.5), is(term.membership(1.5)));
+            Assert.assertThat(Double.isNaN(linear.membership(Double.NaN)), is(true));
+        }
+    }
+
+    @Test
+    public void testTableIsComputedAgainWhenTermChanges() {
+        Gaussian gaussian = new Gaussian("A", 0.5, 0.2);
+        Tabulated tabulated = new Tabulated("A", gaussian, 0.0, 1.0);
+        final double before = tabulated.membership(0.3);
+        Assert.assertThat(Math.abs(before - gaussian.membership(0.3)) < 1e-4, is(true));
+        //changes to the decorated term are reflected automatically
+        gaussian.setMean(0.3);
+        Assert.assertThat(Math.abs(tabulated.membership(0.3) - 1.0) < 1e-4, is(true));
+        gaussian.setHeight(0.5);
+        Assert.assertThat(Math.abs(tabulated.membership(0.3) - 0.5) < 1e-4, is(true));
+
+        //setting the parameters computes the grid again
+        Discrete discrete = Discrete.create("B", 0.0, 0.0, 0.5, 1.0, 1.0, 0.0);
+        tabulated.setTerm(discrete);
+        Assert.assertThat(tabulated.membership(0.25), is(0.5));
+        discrete.setXY(Discrete.create("C", 0.0, 1.0, 1.0, 0.0).getXY());
+        Assert.assertThat(tabulated.membership(0.25), is(0.75));
+
+        //within an engine, the parameters are compared once per process cycle
+        Engine engine = new Engine();
+        tabulated.updateReference(engine);
+        final double height = tabulated.membership(0.25);
+        discrete.setHeight(0.5);
+        Assert.assertThat(tabulated.membership(0.25), is(height));
+        tabulated.updateReference(engine);
+        Assert.assertThat(Math.abs(tabulated.membership(0.25) - 0.375) < 1e-4, is(true));
+    }
+
+    @Test
+    public void testImportExport() throws Exception {
+        String fll = "Engine: tabulated\n"
+                + "InputVariable: x\n"
+                + "  enabled: true\n"
+                + "  range: 0.000 1.000\n"
+                + "  lock-range: false\n"
+                + "  term: A Tabulated 0.000 1.000 1024 Linear Gaussian 0.500 0.200\n"
+                + "  term: B Tabulated 0.000 1.000 256 Cubic Function 1 / (1 + exp(10 * (0.5 - x)))\n";
+        Engine engine = new FllImporter().fromString(fll);
+        Tabulated a = (Tabulated) engine.getInputVariable("x").getTerm("A");
+        Assert.assertThat(a.getTerm() instanceof Gaussian, is(true));
+        Assert.assertThat(a.getResolution(), is(1024));
+        Tabulated b = (Tabulated) engine.getInputVariable("x").getTerm("B");
+        Assert.assertThat(b.getInterpolation(), is(Tabulated.Interpolation.Cubic));
+        Assert.assertThat(b.getTerm() instanceof Function, is(true));
+        Assert.assertThat(Math.abs(b.membership(0.7) - 1.0 / (1.0 + Math.exp(-2.0))) < 1e-6, is(true));
+
+        String exported = new FllExporter().toString(engine);
+        Assert.assertThat(exported.contains(
+                "term: A Tabulated 0.000 1.000 1024 Linear Gaussian 0.500 0.200"), is(true));
+        Assert.assertThat(new FllExporter().toString(new FllImporter().fromString(exported)), is(exported));
+
+        Engine clone = engine.clone();
+        Tabulated clonedB = (Tabulated) clone.getInputVariable("x").getTerm("B");
+        Assert.assertThat(clonedB.getTerm() != b.getTerm(), is(true));
+        Assert.assertThat(clonedB.membership(0.7), is(b.membership(0.7)));
+        Assert.assertThat(new FllExporter().toString(clone), is(exported));
+        //the other formats export the decorated terms
+        Engine decorated = engine.clone();
+        decorated.getInputVariable("x").getTerms().set(0, a.toTerm());
+        decorated.getInputVariable("x").getTerms().set(1, b.toTerm());
+        Assert.assertThat(decorated.getInputVariable("x").getTerm("A") instanceof Gaussian, is(true));
+        Assert.assertThat(new FclExporter().toString(engine), is(new FclExporter().toString(decorated)));
+        Assert.assertThat(new FisExporter().toString(engine), is(new FisExporter().toString(decorated)));
+        Assert.assertThat(new JavaExporter().toString(engine), is(new JavaExporter().toString(decorated)));
+        Assert.assertThat(new CppExporter().toString(engine), is(new CppExporter().toString(decorated)));
+        Assert.assertThat(new JavaExporter().toString(a), is("new Gaussian(\"A\", 0.500, 0.200)"));
+    }
+
+    @Test
+    public void testSinglePrecision() throws Exception {
+        Bell bell = new Bell("B", 0.5, 0.25, 3.0);
+        for (Tabulated.Interpolation interpolation : Tabulated.Interpolation.values()) {
+            Tabulated doubles = new Tabulated("B", bell, 0.0, 1.0, 1024, interpolation);
+            Tabulated floats = new Tabulated("B", bell, 0.0, 1.0, 1024, interpolation);
+            floats.setSinglePrecision(true);
+            Assert.assertThat(floats.isSinglePrecision(), is(true));
+            for (int i = 0; i <= 10000; ++i) {
+                double x = i / 10000.0;
+                Assert.assertThat(Math.abs(floats.membership(x) - doubles.membership(x))
+                        <= 4 * Math.ulp((float) doubles.membership(x)), is(true));
+            }
+            Assert.assertThat(Math.abs(floats.getMaximumError() - doubles.getMaximumError()) < 1e-7, is(true));
+            //the grid is computed again only when the parameters of the term change
+            final double error = floats.getMaximumError();
+            Assert.assertThat(floats.getMaximumError(), is(error));
+            floats.getTerm().configure("0.250 0.250 3.000");
+            Assert.assertThat(Math.abs(floats.membership(0.3) - bell.membership(0.3)) < 1e-4, is(true));
+            bell.configure("0.500 0.250 3.000");
+        }
+
+        Tabulated tabulated = new Tabulated();
+        tabulated.configure("0.000 1.000 256 Cubic float Gaussian 0.500 0.200");
+        Assert.assertThat(tabulated.isSinglePrecision(), is(true));
+        Assert.assertThat(tabulated.getTerm() instanceof Gaussian, is(true));
+        Assert.assertThat(tabulated.parameters(), is("0.000 1.000 256 Cubic float Gaussian 0.500 0.200"));
+        Assert.assertThat(Math.abs(tabulated.membership(0.3) - Math.exp(-0.5)) < 1e-6, is(true));
+        Assert.assertThat(tabulated.clone().membership(0.3), is(tabulated.membership(0.3)));
+        tabulated.configure("0.000 1.000 256 Cubic Gaussian 0.500 0.200");
+        Assert.assertThat(tabulated.isSinglePrecision(), is(false));
+    }
+}
@@ -17,12 +17,18 @@
 package com.fuzzylite.term;
 
 import com.fuzzylite.FuzzyLite;
+import com.fuzzylite.Op;
 import org.junit.After;
 import org.junit.AfterClass;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+
 public class TermsTest {
 
     public TermsTest() {
@@ -70,4 +76,45 @@ public class TermsTest {
                 + "  term: T Sigmoid 6.000 20.000";
 
     }
+
+    @Test
+    public void testFastMath() {
+        Random random = new Random(0);
+        for (int i = 0; i < 100000; ++i) {
+            double x = -700.0 + 1400.0 * random.nextDouble();
+            double exp = Math.exp(x);
+            Assert.assertThat(Math.abs(Op.fastExp(x) - exp) <= 2e-7 * exp, is(true));
+            double small = -10.0 + 20.0 * random.nextDouble();
+            exp = Math.exp(small);
+            Assert.assertThat(Math.abs(Op.fastExp(small) - exp) <= 2e-7 * exp, is(true));
+
+            double y = Math.exp(small * 10.0);
+            Assert.assertThat(Math.abs(Op.fastLog(y) - Math.log(y)) <= 1e-9, is(true));
+            y = Math.exp(small);
+            double exponent = 10.0 * random.nextDouble();
+            double pow = Math.pow(y, exponent);
+            Assert.assertThat(Math.abs(Op.fastPow(y, exponent) - pow)
+                    <= (2e-7 + 1e-9 * exponent) * pow, is(true));
+        }
+        Assert.assertThat(Double.isNaN(Op.fastExp(Double.NaN)), is(true));
+        Assert.assertThat(Op.fastExp(Double.POSITIVE_INFINITY), is(Double.POSITIVE_INFINITY));
+        Assert.assertThat(Op.fastExp(Double.NEGATIVE_INFINITY), is(0.0));
+        Assert.assertThat(Op.fastExp(-740.0), is(Math.exp(-740.0)));
+        Assert.assertThat(Op.fastPow(0.0, 3.0), is(0.0));
+        Assert.assertThat(Op.fastPow(-2.0, 3.0), is(-8.0));
+
+        Gaussian gaussian = new Gaussian("A", 0.5, 0.2);
+        Bell bell = new Bell("B", 0.5, 0.25, 3.5);
+        double exactGaussian = gaussian.membership(0.3);
+        double exactBell = bell.membership(0.3);
+        try {
+            FuzzyLite.setFastMath(true);
+            Assert.assertThat(gaussian.membership(0.3) == exactGaussian, is(false));
+            Assert.assertThat(Math.abs(gaussian.membership(0.3) - exactGaussian) < 1e-6, is(true));
+            Assert.assertThat(Math.abs(bell.membership(0.3) - exactBell) < 1e-6, is(true));
+        } finally {
+            FuzzyLite.setFastMath(false);
+        }
+        Assert.assertThat(gaussian.membership(0.3), is(exactGaussian));
+    }
 }